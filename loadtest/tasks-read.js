@@ -0,0 +1,41 @@
+// k6 load test for the task read endpoints, used to compare the platform thread and virtual thread execution modes.
+//
+//   k6 run -e BASE_URL=http://localhost:8080 -e USERNAME=loadtest -e PASSWORD=secret loadtest/tasks-read.js
+//
+// The user must exist and own at least one task list; TASKLIST_UUID selects it.
+import http from 'k6/http';
+import { check } from 'k6';
+
+const BASE_URL = __ENV.BASE_URL || 'http://localhost:8080';
+
+export const options = {
+    scenarios: {
+        reads: {
+            executor: 'ramping-vus',
+            startVUs: 0,
+            stages: [
+                { duration: '30s', target: 200 },
+                { duration: '2m', target: 800 },
+                { duration: '30s', target: 0 },
+            ],
+        },
+    },
+    thresholds: {
+        http_req_failed: ['rate<0.01'],
+        http_req_duration: ['p(95)<500', 'p(99)<1500'],
+    },
+};
+
+export function setup() {
+    const response = http.post(`${BASE_URL}/authenticate`,
+        JSON.stringify({ username: __ENV.USERNAME, password: __ENV.PASSWORD }),
+        { headers: { 'Content-Type': 'application/json' } });
+    check(response, { 'authenticated': (r) => r.status === 200 });
+    return { jwt: response.json('jwt') };
+}
+
+export default function (data) {
+    const response = http.get(`${BASE_URL}/api/v1/tasks/tasklist/${__ENV.TASKLIST_UUID}?limit=50`,
+        { headers: { Authorization: `Bearer ${data.jwt}` } });
+    check(response, { 'status is 200': (r) => r.status === 200 });
+}
@@ -0,0 +1,49 @@
+package com.luna.taskmanager.controller.service;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+import org.springframework.security.core.userdetails.User;
+import org.springframework.security.core.userdetails.UserDetails;
+
+import java.util.Collections;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures token generation and validation of JwtServiceImpl.
+ * isTokenValid is measured on a token that was verified before, which is the case for every request but the first of a session.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class JwtServiceBenchmark {
+
+    // 256 bit key, Base64 encoded like token.signing.key
+    private static final String SIGNING_KEY = "dGFza21hbmFnZXItYmVuY2htYXJrLXNpZ25pbmcta2V5LTI1Ni1iaXRz";
+
+    private JwtServiceImpl jwtService;
+
+    private UserDetails userDetails;
+
+    private String token;
+
+    @Setup
+    public void setUp() {
+        jwtService = new JwtServiceImpl(SIGNING_KEY, 10000, new SimpleMeterRegistry());
+        userDetails = new User("benchmark", "password", Collections.singletonList(new SimpleGrantedAuthority("USER")));
+        token = jwtService.generateToken(userDetails);
+    }
+
+    @Benchmark
+    public String generateToken() {
+        return jwtService.generateToken(userDetails);
+    }
+
+    @Benchmark
+    public boolean isTokenValid() {
+        return jwtService.isTokenValid(token, userDetails);
+    }
+}
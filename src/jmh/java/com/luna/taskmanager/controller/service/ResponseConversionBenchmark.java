@@ -0,0 +1,67 @@
+package com.luna.taskmanager.controller.service;
+
+import com.luna.taskmanager.model.TaskLists;
+import com.luna.taskmanager.model.TaskStatus;
+import com.luna.taskmanager.model.Tasks;
+import com.luna.taskmanager.model.projection.TaskSummary;
+import com.luna.taskmanager.model.responses.TaskListResponse;
+import com.luna.taskmanager.model.responses.TaskResponse;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.Date;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures the conversion of entities and projections to the response objects returned by the controllers.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class ResponseConversionBenchmark {
+
+    // the converters do not touch the injected collaborators
+    private final TasksService tasksService = new TasksService();
+    private final TaskListsService taskListsService = new TaskListsService();
+
+    private Tasks task;
+    private TaskSummary taskSummary;
+    private TaskLists taskList;
+
+    @Setup
+    public void setUp() {
+        Date now = new Date();
+        taskList = new TaskLists();
+        taskList.setUuid(UUID.randomUUID());
+        taskList.setName("Performance");
+        taskList.setDescription("Performance work");
+
+        task = new Tasks();
+        task.setUuid(UUID.randomUUID());
+        task.setName("Write benchmarks");
+        task.setDescription("Cover the response conversion");
+        task.setStatus(TaskStatus.IN_PROGRESS);
+        task.setTaskList(taskList);
+
+        taskSummary = new TaskSummary(task.getUuid(), task.getName(), task.getDescription(), task.getStatus(),
+                taskList.getUuid(), now, now, 0L);
+    }
+
+    @Benchmark
+    public TaskResponse convertTask() {
+        return tasksService.convertToTaskResponse(task);
+    }
+
+    @Benchmark
+    public TaskResponse convertTaskSummary() {
+        return tasksService.convertToTaskResponse(taskSummary);
+    }
+
+    @Benchmark
+    public TaskListResponse convertTaskList() {
+        return taskListsService.convertToTaskListResponse(taskList);
+    }
+}
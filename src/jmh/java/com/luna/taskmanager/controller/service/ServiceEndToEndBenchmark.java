@@ -0,0 +1,117 @@
+package com.luna.taskmanager.controller.service;
+
+import com.luna.taskmanager.TaskmanagerApplication;
+import com.luna.taskmanager.dto.AuthenticatedUser;
+import com.luna.taskmanager.exception.AppException;
+import com.luna.taskmanager.model.request.CreateTaskListRequest;
+import com.luna.taskmanager.model.request.CreateTaskRequest;
+import com.luna.taskmanager.model.request.GetTasksPageRequest;
+import com.luna.taskmanager.model.responses.TaskPageResponse;
+import com.luna.taskmanager.model.responses.TaskResponse;
+import com.luna.taskmanager.model.User;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.boot.SpringApplication;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures TasksService from the service call down to the database, on an in-memory H2 database seeded once per trial.
+ * The numbers include Hibernate and JDBC overhead but no network round trip, compare them between runs rather than
+ * against production latencies.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class ServiceEndToEndBenchmark {
+
+    @Param({"100"})
+    private int tasksPerList;
+
+    private ConfigurableApplicationContext context;
+
+    private TasksService tasksService;
+
+    private AuthenticatedUser user;
+
+    private String taskListUuid;
+
+    private String taskUuid;
+
+    private CreateTaskRequest createTaskRequest;
+
+    private CreateTaskRequest writeTaskRequest;
+
+    @Setup(Level.Trial)
+    public void setUp() throws AppException {
+        // command line arguments take precedence over application.properties, which points to MySQL
+        context = SpringApplication.run(TaskmanagerApplication.class,
+                "--spring.datasource.url=jdbc:h2:mem:benchmark;MODE=MySQL;DATABASE_TO_LOWER=TRUE;DB_CLOSE_DELAY=-1",
+                "--spring.datasource.username=sa",
+                "--spring.datasource.password=",
+                "--spring.datasource.driver-class-name=org.h2.Driver",
+                "--spring.jpa.hibernate.ddl-auto=create-drop",
+                "--spring.flyway.enabled=false",
+                "--token.signing.key=dGFza21hbmFnZXItYmVuY2htYXJrLXNpZ25pbmcta2V5LTI1Ni1iaXRz",
+                "--server.port=0");
+        tasksService = context.getBean(TasksService.class);
+        TaskListsService taskListsService = context.getBean(TaskListsService.class);
+
+        User owner = context.getBean(UserService.class).registerUser("benchmark", "benchmark@example.com", "password");
+        user = new AuthenticatedUser(owner.getId(), owner.getUsername(), owner.getPassword(),
+                Collections.singletonList(new SimpleGrantedAuthority("USER")));
+
+        CreateTaskListRequest createTaskListRequest = new CreateTaskListRequest();
+        createTaskListRequest.setName("Benchmark");
+        createTaskListRequest.setDescription("Tasks read by the benchmarks");
+        taskListUuid = taskListsService.createTaskList(createTaskListRequest, user).getUuid().toString();
+
+        createTaskRequest = new CreateTaskRequest();
+        createTaskRequest.setName("Benchmark task");
+        createTaskRequest.setDescription("Created by ServiceEndToEndBenchmark");
+        createTaskRequest.setTaskListUuid(taskListUuid);
+        for (int i = 0; i < tasksPerList; i++) {
+            taskUuid = tasksService.createTask(createTaskRequest, user).getUuid().toString();
+        }
+
+        createTaskListRequest.setName("Benchmark writes");
+        writeTaskRequest = new CreateTaskRequest();
+        writeTaskRequest.setName("Benchmark task");
+        writeTaskRequest.setTaskListUuid(taskListsService.createTaskList(createTaskListRequest, user).getUuid().toString());
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public TaskResponse getTask() throws AppException {
+        return tasksService.getTask(taskUuid, user);
+    }
+
+    @Benchmark
+    public List<TaskResponse> getTasks() throws AppException {
+        return tasksService.getTasks(taskListUuid, user);
+    }
+
+    @Benchmark
+    public TaskPageResponse getTasksPage() throws AppException {
+        return tasksService.getTasksPage(GetTasksPageRequest.builder()
+                .taskListUuid(taskListUuid)
+                .limit(20)
+                .build(), user);
+    }
+
+    // every invocation adds a task to a separate list so the read benchmarks keep a fixed data set
+    @Benchmark
+    public TaskResponse createTask() throws AppException {
+        return tasksService.createTask(writeTaskRequest, user);
+    }
+}
@@ -0,0 +1,34 @@
+package com.luna.taskmanager.converters;
+
+import com.luna.taskmanager.model.TaskStatus;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures TaskStatusConverter, which runs for every task status read from or written to the database.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class TaskStatusConverterBenchmark {
+
+    private final TaskStatusConverter converter = new TaskStatusConverter();
+
+    // database values of every status, the last one is the worst case for a linear lookup
+    @Param({"Pending", "In Progress", "Completed"})
+    private String databaseValue;
+
+    @Benchmark
+    public TaskStatus convertToEntityAttribute() {
+        return converter.convertToEntityAttribute(databaseValue);
+    }
+
+    @Benchmark
+    public String convertToDatabaseColumn() {
+        return converter.convertToDatabaseColumn(TaskStatus.COMPLETED);
+    }
+}
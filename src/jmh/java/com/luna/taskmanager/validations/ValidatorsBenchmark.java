@@ -0,0 +1,96 @@
+package com.luna.taskmanager.validations;
+
+import com.luna.taskmanager.exception.AppException;
+import com.luna.taskmanager.model.request.CreateTaskListRequest;
+import com.luna.taskmanager.model.request.CreateTaskRequest;
+import com.luna.taskmanager.model.request.UpdateTaskListRequest;
+import com.luna.taskmanager.model.request.UpdateTaskRequest;
+import com.luna.taskmanager.validations.tasklists.CreateTaskListsValidator;
+import com.luna.taskmanager.validations.tasklists.GetTaskListsValidator;
+import com.luna.taskmanager.validations.tasklists.UpdateTaskListsValidator;
+import com.luna.taskmanager.validations.tasks.CreateTaskValidator;
+import com.luna.taskmanager.validations.tasks.GetTaskValidator;
+import com.luna.taskmanager.validations.tasks.UpdateTaskValidator;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures the request validators of validations.tasks and validations.tasklists on valid input,
+ * the path every accepted request takes.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class ValidatorsBenchmark {
+
+    private final CreateTaskValidator createTaskValidator = new CreateTaskValidator();
+    private final UpdateTaskValidator updateTaskValidator = new UpdateTaskValidator();
+    private final GetTaskValidator getTaskValidator = new GetTaskValidator();
+    private final CreateTaskListsValidator createTaskListsValidator = new CreateTaskListsValidator();
+    private final UpdateTaskListsValidator updateTaskListsValidator = new UpdateTaskListsValidator();
+    private final GetTaskListsValidator getTaskListsValidator = new GetTaskListsValidator();
+
+    private CreateTaskRequest createTaskRequest;
+    private UpdateTaskRequest updateTaskRequest;
+    private CreateTaskListRequest createTaskListRequest;
+    private UpdateTaskListRequest updateTaskListRequest;
+    private String uuid;
+
+    @Setup
+    public void setUp() {
+        uuid = UUID.randomUUID().toString();
+
+        createTaskRequest = new CreateTaskRequest();
+        createTaskRequest.setName("Write benchmarks");
+        createTaskRequest.setDescription("Cover the validators");
+        createTaskRequest.setTaskListUuid(uuid);
+
+        updateTaskRequest = new UpdateTaskRequest();
+        updateTaskRequest.setUuid(uuid);
+        updateTaskRequest.setDescription("Cover the validators and converters");
+        updateTaskRequest.setStatus("IN_PROGRESS");
+
+        createTaskListRequest = new CreateTaskListRequest();
+        createTaskListRequest.setName("Performance");
+        createTaskListRequest.setDescription("Performance work");
+
+        updateTaskListRequest = new UpdateTaskListRequest();
+        updateTaskListRequest.setUuid(uuid);
+        updateTaskListRequest.setDescription("Performance work for the next release");
+    }
+
+    @Benchmark
+    public void createTask() throws AppException {
+        createTaskValidator.validate(createTaskRequest);
+    }
+
+    @Benchmark
+    public void updateTask() throws AppException {
+        updateTaskValidator.validate(updateTaskRequest);
+    }
+
+    @Benchmark
+    public void getTask() throws AppException {
+        getTaskValidator.validate(uuid);
+    }
+
+    @Benchmark
+    public void createTaskList() throws AppException {
+        createTaskListsValidator.validate(createTaskListRequest);
+    }
+
+    @Benchmark
+    public void updateTaskList() throws AppException {
+        updateTaskListsValidator.validate(updateTaskListRequest);
+    }
+
+    @Benchmark
+    public void getTaskList() throws AppException {
+        getTaskListsValidator.validate(uuid);
+    }
+}
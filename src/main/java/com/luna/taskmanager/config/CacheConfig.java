@@ -0,0 +1,13 @@
+package com.luna.taskmanager.config;
+
+import org.springframework.cache.annotation.EnableCaching;
+import org.springframework.context.annotation.Configuration;
+
+// Declared as a Configuration class,
+// enables Spring Boot's cache manager configured by the spring.cache.* properties.
+// The store is chosen with spring.cache.type: caffeine keeps entries in process,
+// redis (with spring-boot-starter-data-redis on the classpath) shares them between several nodes.
+@Configuration
+@EnableCaching
+public class CacheConfig {
+}
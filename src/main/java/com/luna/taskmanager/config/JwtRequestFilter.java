@@ -1,7 +1,9 @@
 package com.luna.taskmanager.config;
 
+import com.luna.taskmanager.dto.AuthenticatedUser;
 import com.luna.taskmanager.exception.InvalidTokenException;
 import com.luna.taskmanager.controller.service.JwtService;
+import com.luna.taskmanager.controller.service.UserDetailsServiceImpl;
 import jakarta.servlet.FilterChain;
 import jakarta.servlet.ServletException;
 import jakarta.servlet.http.HttpServletRequest;
@@ -10,8 +12,6 @@ import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
 import org.springframework.security.core.context.SecurityContextHolder;
-import org.springframework.security.core.userdetails.UserDetails;
-import org.springframework.security.core.userdetails.UserDetailsService;
 import org.springframework.security.web.authentication.WebAuthenticationDetailsSource;
 import org.springframework.web.filter.OncePerRequestFilter;
 
@@ -22,15 +22,15 @@ import java.io.IOException;
 @Configuration
 public class JwtRequestFilter extends OncePerRequestFilter {
 
-    private final UserDetailsService userDetailsService;
+    private final UserDetailsServiceImpl userDetailsService;
     private final JwtService jwtService;
 
     /**
-     * Autowired -> is a way to tell Spring to automatically provide instances of UserDetailsService
+     * Autowired -> is a way to tell Spring to automatically provide instances of UserDetailsServiceImpl
      * and JwtService when creating an instance of JwtRequestFilter.
      */
     @Autowired
-    public JwtRequestFilter(UserDetailsService userDetailsService, JwtService jwtService) {
+    public JwtRequestFilter(UserDetailsServiceImpl userDetailsService, JwtService jwtService) {
         this.userDetailsService = userDetailsService;
         this.jwtService = jwtService;
     }
@@ -51,8 +51,8 @@ public class JwtRequestFilter extends OncePerRequestFilter {
             // remove the Bearer form the token
             jwt = authorizationHeader.substring(7);
             try {
-                // try to get the username from the decoding of token (jwt variable)
-                username = jwtService.extractUserName(jwt);
+                // verify signature and expiry in a single parse and get the username from the token (jwt variable)
+                username = jwtService.verifyToken(jwt).getSubject();
             } catch (Exception e) {
                 // if unable to throw exception
                 throw new InvalidTokenException("The token is invalid.");
@@ -62,17 +62,13 @@ public class JwtRequestFilter extends OncePerRequestFilter {
         // here once we are able to get the  username from token we check if its not null and ensure
         // there is no existing authetication in security context
         if (username != null && SecurityContextHolder.getContext().getAuthentication() == null) {
-            // get the user details with the help of username
-            UserDetails userDetails = this.userDetailsService.loadUserByUsername(username);
+            // get the user details with the help of username, this principal also carries the user id
+            // the token was already verified above, its subject is the username so no second check is needed
+            AuthenticatedUser userDetails = this.userDetailsService.loadAuthenticatedUser(username);
 
-            // check validity of token by verifying it against username
-            if (!jwtService.isTokenValid(jwt, userDetails)) {
-                // If the token is not valid, throw the InvalidTokenException
-                throw new InvalidTokenException("The token is invalid.");
-            }
-
-            // If the token is valid, proceed with setting the authentication in the security context
+            // proceed with setting the authentication in the security context
             // Create an instance of UsernamePasswordAuthenticationToken with user details and no password
+            // controllers receive this principal through @AuthenticationPrincipal and hand it to the services
             UsernamePasswordAuthenticationToken usernamePasswordAuthenticationToken = new UsernamePasswordAuthenticationToken(
                     userDetails, null, userDetails.getAuthorities());
 
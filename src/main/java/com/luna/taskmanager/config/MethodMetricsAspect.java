@@ -0,0 +1,59 @@
+package com.luna.taskmanager.config;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.aspectj.lang.annotation.Around;
+import org.aspectj.lang.annotation.Aspect;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+// Times every public method of the controllers, services and validators as taskmanager.method.invocations,
+// tagged with the layer, class, method and the exception thrown if any.
+// Endpoints are also timed by Spring Boot as http.server.requests and repository calls as spring.data.repository.invocations,
+// together they show whether user lookup, validation, database access or serialization dominates a request.
+@Aspect
+@Component
+public class MethodMetricsAspect {
+
+    private final MeterRegistry meterRegistry;
+
+    @Autowired
+    public MethodMetricsAspect(MeterRegistry meterRegistry) {
+        this.meterRegistry = meterRegistry;
+    }
+
+    @Around("execution(public * com.luna.taskmanager.controller.*Controller.*(..))")
+    public Object timeController(ProceedingJoinPoint joinPoint) throws Throwable {
+        return time(joinPoint, "controller");
+    }
+
+    @Around("execution(public * com.luna.taskmanager.controller.service..*(..))")
+    public Object timeService(ProceedingJoinPoint joinPoint) throws Throwable {
+        return time(joinPoint, "service");
+    }
+
+    @Around("execution(public * com.luna.taskmanager.validations..*(..))")
+    public Object timeValidation(ProceedingJoinPoint joinPoint) throws Throwable {
+        return time(joinPoint, "validation");
+    }
+
+    private Object time(ProceedingJoinPoint joinPoint, String layer) throws Throwable {
+        Timer.Sample sample = Timer.start(meterRegistry);
+        String exception = "none";
+        try {
+            return joinPoint.proceed();
+        } catch (Throwable ex) {
+            exception = ex.getClass().getSimpleName();
+            throw ex;
+        } finally {
+            sample.stop(Timer.builder("taskmanager.method.invocations")
+                    .description("Time spent in controller, service and validator methods")
+                    .tag("layer", layer)
+                    .tag("class", joinPoint.getSignature().getDeclaringType().getSimpleName())
+                    .tag("method", joinPoint.getSignature().getName())
+                    .tag("exception", exception)
+                    .register(meterRegistry));
+        }
+    }
+}
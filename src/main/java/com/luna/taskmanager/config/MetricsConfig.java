@@ -0,0 +1,48 @@
+package com.luna.taskmanager.config;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.hibernate.cfg.AvailableSettings;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.http.HttpOutputMessage;
+import org.springframework.http.converter.HttpMessageNotWritableException;
+import org.springframework.http.converter.json.MappingJackson2HttpMessageConverter;
+
+import java.io.IOException;
+import java.lang.reflect.Type;
+
+// Declared as a Configuration class,
+// registers the metrics that Spring Boot does not record on its own
+@Configuration
+public class MetricsConfig {
+
+    // lets Hibernate report every prepared statement to the inspector behind the taskmanager.db.queries summary
+    @Bean
+    public HibernatePropertiesCustomizer queryCountCustomizer() {
+        return hibernateProperties -> hibernateProperties.put(AvailableSettings.STATEMENT_INSPECTOR, new QueryCountInspector());
+    }
+
+    // replaces Spring Boot's JSON converter with one timing the serialization of every response body
+    @Bean
+    public MappingJackson2HttpMessageConverter mappingJackson2HttpMessageConverter(ObjectMapper objectMapper,
+                                                                                   MeterRegistry meterRegistry) {
+        return new MappingJackson2HttpMessageConverter(objectMapper) {
+            @Override
+            protected void writeInternal(Object object, Type type, HttpOutputMessage outputMessage)
+                    throws IOException, HttpMessageNotWritableException {
+                Timer.Sample sample = Timer.start(meterRegistry);
+                try {
+                    super.writeInternal(object, type, outputMessage);
+                } finally {
+                    sample.stop(Timer.builder("taskmanager.serialization")
+                            .description("Time spent writing JSON response bodies")
+                            .tag("type", object.getClass().getSimpleName())
+                            .register(meterRegistry));
+                }
+            }
+        };
+    }
+}
@@ -0,0 +1,34 @@
+package com.luna.taskmanager.config;
+
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+
+/**
+ * Hibernate statement inspector counting the SQL statements prepared while a request is being processed.
+ * Counting is only active between start() and stop() on the same thread, statements outside of a request are ignored.
+ */
+public class QueryCountInspector implements StatementInspector {
+
+    private static final ThreadLocal<int[]> COUNT = new ThreadLocal<>();
+
+    // starts counting the statements prepared by the current thread
+    public static void start() {
+        COUNT.set(new int[1]);
+    }
+
+    // stops counting and returns the number of statements prepared since start()
+    public static int stop() {
+        int[] count = COUNT.get();
+        COUNT.remove();
+        return count == null ? 0 : count[0];
+    }
+
+    @Override
+    public String inspect(String sql) {
+        int[] count = COUNT.get();
+        if (count != null) {
+            count[0]++;
+        }
+        // the statement is sent unchanged
+        return sql;
+    }
+}
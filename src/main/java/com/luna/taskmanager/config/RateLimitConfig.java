@@ -0,0 +1,84 @@
+package com.luna.taskmanager.config;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.InitializingBean;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.time.Duration;
+import java.util.stream.Stream;
+
+// Declared as a Configuration class,
+// it builds the RateLimitFilter added to the security filter chain by SecurityConfig from the rate-limit.* properties.
+// The in-process TokenBucketRateLimiter is the backend unless rate-limit.backend names another one.
+@Configuration
+public class RateLimitConfig implements InitializingBean {
+
+    @Value("${rate-limit.read.capacity:300}")
+    private int readCapacity;
+
+    @Value("${rate-limit.read.period:PT1M}")
+    private Duration readPeriod;
+
+    @Value("${rate-limit.write.capacity:120}")
+    private int writeCapacity;
+
+    @Value("${rate-limit.write.period:PT1M}")
+    private Duration writePeriod;
+
+    @Value("${rate-limit.auth.capacity:10}")
+    private int authCapacity;
+
+    @Value("${rate-limit.auth.period:PT1M}")
+    private Duration authPeriod;
+
+    // fail the startup instead of throwing on every request: a bucket adds one token every period / capacity nanoseconds,
+    // which must be a positive whole number
+    @Override
+    public void afterPropertiesSet() {
+        validate("read", readCapacity, readPeriod);
+        validate("write", writeCapacity, writePeriod);
+        validate("auth", authCapacity, authPeriod);
+    }
+
+    // a bucket idle for the longest period is full again, so it can be dropped
+    @Bean
+    @ConditionalOnProperty(name = "rate-limit.backend", havingValue = "memory", matchIfMissing = true)
+    public RateLimiter rateLimiter(@Value("${rate-limit.maximum-keys:100000}") long maximumKeys) {
+        Duration idleExpiry = Stream.of(readPeriod, writePeriod, authPeriod).max(Duration::compareTo).orElseThrow();
+        return new TokenBucketRateLimiter(idleExpiry, maximumKeys);
+    }
+
+    @Bean
+    public RateLimitFilter rateLimitFilter(RateLimiter rateLimiter, ObjectMapper objectMapper, MeterRegistry meterRegistry) {
+        return new RateLimitFilter(rateLimiter, objectMapper, meterRegistry,
+                new RateLimitFilter.Limit(readCapacity, readPeriod),
+                new RateLimitFilter.Limit(writeCapacity, writePeriod),
+                new RateLimitFilter.Limit(authCapacity, authPeriod));
+    }
+
+    private static void validate(String group, int capacity, Duration period) {
+        if (capacity < 1) {
+            throw new IllegalStateException("rate-limit." + group + ".capacity is " + capacity + " but must be at least 1.");
+        }
+        if (period.isNegative() || period.isZero()) {
+            throw new IllegalStateException("rate-limit." + group + ".period is " + period + " but must be positive.");
+        }
+        if (period.toNanos() < capacity) {
+            throw new IllegalStateException("rate-limit." + group + ".period is " + period + " but must be at least "
+                    + capacity + " ns for a capacity of " + capacity + ".");
+        }
+    }
+
+    // the filter only runs inside the security filter chain, where the user is known, not as a servlet filter before it
+    @Bean
+    public FilterRegistrationBean<RateLimitFilter> rateLimitFilterRegistration(RateLimitFilter rateLimitFilter) {
+        FilterRegistrationBean<RateLimitFilter> registration = new FilterRegistrationBean<>(rateLimitFilter);
+        registration.setEnabled(false);
+        return registration;
+    }
+}
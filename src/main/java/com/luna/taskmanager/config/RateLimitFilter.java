@@ -0,0 +1,116 @@
+package com.luna.taskmanager.config;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.luna.taskmanager.dto.AuthenticatedUser;
+import com.luna.taskmanager.exception.AppErrors;
+import com.luna.taskmanager.model.responses.ErrorResponse;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+
+import static com.luna.taskmanager.exception.ErrorMessages.RATE_LIMIT_EXCEEDED_MESSAGE;
+
+// Limits the request rate of every caller with token buckets, answering 429 with a Retry-After header once a bucket is empty.
+// Requests are split in endpoint groups with their own limits: reads and writes of the API are counted per user
+// (per client address for requests without a token), /authenticate and /register per client address.
+// It runs in the security filter chain after the JwtRequestFilter (anchored on UsernamePasswordAuthenticationFilter,
+// custom filters have no registered order), so the user of the request is known.
+// Throttled requests are counted in taskmanager.ratelimit.throttled, tagged by group.
+public class RateLimitFilter extends OncePerRequestFilter {
+
+    private final RateLimiter rateLimiter;
+
+    private final ObjectMapper objectMapper;
+
+    private final MeterRegistry meterRegistry;
+
+    private final Limit read;
+
+    private final Limit write;
+
+    private final Limit auth;
+
+    public RateLimitFilter(RateLimiter rateLimiter, ObjectMapper objectMapper, MeterRegistry meterRegistry,
+                           Limit read, Limit write, Limit auth) {
+        this.rateLimiter = rateLimiter;
+        this.objectMapper = objectMapper;
+        this.meterRegistry = meterRegistry;
+        this.read = read;
+        this.write = write;
+        this.auth = auth;
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain chain)
+            throws ServletException, IOException {
+        String path = request.getRequestURI().substring(request.getContextPath().length());
+        String group;
+        Limit limit;
+        String key;
+        if (path.startsWith("/api/v1/")) {
+            boolean isRead = HttpMethod.GET.matches(request.getMethod()) || HttpMethod.HEAD.matches(request.getMethod());
+            group = isRead ? "read" : "write";
+            limit = isRead ? read : write;
+            key = callerKey(request);
+        } else if ((path.equals("/authenticate") || path.equals("/register")) && HttpMethod.POST.matches(request.getMethod())) {
+            // no user yet, guessing passwords or registering accounts is limited per client address
+            group = "auth";
+            limit = auth;
+            key = "ip:" + request.getRemoteAddr();
+        } else {
+            chain.doFilter(request, response);
+            return;
+        }
+
+        long waitNanos = rateLimiter.tryAcquire(group + ":" + key, limit.getCapacity(), limit.getPeriod());
+        if (waitNanos == 0) {
+            chain.doFilter(request, response);
+            return;
+        }
+        meterRegistry.counter("taskmanager.ratelimit.throttled", "group", group).increment();
+        response.setStatus(HttpStatus.TOO_MANY_REQUESTS.value());
+        // whole seconds, rounded up so a client waiting exactly that long finds a token
+        response.setHeader(HttpHeaders.RETRY_AFTER, Long.toString(Math.max(1, (waitNanos + TimeUnit.SECONDS.toNanos(1) - 1)
+                / TimeUnit.SECONDS.toNanos(1))));
+        response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+        objectMapper.writeValue(response.getOutputStream(), ErrorResponse.builder()
+                .code(AppErrors.TOO_MANY_REQUESTS.name())
+                .message(RATE_LIMIT_EXCEEDED_MESSAGE)
+                .build());
+    }
+
+    // the authenticated user, or the client address for requests without a token
+    // (behind a proxy, server.forward-headers-strategy makes getRemoteAddr return the client and not the proxy)
+    private String callerKey(HttpServletRequest request) {
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        if (authentication != null && authentication.getPrincipal() instanceof AuthenticatedUser user) {
+            return "user:" + user.getUsername();
+        }
+        return "ip:" + request.getRemoteAddr();
+    }
+
+    // capacity requests per period, up to capacity of them in a burst
+    @Getter
+    @RequiredArgsConstructor
+    public static final class Limit {
+
+        private final int capacity;
+
+        private final Duration period;
+    }
+}
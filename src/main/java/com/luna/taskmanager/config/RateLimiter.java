@@ -0,0 +1,15 @@
+package com.luna.taskmanager.config;
+
+import java.time.Duration;
+
+// Backend of the RateLimitFilter, keeping one token bucket per key.
+// The default TokenBucketRateLimiter keeps the buckets in process, so every node enforces the limits on its own share
+// of the traffic. Deployments running several nodes behind a load balancer can share the buckets by setting
+// rate-limit.backend to another value and declaring a RateLimiter bean for it, for instance running the same algorithm
+// as a Redis script.
+public interface RateLimiter {
+
+    // Takes one token from the bucket of key, which holds capacity tokens and is refilled completely every period.
+    // Returns 0 if the token was taken, otherwise the time in nanoseconds until the next token is available.
+    long tryAcquire(String key, int capacity, Duration period);
+}
@@ -0,0 +1,62 @@
+package com.luna.taskmanager.config;
+
+import com.zaxxer.hikari.HikariConfig;
+import com.zaxxer.hikari.HikariDataSource;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.boot.context.properties.bind.Bindable;
+import org.springframework.boot.context.properties.bind.Binder;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+import org.springframework.core.env.Environment;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+
+import javax.sql.DataSource;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+
+// Declared as a Configuration class that is only active when replica.enabled=true
+// (the "read-replicas" profile). It replaces Spring Boot's DataSource with one routing read-only transactions
+// to the replicas listed in replica.urls and everything else to the spring.datasource primary.
+@Configuration
+@ConditionalOnProperty(name = "replica.enabled", havingValue = "true")
+public class ReadReplicaConfig {
+
+    // the primary pool is configured by spring.datasource as before, every replica pool is a read-only copy of it
+    @Bean(destroyMethod = "close")
+    public ReplicaRoutingDataSource replicaRoutingDataSource(DataSourceProperties properties, Environment environment,
+                                                             MeterRegistry meterRegistry,
+                                                             @Value("${replica.urls:}") List<String> replicaUrls,
+                                                             @Value("${replica.read-your-writes-window:PT5S}") Duration readYourWritesWindow) {
+        if (replicaUrls.isEmpty()) {
+            throw new IllegalStateException("replica.enabled requires at least one JDBC URL in replica.urls.");
+        }
+        HikariDataSource primary = properties.initializeDataSourceBuilder().type(HikariDataSource.class).build();
+        Binder.get(environment).bind("spring.datasource.hikari", Bindable.ofInstance(primary));
+        primary.setPoolName(primary.getPoolName() == null ? "primary" : primary.getPoolName());
+
+        List<DataSource> replicas = new ArrayList<>();
+        for (String replicaUrl : replicaUrls) {
+            HikariConfig config = new HikariConfig();
+            primary.copyStateTo(config);
+            config.setPoolName("replica-" + (replicas.size() + 1));
+            config.setJdbcUrl(replicaUrl);
+            config.setReadOnly(true);
+            // an unreachable replica must not keep the application from starting, the health check takes it out
+            config.setInitializationFailTimeout(-1);
+            replicas.add(new HikariDataSource(config));
+        }
+        return new ReplicaRoutingDataSource(primary, replicas, readYourWritesWindow, meterRegistry);
+    }
+
+    // the DataSource used by JPA and Flyway, it defers the routing until the first statement of a transaction
+    @Bean
+    @Primary
+    public DataSource dataSource(ReplicaRoutingDataSource replicaRoutingDataSource) {
+        return new LazyConnectionDataSourceProxy(replicaRoutingDataSource);
+    }
+}
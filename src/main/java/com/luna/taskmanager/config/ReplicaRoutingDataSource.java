@@ -0,0 +1,230 @@
+package com.luna.taskmanager.config;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.luna.taskmanager.dto.AuthenticatedUser;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.jdbc.datasource.AbstractDataSource;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+// DataSource handing out connections of the primary or of one of the read replicas.
+// Read-only transactions are spread round robin over the healthy replicas, everything else goes to the primary.
+// A user whose write committed within the read-your-writes window reads from the primary too, so they never see a replica
+// that has not caught up with their own change yet; the window is tracked per instance and should exceed the replica lag.
+// A read-only transaction hinted with readFromPrimary reads from the primary without pinning its user there.
+// The routing is decided when a connection is requested, so this DataSource must sit behind a
+// LazyConnectionDataSourceProxy, which only requests it once the transaction and its read-only flag are set up.
+public class ReplicaRoutingDataSource extends AbstractDataSource implements AutoCloseable {
+
+    private static final Logger log = LoggerFactory.getLogger(ReplicaRoutingDataSource.class);
+
+    private static final String PRIMARY = "primary";
+
+    // transaction resource naming the user a transaction reads for, bound by bindUser
+    private static final Object USER_RESOURCE = new Object();
+
+    // transaction resource marking a read-only transaction to be read from the primary, bound by readFromPrimary
+    private static final Object PRIMARY_RESOURCE = new Object();
+
+    private final DataSource primary;
+
+    private final List<Replica> replicas = new ArrayList<>();
+
+    // users who wrote within the read-your-writes window
+    private final Cache<Long, Boolean> recentWriters;
+
+    private final AtomicInteger nextReplica = new AtomicInteger();
+
+    private final MeterRegistry meterRegistry;
+
+    public ReplicaRoutingDataSource(DataSource primary, List<DataSource> replicaDataSources, Duration readYourWritesWindow,
+                                    MeterRegistry meterRegistry) {
+        this.primary = primary;
+        this.meterRegistry = meterRegistry;
+        this.recentWriters = Caffeine.newBuilder()
+                .expireAfterWrite(readYourWritesWindow)
+                .maximumSize(100_000)
+                .build();
+        for (DataSource dataSource : replicaDataSources) {
+            Replica replica = new Replica("replica-" + (replicas.size() + 1), dataSource);
+            replicas.add(replica);
+            Gauge.builder("taskmanager.datasource.replica.healthy", replica, r -> r.healthy ? 1 : 0)
+                    .description("Whether the replica is used for read-only transactions")
+                    .tag("replica", replica.name)
+                    .register(meterRegistry);
+        }
+    }
+
+    /**
+     * Names the user the current transaction reads for, so that read-your-writes also applies on threads without
+     * a security context, such as the ones writing asynchronous responses. Must be called inside the transaction
+     * before its first statement; the binding ends with the transaction. Has no effect when replicas are disabled.
+     *
+     * @param userId The ID of the user the transaction reads for.
+     */
+    public static void bindUser(Long userId) {
+        bindToTransaction(USER_RESOURCE, userId);
+    }
+
+    /**
+     * Sends the reads of the current read-only transaction to the primary, for reads that must not miss a row
+     * a lagging replica has not received yet. Unlike a write, it does not pin the user to the primary afterwards.
+     * Must be called inside the transaction before its first statement; the hint ends with the transaction.
+     */
+    public static void readFromPrimary() {
+        bindToTransaction(PRIMARY_RESOURCE, Boolean.TRUE);
+    }
+
+    @Override
+    public Connection getConnection() throws SQLException {
+        Long userId = currentUserId();
+        if (!TransactionSynchronizationManager.isCurrentTransactionReadOnly()) {
+            if (userId != null) {
+                markWriterOnCommit(userId);
+            }
+            return route(PRIMARY, "write", primary);
+        }
+        if (TransactionSynchronizationManager.hasResource(PRIMARY_RESOURCE)) {
+            return route(PRIMARY, "primary-hint", primary);
+        }
+        if (userId != null && recentWriters.getIfPresent(userId) != null) {
+            return route(PRIMARY, "read-your-writes", primary);
+        }
+        Replica replica = nextHealthyReplica();
+        if (replica == null) {
+            return route(PRIMARY, "no-healthy-replica", primary);
+        }
+        try {
+            return route(replica.name, "read", replica.dataSource);
+        } catch (SQLException ex) {
+            // take the replica out until the next health check finds it reachable again
+            log.warn("Replica " + replica.name + " is unreachable, reading from the primary.", ex);
+            replica.healthy = false;
+            return route(PRIMARY, "replica-failure", primary);
+        }
+    }
+
+    @Override
+    public Connection getConnection(String username, String password) throws SQLException {
+        return primary.getConnection(username, password);
+    }
+
+    // validates a connection of every replica, a replica failing the check stops receiving reads until it passes again
+    @Scheduled(fixedDelayString = "${replica.health-check-interval:PT5S}")
+    public void checkReplicas() {
+        for (Replica replica : replicas) {
+            boolean healthy;
+            try (Connection connection = replica.dataSource.getConnection()) {
+                healthy = connection.isValid(2);
+            } catch (SQLException ex) {
+                healthy = false;
+            }
+            if (healthy != replica.healthy) {
+                log.warn("Replica " + replica.name + " is now " + (healthy ? "healthy" : "unhealthy") + ".");
+            }
+            replica.healthy = healthy;
+        }
+    }
+
+    @Override
+    public void close() throws Exception {
+        for (Replica replica : replicas) {
+            if (replica.dataSource instanceof AutoCloseable closeable) {
+                closeable.close();
+            }
+        }
+        if (primary instanceof AutoCloseable closeable) {
+            closeable.close();
+        }
+    }
+
+    // the read-your-writes window starts once the write is visible, so a transaction outlasting the window
+    // still pins its user to the primary afterwards; rolled back transactions pin nobody
+    private void markWriterOnCommit(Long userId) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            // auto-commit statements are visible as soon as they ran
+            recentWriters.put(userId, Boolean.TRUE);
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                recentWriters.put(userId, Boolean.TRUE);
+            }
+        });
+    }
+
+    // binds the value for the rest of the transaction, the first binding wins; no-op outside of a transaction
+    private static void bindToTransaction(Object key, Object value) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()
+                || TransactionSynchronizationManager.hasResource(key)) {
+            return;
+        }
+        TransactionSynchronizationManager.bindResource(key, value);
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCompletion(int status) {
+                TransactionSynchronizationManager.unbindResourceIfPossible(key);
+            }
+        });
+    }
+
+    private Connection route(String route, String reason, DataSource dataSource) throws SQLException {
+        Connection connection = dataSource.getConnection();
+        meterRegistry.counter("taskmanager.datasource.routes", "route", route, "reason", reason).increment();
+        return connection;
+    }
+
+    private Replica nextHealthyReplica() {
+        int start = Math.floorMod(nextReplica.getAndIncrement(), Math.max(replicas.size(), 1));
+        for (int i = 0; i < replicas.size(); i++) {
+            Replica replica = replicas.get((start + i) % replicas.size());
+            if (replica.healthy) {
+                return replica;
+            }
+        }
+        return null;
+    }
+
+    private Long currentUserId() {
+        Long boundUserId = (Long) TransactionSynchronizationManager.getResource(USER_RESOURCE);
+        if (boundUserId != null) {
+            return boundUserId;
+        }
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        if (authentication != null && authentication.getPrincipal() instanceof AuthenticatedUser user) {
+            return user.getId();
+        }
+        return null;
+    }
+
+    // a replica and whether it currently receives reads
+    private static final class Replica {
+
+        private final String name;
+
+        private final DataSource dataSource;
+
+        private volatile boolean healthy = true;
+
+        private Replica(String name, DataSource dataSource) {
+            this.name = name;
+            this.dataSource = dataSource;
+        }
+    }
+}
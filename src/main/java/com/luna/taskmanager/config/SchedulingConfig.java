@@ -0,0 +1,12 @@
+package com.luna.taskmanager.config;
+
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.annotation.EnableScheduling;
+
+// Declared as a Configuration class,
+// enables the @Scheduled background jobs, each of them can be switched off with its own property
+// they run on spring.task.scheduling.pool.size threads, sized so every job has its own
+@Configuration
+@EnableScheduling
+public class SchedulingConfig {
+}
@@ -2,6 +2,7 @@ package com.luna.taskmanager.config;
 
 import com.luna.taskmanager.controller.service.UserDetailsServiceImpl;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.security.authentication.AuthenticationManager;
@@ -21,21 +22,30 @@ public class SecurityConfig {
 
     private final JwtRequestFilter jwtRequestFilter;
 
+    private final RateLimitFilter rateLimitFilter;
+
     // automatically injects required dependencies
     @Autowired
-    public SecurityConfig(UserDetailsServiceImpl userDetailsService, JwtRequestFilter jwtRequestFilter) {
+    public SecurityConfig(UserDetailsServiceImpl userDetailsService, JwtRequestFilter jwtRequestFilter,
+                          RateLimitFilter rateLimitFilter) {
         this.userDetailsService = userDetailsService;
         this.jwtRequestFilter = jwtRequestFilter;
+        this.rateLimitFilter = rateLimitFilter;
     }
     // Bean indicates that this method will be managed by the spring container
     // here we define bean responsible for configuring security filters and urls for all urls
     @Bean
-    public SecurityFilterChain filterChain(HttpSecurity http) throws Exception {
+    public SecurityFilterChain filterChain(HttpSecurity http, @Value("${management.server.port:-1}") int managementPort) throws Exception {
         http
                 // Authorise authentication for HTTP request
                 .authorizeHttpRequests(auth -> auth
                         // if matches these -> permit them without login else request must be authenticated
                         .requestMatchers("/register","/","/authenticate","/api/v1/**").permitAll()
+                        // health checks do not carry a user token
+                        .requestMatchers("/actuator/health").permitAll()
+                        // neither does the Prometheus scrape, only allowed on the management port that is not exposed publicly
+                        .requestMatchers(request -> request.getLocalPort() == managementPort
+                                && "/actuator/prometheus".equals(request.getRequestURI())).permitAll()
                         .anyRequest().authenticated()
                 )
 
@@ -51,7 +61,9 @@ public class SecurityConfig {
                 // specify user details used for authentication
                 .userDetailsService(userDetailsService)
                 // both authentication mechanisms are available for the application
-                .addFilterBefore(jwtRequestFilter, UsernamePasswordAuthenticationFilter.class);
+                .addFilterBefore(jwtRequestFilter, UsernamePasswordAuthenticationFilter.class)
+                // requests are counted against the bucket of their user once the token has been verified
+                .addFilterAfter(rateLimitFilter, UsernamePasswordAuthenticationFilter.class);
 
         // build and return this -> this configuration will be used for authentication
         return http.build();
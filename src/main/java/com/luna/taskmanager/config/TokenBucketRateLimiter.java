@@ -0,0 +1,44 @@
+package com.luna.taskmanager.config;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicLong;
+
+// In-process RateLimiter keeping the buckets in a bounded Caffeine cache.
+// Every bucket is a single AtomicLong holding the time at which it will be full again (the generic cell rate algorithm),
+// so taking a token is one compare-and-set without locks and a bucket costs a few bytes.
+// A bucket left alone for idleExpiry is full again and is dropped from the cache, it is recreated full when needed.
+public class TokenBucketRateLimiter implements RateLimiter {
+
+    private final Cache<String, AtomicLong> buckets;
+
+    public TokenBucketRateLimiter(Duration idleExpiry, long maximumKeys) {
+        this.buckets = Caffeine.newBuilder()
+                .expireAfterAccess(idleExpiry)
+                .maximumSize(maximumKeys)
+                .build();
+    }
+
+    @Override
+    public long tryAcquire(String key, int capacity, Duration period) {
+        long now = System.nanoTime();
+        long periodNanos = period.toNanos();
+        // time it takes to refill one token
+        long interval = periodNanos / capacity;
+        AtomicLong fullAt = buckets.get(key, k -> new AtomicLong(now));
+        while (true) {
+            long current = fullAt.get();
+            long next = Math.max(current, now) + interval;
+            // the bucket is empty when taking a token would push the time it is full again more than a period ahead
+            long wait = next - now - periodNanos;
+            if (wait > 0) {
+                return wait;
+            }
+            if (fullAt.compareAndSet(current, next)) {
+                return 0;
+            }
+        }
+    }
+}
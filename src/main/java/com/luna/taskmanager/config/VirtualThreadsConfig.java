@@ -0,0 +1,59 @@
+package com.luna.taskmanager.config;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.InitializingBean;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Configuration;
+
+// Declared as a Configuration class that is only active when spring.threads.virtual.enabled=true
+// (the "virtual-threads" profile). Spring Boot then runs Tomcat requests and the async task executor on virtual threads;
+// this class makes sure the rest of the configuration is safe for that mode before the application starts serving.
+@Configuration
+@ConditionalOnProperty(name = "spring.threads.virtual.enabled", havingValue = "true")
+public class VirtualThreadsConfig implements InitializingBean {
+
+    private static final Logger log = LoggerFactory.getLogger(VirtualThreadsConfig.class);
+
+    // connection pool settings in effect, Hikari's defaults apply when they are not set
+    private final int poolSize;
+
+    private final long connectionTimeout;
+
+    // largest connection pool allowed in this mode, the database and not the thread count must bound concurrency
+    private final int maximumPoolSize;
+
+    // longest time a request may wait for a connection before failing, so a saturated pool sheds load quickly
+    private final long maximumConnectionTimeout;
+
+    @Autowired
+    public VirtualThreadsConfig(@Value("${spring.datasource.hikari.maximum-pool-size:10}") int poolSize,
+                                @Value("${spring.datasource.hikari.connection-timeout:30000}") long connectionTimeout,
+                                @Value("${virtual-threads.hikari.maximum-pool-size:20}") int maximumPoolSize,
+                                @Value("${virtual-threads.hikari.maximum-connection-timeout:2000}") long maximumConnectionTimeout) {
+        this.poolSize = poolSize;
+        this.connectionTimeout = connectionTimeout;
+        this.maximumPoolSize = maximumPoolSize;
+        this.maximumConnectionTimeout = maximumConnectionTimeout;
+    }
+
+    // fail the startup instead of silently running on platform threads or with an oversized pool
+    @Override
+    public void afterPropertiesSet() {
+        if (Runtime.version().feature() < 21) {
+            throw new IllegalStateException("spring.threads.virtual.enabled requires Java 21 or later, running on Java "
+                    + Runtime.version().feature() + ".");
+        }
+        if (poolSize > maximumPoolSize) {
+            throw new IllegalStateException("spring.datasource.hikari.maximum-pool-size is " + poolSize
+                    + " but must not exceed " + maximumPoolSize + " when requests run on virtual threads.");
+        }
+        if (connectionTimeout > maximumConnectionTimeout) {
+            throw new IllegalStateException("spring.datasource.hikari.connection-timeout is " + connectionTimeout
+                    + " ms but must not exceed " + maximumConnectionTimeout + " ms when requests run on virtual threads.");
+        }
+        log.info("Serving requests on virtual threads with a connection pool of " + poolSize + ".");
+    }
+}
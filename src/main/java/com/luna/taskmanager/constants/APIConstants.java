@@ -30,5 +30,36 @@ public class APIConstants {
         // Maximum allowed length for the description of a task or task list
         public static final int MAXIMUM_LENGTH_FOR_DESCRIPTION = 256;
 
+        // Largest page size a client may request when listing tasks page by page
+        public static final int MAXIMUM_PAGE_SIZE = 500;
+
+        // Sort keys accepted by the paginated task listing
+        public static final String SORT_BY_CREATED_AT = "created_at";
+        public static final String SORT_BY_UPDATED_AT = "updated_at";
+
+        // Endpoint suffix for the bulk task operations
+        public static final String BULK_ENDPOINT = "bulk";
+
+        // Maximum number of items accepted by a single bulk request
+        public static final int MAXIMUM_BULK_SIZE = 1000;
+
+        // Endpoint suffix for the streaming export of all tasks of a user
+        public static final String EXPORT_ENDPOINT = "export";
+
+        // Endpoint suffix for the streaming import of tasks from NDJSON or CSV
+        public static final String IMPORT_ENDPOINT = "import";
+
+        // Endpoint suffix for the server-sent event stream of the task changes of a task list
+        public static final String EVENTS_ENDPOINT = "events";
+
+        // Media type of CSV import files
+        public static final String TEXT_CSV_VALUE = "text/csv";
+
+        // Endpoint for the delta sync of the tasks and task lists changed since a watermark
+        public static final String SYNC_ENDPOINT = "sync";
+
+        // Default number of tasks and of task lists returned by a single sync request
+        public static final int DEFAULT_SYNC_PAGE_SIZE = 200;
+
     }
 }
@@ -8,8 +8,8 @@ import org.springframework.http.ResponseEntity;
 import org.springframework.security.authentication.AuthenticationManager;
 import org.springframework.security.authentication.BadCredentialsException;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.Authentication;
 import org.springframework.security.core.userdetails.UserDetails;
-import org.springframework.security.core.userdetails.UserDetailsService;
 import org.springframework.security.core.userdetails.UsernameNotFoundException;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.RequestBody;
@@ -20,17 +20,13 @@ import org.springframework.web.bind.annotation.RestController;
 public class AuthenticationController {
     // injecting the authentication manager to authenticate users' details
     private final AuthenticationManager authenticationManager;
-    // injecting user details to get user specific data
-    private final UserDetailsService userDetailsService;
     // injecting jwt to handel user validate tokens
     private final JwtService jwtService;
 
     @Autowired
     public AuthenticationController(AuthenticationManager authenticationManager,
-                                    UserDetailsService userDetailsService,
                                     JwtService jwtService) {
         this.authenticationManager = authenticationManager;
-        this.userDetailsService = userDetailsService;
         this.jwtService = jwtService;
     }
     /**
@@ -41,9 +37,10 @@ public class AuthenticationController {
      */
     @PostMapping("/authenticate")
     public ResponseEntity<?> createAuthenticationToken(@RequestBody AuthenticationRequest authenticationRequest) {
+        Authentication authentication;
         try {
             // uses spring security's built in mechanism to validate users
-            authenticationManager.authenticate(
+            authentication = authenticationManager.authenticate(
                     new UsernamePasswordAuthenticationToken(
                             authenticationRequest.getUsername(),
                             authenticationRequest.getPassword()
@@ -53,8 +50,8 @@ public class AuthenticationController {
             // unable to authenticate
             throw new UsernameNotFoundException("Incorrect username or password");
         }
-        // it the authentication is successful load the details of the iser
-        final UserDetails userDetails = userDetailsService.loadUserByUsername(authenticationRequest.getUsername());
+        // it the authentication is successful the details of the user were already loaded to check the password
+        final UserDetails userDetails = (UserDetails) authentication.getPrincipal();
         // generate JWT token
         final String jwt = jwtService.generateToken(userDetails);
         // Return the JWT wrapped in an AuthenticationResponse object as the response body.
@@ -0,0 +1,47 @@
+package com.luna.taskmanager.controller;
+
+import com.luna.taskmanager.dto.AuthenticatedUser;
+import com.luna.taskmanager.exception.AppException;
+import com.luna.taskmanager.model.responses.SyncResponse;
+import com.luna.taskmanager.controller.service.SyncService;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.security.core.annotation.AuthenticationPrincipal;
+import org.springframework.web.bind.annotation.*;
+
+/**
+ * Controller for the delta sync of task lists and tasks.
+ * Reconnecting clients send the watermark of their last sync and receive only what changed since.
+ */
+@RestController
+public class SyncController {
+
+    // Logger for this class
+    private static final Logger log = LoggerFactory.getLogger(SyncController.class);
+
+    // Service layer dependency for delta sync
+    @Autowired
+    private SyncService syncService;
+
+    /**
+     * Endpoint returning the task lists and tasks created, updated or deleted since a watermark.
+     * A client without a watermark receives everything, page by page while has_more is true.
+     * @param watermark The watermark returned by the previous sync, absent for the first sync
+     * @param limit The maximum number of task lists and of tasks to return
+     * @param user The authenticated user resolved by the JWT filter
+     * @return The changes since the watermark and the watermark of the next sync
+     * @throws AppException If any application-specific exception occurs
+     */
+    @GetMapping(API + "/" + VERSION_1 + "/" + SYNC_ENDPOINT)
+    public SyncResponse sync(@RequestParam(value = "watermark", required = false) String watermark,
+                             @RequestParam(value = "limit", defaultValue = "" + DEFAULT_SYNC_PAGE_SIZE) Integer limit,
+                             @AuthenticationPrincipal AuthenticatedUser user) throws AppException {
+        try {
+            log.info("Incoming request for sync.");
+            return syncService.sync(watermark, limit, user);
+        } finally {
+            log.info("Processing for sync request finished.");
+        }
+    }
+}
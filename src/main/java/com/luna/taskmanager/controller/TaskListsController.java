@@ -1,16 +1,20 @@
 package com.luna.taskmanager.controller;
 
+import com.luna.taskmanager.dto.AuthenticatedUser;
 import com.luna.taskmanager.exception.AppException;
 import com.luna.taskmanager.model.request.CreateTaskListRequest;
 import com.luna.taskmanager.model.request.UpdateTaskListRequest;
 import com.luna.taskmanager.model.responses.TaskListResponse;
+import com.luna.taskmanager.controller.service.ETags;
 import com.luna.taskmanager.controller.service.TaskListsService;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.core.annotation.AuthenticationPrincipal;
 import org.springframework.web.bind.annotation.*;
 
-import java.security.Principal;
 
 /**
  * Controller for handling task list related requests.
@@ -29,16 +33,15 @@ public class TaskListsController {
     /**
      * Endpoint to create a new task list.
      * @param createTaskListRequest Request body containing task list details
-     * @param principal Authenticated user's principal
+     * @param user Authenticated user resolved by the JWT filter
      * @return Created task list response
      * @throws AppException If any application-specific exception occurs
      */
     @PostMapping(API + "/" + VERSION_1 + "/" + TASKLISTS_ENDPOINT)
-    public TaskListResponse createTaskList(@RequestBody CreateTaskListRequest createTaskListRequest, Principal principal) throws AppException {
+    public TaskListResponse createTaskList(@RequestBody CreateTaskListRequest createTaskListRequest, @AuthenticationPrincipal AuthenticatedUser user) throws AppException {
         try {
             log.info("Incoming request for task list creation.");
-            String username = principal.getName();
-            return taskListsService.createTaskList(createTaskListRequest, username);
+            return taskListsService.createTaskList(createTaskListRequest, user);
         } finally {
             log.info("Processing for task list creation request finished.");
         }
@@ -47,16 +50,19 @@ public class TaskListsController {
     /**
      * Endpoint to update an existing task list.
      * @param updateTaskListRequest Request body containing updated task list details
-     * @param principal Authenticated user's principal
-     * @return Updated task list response
+     * @param ifMatch Optional ETag the task list must still have for the update to be applied
+     * @param user Authenticated user resolved by the JWT filter
+     * @return Updated task list response with its new ETag
      * @throws AppException If any application-specific exception occurs
      */
     @PutMapping(API + "/" + VERSION_1 + "/" + TASKLISTS_ENDPOINT)
-    public TaskListResponse updateTaskList(@RequestBody UpdateTaskListRequest updateTaskListRequest, Principal principal) throws AppException {
+    public ResponseEntity<TaskListResponse> updateTaskList(@RequestBody UpdateTaskListRequest updateTaskListRequest,
+                                                           @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch,
+                                                           @AuthenticationPrincipal AuthenticatedUser user) throws AppException {
         try {
             log.info("Incoming request for task list update.");
-            String username = principal.getName();
-            return taskListsService.updateTaskList(updateTaskListRequest, username);
+            TaskListResponse taskList = taskListsService.updateTaskList(updateTaskListRequest, user, ifMatch);
+            return ResponseEntity.ok().eTag(ETags.of(taskList.getVersion())).body(taskList);
         } finally {
             log.info("Processing for task list update request finished.");
         }
@@ -64,17 +70,19 @@ public class TaskListsController {
 
     /**
      * Endpoint to retrieve a specific task list by its UUID.
+     * The response carries an ETag, a request whose If-None-Match still matches it receives 304 without a body.
      * @param taskListUuid The UUID of the task list
-     * @param principal Authenticated user's principal
+     * @param user Authenticated user resolved by the JWT filter
      * @return The requested task list response
      * @throws AppException If any application-specific exception occurs
      */
     @GetMapping(API + "/" + VERSION_1 + "/" + TASKLISTS_ENDPOINT + "/" + "{task_list_uuid}")
-    public TaskListResponse getTaskList(@PathVariable("task_list_uuid") String taskListUuid, Principal principal) throws AppException {
+    public ResponseEntity<TaskListResponse> getTaskList(@PathVariable("task_list_uuid") String taskListUuid, @AuthenticationPrincipal AuthenticatedUser user) throws AppException {
         try {
             log.info("Incoming request for task list fetch.");
-            String username = principal.getName();
-            return taskListsService.getTaskList(taskListUuid, username);
+            // the task list is usually served from the cache, Spring compares the ETag with If-None-Match before writing the body
+            TaskListResponse taskList = taskListsService.getTaskList(taskListUuid, user);
+            return ResponseEntity.ok().eTag(ETags.of(taskList.getVersion())).body(taskList);
         } finally {
             log.info("Processing for task list get request finished.");
         }
@@ -83,15 +91,14 @@ public class TaskListsController {
     /**
      * Endpoint to delete a specific task list by its UUID.
      * @param taskListUuid The UUID of the task list to be deleted
-     * @param principal Authenticated user's principal
+     * @param user Authenticated user resolved by the JWT filter
      * @throws AppException If any application-specific exception occurs
      */
     @DeleteMapping(API + "/" + VERSION_1 + "/" + TASKLISTS_ENDPOINT + "/" + "{task_list_uuid}")
-    public void deleteTaskList(@PathVariable("task_list_uuid") String taskListUuid, Principal principal) throws AppException {
+    public void deleteTaskList(@PathVariable("task_list_uuid") String taskListUuid, @AuthenticationPrincipal AuthenticatedUser user) throws AppException {
         try {
             log.info("Incoming request for task list delete.");
-            String username = principal.getName();
-            taskListsService.deleteTaskList(taskListUuid, username);
+            taskListsService.deleteTaskList(taskListUuid, user);
         } finally {
             log.info("Processing for task list delete request finished.");
         }
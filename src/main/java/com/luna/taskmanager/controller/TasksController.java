@@ -1,16 +1,33 @@
 package com.luna.taskmanager.controller;
 
+import com.luna.taskmanager.dto.AuthenticatedUser;
 import com.luna.taskmanager.exception.AppException;
 import com.luna.taskmanager.model.request.CreateTaskRequest;
+import com.luna.taskmanager.model.request.GetTasksPageRequest;
 import com.luna.taskmanager.model.request.UpdateTaskRequest;
+import com.luna.taskmanager.model.responses.BulkTaskResponse;
+import com.luna.taskmanager.model.responses.ImportTaskResponse;
+import com.luna.taskmanager.model.responses.TaskPageResponse;
 import com.luna.taskmanager.model.responses.TaskResponse;
+import com.luna.taskmanager.controller.service.BulkTasksService;
+import com.luna.taskmanager.controller.service.ETags;
+import com.luna.taskmanager.controller.service.SerializedTasks;
+import com.luna.taskmanager.controller.service.TaskImportService;
 import com.luna.taskmanager.controller.service.TasksService;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.core.annotation.AuthenticationPrincipal;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
-import java.security.Principal;
+import java.io.IOException;
+import java.io.InputStream;
 import java.util.List;
 
 /**
@@ -27,19 +44,26 @@ public class TasksController {
     @Autowired
     private TasksService tasksService;
 
+    // Service layer dependency for bulk task operations
+    @Autowired
+    private BulkTasksService bulkTasksService;
+
+    // Service layer dependency for task imports
+    @Autowired
+    private TaskImportService taskImportService;
+
     /**
      * Endpoint for creating a new task.
      * @param createTaskRequest Request body containing details for creating a task
-     * @param principal The authenticated user's principal
+     * @param user The authenticated user resolved by the JWT filter
      * @return The created task response
      * @throws AppException If any application-specific exception occurs
      */
     @PostMapping(API + "/" + VERSION_1 + "/" + TASKS_ENDPOINT)
-    public TaskResponse createTask(@RequestBody CreateTaskRequest createTaskRequest, Principal principal) throws AppException {
+    public TaskResponse createTask(@RequestBody CreateTaskRequest createTaskRequest, @AuthenticationPrincipal AuthenticatedUser user) throws AppException {
         try {
             log.info("Incoming request for task creation.");
-            String username = principal.getName();
-            return tasksService.createTask(createTaskRequest, username);
+            return tasksService.createTask(createTaskRequest, user);
         } finally {
             log.info("Processing for task creation request finished.");
         }
@@ -48,16 +72,19 @@ public class TasksController {
     /**
      * Endpoint for updating an existing task.
      * @param updateTaskRequest Request body containing updated details for a task
-     * @param principal The authenticated user's principal
-     * @return The updated task response
+     * @param ifMatch Optional ETag the task must still have for the update to be applied
+     * @param user The authenticated user resolved by the JWT filter
+     * @return The updated task response with its new ETag
      * @throws AppException If any application-specific exception occurs
      */
     @PutMapping(API + "/" + VERSION_1 + "/" + TASKS_ENDPOINT)
-    public TaskResponse updateTask(@RequestBody UpdateTaskRequest updateTaskRequest, Principal principal) throws AppException {
+    public ResponseEntity<TaskResponse> updateTask(@RequestBody UpdateTaskRequest updateTaskRequest,
+                                                   @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch,
+                                                   @AuthenticationPrincipal AuthenticatedUser user) throws AppException {
         try {
             log.info("Incoming request for task update.");
-            String username = principal.getName();
-            return tasksService.updateTask(updateTaskRequest, username);
+            TaskResponse task = tasksService.updateTask(updateTaskRequest, user, ifMatch);
+            return ResponseEntity.ok().eTag(ETags.of(task.getVersion())).body(task);
         } finally {
             log.info("Processing for task update request finished.");
         }
@@ -65,17 +92,25 @@ public class TasksController {
 
     /**
      * Endpoint for fetching a specific task by its UUID.
+     * The response carries an ETag, a request whose If-None-Match still matches it receives 304 without a body.
      * @param taskUuid The UUID of the task to fetch
-     * @param principal The authenticated user's principal
+     * @param user The authenticated user resolved by the JWT filter
+     * @param webRequest The current request, used to evaluate If-None-Match
      * @return The requested task response
      * @throws AppException If any application-specific exception occurs
      */
     @GetMapping(API + "/" + VERSION_1 + "/" + TASKS_ENDPOINT + "/" + "{task_uuid}")
-    public TaskResponse fetchTask(@PathVariable("task_uuid") String taskUuid, Principal principal) throws AppException {
+    public ResponseEntity<TaskResponse> fetchTask(@PathVariable("task_uuid") String taskUuid, @AuthenticationPrincipal AuthenticatedUser user,
+                                                  WebRequest webRequest) throws AppException {
         try {
             log.info("Incoming request for task fetch.");
-            String username = principal.getName();
-            return tasksService.getTask(taskUuid, username);
+            // a revalidating client is answered from the version alone, the task itself is not read
+            if (webRequest.getHeader(HttpHeaders.IF_NONE_MATCH) != null
+                    && webRequest.checkNotModified(tasksService.getTaskETag(taskUuid, user))) {
+                return null;
+            }
+            TaskResponse task = tasksService.getTask(taskUuid, user);
+            return ResponseEntity.ok().eTag(ETags.of(task.getVersion())).body(task);
         } finally {
             log.info("Processing for task fetch request finished.");
         }
@@ -84,15 +119,14 @@ public class TasksController {
     /**
      * Endpoint for deleting a specific task by its UUID.
      * @param taskUuid The UUID of the task to delete
-     * @param principal The authenticated user's principal
+     * @param user The authenticated user resolved by the JWT filter
      * @throws AppException If any application-specific exception occurs
      */
     @DeleteMapping(API + "/" + VERSION_1 + "/" + TASKS_ENDPOINT + "/" + "{task_uuid}")
-    public void deleteTask(@PathVariable("task_uuid") String taskUuid, Principal principal) throws AppException {
+    public void deleteTask(@PathVariable("task_uuid") String taskUuid, @AuthenticationPrincipal AuthenticatedUser user) throws AppException {
         try {
             log.info("Incoming request for task delete.");
-            String username = principal.getName();
-            tasksService.deleteTask(taskUuid, username);
+            tasksService.deleteTask(taskUuid, user);
         } finally {
             log.info("Processing for task delete request finished.");
         }
@@ -100,19 +134,167 @@ public class TasksController {
 
     /**
      * Endpoint for fetching all tasks associated with a specific task list.
+     * The response carries an ETag, a request whose If-None-Match still matches it receives 304 without a body.
      * @param taskListUuid The UUID of the task list for which tasks are fetched
-     * @param principal The authenticated user's principal
-     * @return A list of tasks responses
+     * @param user The authenticated user resolved by the JWT filter
+     * @param webRequest The current request, used to evaluate If-None-Match
+     * @return The tasks of the task list as a JSON array
      * @throws AppException If any application-specific exception occurs
      */
     @GetMapping(API + "/" + VERSION_1 + "/" + TASKS_ENDPOINT + "/" + TASKLIST_ENDPOINT + "/" + "{tasklist_uuid}")
-    public List<TaskResponse> fetchTasks(@PathVariable("tasklist_uuid") String taskListUuid, Principal principal) throws AppException {
+    public ResponseEntity<byte[]> fetchTasks(@PathVariable("tasklist_uuid") String taskListUuid, @AuthenticationPrincipal AuthenticatedUser user,
+                                             WebRequest webRequest) throws AppException {
         try {
             log.info("Incoming request for tasks fetch.");
-            String username = principal.getName();
-            return tasksService.getTasks(taskListUuid, username);
+            // a revalidating client is answered from an index-only read of the listing version (TasksVersion), the tasks are not read
+            if (webRequest.getHeader(HttpHeaders.IF_NONE_MATCH) != null
+                    && webRequest.checkNotModified(tasksService.getTasksETag(taskListUuid, user))) {
+                return null;
+            }
+            // the listing is written as the JSON bytes cached by the service, it is not serialized again
+            SerializedTasks tasks = tasksService.getSerializedTasks(taskListUuid, user);
+            return ResponseEntity.ok().eTag(tasks.getETag()).contentType(MediaType.APPLICATION_JSON).body(tasks.getJson());
         } finally {
             log.info("Processing for tasks fetch request finished.");
         }
     }
-}
\ No newline at end of file
+
+    /**
+     * Endpoint streaming the changes to the tasks of a specific task list as server-sent events.
+     * Events are named created, updated or deleted and carry the task as JSON; a resync event asks the client
+     * to fetch the task list again because changes were missed.
+     * @param taskListUuid The UUID of the task list whose changes are streamed
+     * @param user The authenticated user resolved by the JWT filter
+     * @return The event stream
+     * @throws AppException If any application-specific exception occurs
+     */
+    @GetMapping(value = API + "/" + VERSION_1 + "/" + TASKS_ENDPOINT + "/" + TASKLIST_ENDPOINT + "/" + "{tasklist_uuid}" + "/" + EVENTS_ENDPOINT,
+            produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public SseEmitter streamTaskEvents(@PathVariable("tasklist_uuid") String taskListUuid, @AuthenticationPrincipal AuthenticatedUser user) throws AppException {
+        log.info("Incoming request for task events stream.");
+        return tasksService.subscribeToTasks(taskListUuid, user);
+    }
+
+    /**
+     * Endpoint for fetching one page of the tasks of a specific task list.
+     * Selected instead of the full listing whenever the limit query parameter is present.
+     * @param taskListUuid The UUID of the task list for which tasks are fetched
+     * @param limit The maximum number of tasks to return
+     * @param cursor The next_cursor value of the previous page, absent for the first page
+     * @param status Optional status filter
+     * @param sort The column tasks are ordered by, created_at or updated_at
+     * @param user The authenticated user resolved by the JWT filter
+     * @return The tasks of the page and the cursor of the next page
+     * @throws AppException If any application-specific exception occurs
+     */
+    @GetMapping(value = API + "/" + VERSION_1 + "/" + TASKS_ENDPOINT + "/" + TASKLIST_ENDPOINT + "/" + "{tasklist_uuid}", params = "limit")
+    public TaskPageResponse fetchTasksPage(@PathVariable("tasklist_uuid") String taskListUuid,
+                                           @RequestParam("limit") Integer limit,
+                                           @RequestParam(value = "cursor", required = false) String cursor,
+                                           @RequestParam(value = "status", required = false) String status,
+                                           @RequestParam(value = "sort", defaultValue = "created_at") String sort,
+                                           @AuthenticationPrincipal AuthenticatedUser user) throws AppException {
+        try {
+            log.info("Incoming request for tasks page fetch.");
+            GetTasksPageRequest getTasksPageRequest = GetTasksPageRequest.builder()
+                    .taskListUuid(taskListUuid)
+                    .limit(limit)
+                    .cursor(cursor)
+                    .status(status)
+                    .sort(sort)
+                    .build();
+            return tasksService.getTasksPage(getTasksPageRequest, user);
+        } finally {
+            log.info("Processing for tasks page fetch request finished.");
+        }
+    }
+
+    /**
+     * Endpoint for exporting all tasks of the user, across all task lists, as newline-delimited JSON.
+     * The body is written on an async thread while the tasks are read from the database,
+     * so neither the request thread nor the heap is held for the size of the export.
+     * @param user The authenticated user resolved by the JWT filter
+     * @return The streamed tasks, one JSON object per line
+     */
+    @GetMapping(value = API + "/" + VERSION_1 + "/" + TASKS_ENDPOINT + "/" + EXPORT_ENDPOINT, produces = MediaType.APPLICATION_NDJSON_VALUE)
+    public ResponseEntity<StreamingResponseBody> exportTasks(@AuthenticationPrincipal AuthenticatedUser user) {
+        log.info("Incoming request for tasks export.");
+        StreamingResponseBody body = outputStream -> tasksService.exportTasks(user, outputStream);
+        return ResponseEntity.ok().contentType(MediaType.APPLICATION_NDJSON).body(body);
+    }
+
+    /**
+     * Endpoint for importing tasks from an NDJSON or CSV upload, selected by the Content-Type header.
+     * The upload is read while it arrives, tasks refer to their task list by name.
+     * @param contentType The media type of the upload, application/x-ndjson or text/csv
+     * @param inputStream The request body
+     * @param user The authenticated user resolved by the JWT filter
+     * @return The number of imported tasks and the errors of the rejected records
+     * @throws IOException If the upload cannot be read
+     */
+    @PostMapping(value = API + "/" + VERSION_1 + "/" + TASKS_ENDPOINT + "/" + IMPORT_ENDPOINT,
+            consumes = {MediaType.APPLICATION_NDJSON_VALUE, TEXT_CSV_VALUE})
+    public ImportTaskResponse importTasks(@RequestHeader(HttpHeaders.CONTENT_TYPE) MediaType contentType, InputStream inputStream,
+                                          @AuthenticationPrincipal AuthenticatedUser user) throws IOException {
+        try {
+            log.info("Incoming request for tasks import.");
+            if (MediaType.APPLICATION_NDJSON.isCompatibleWith(contentType)) {
+                return taskImportService.importNdjson(inputStream, user);
+            }
+            return taskImportService.importCsv(inputStream, user);
+        } finally {
+            log.info("Processing for tasks import request finished.");
+        }
+    }
+
+    /**
+     * Endpoint for creating many tasks in one transaction.
+     * @param createTaskRequests Request body containing an array of task details
+     * @param user The authenticated user resolved by the JWT filter
+     * @return The outcome of every item, in request order
+     * @throws AppException If the request is empty or too large
+     */
+    @PostMapping(API + "/" + VERSION_1 + "/" + TASKS_ENDPOINT + "/" + BULK_ENDPOINT)
+    public BulkTaskResponse createTasks(@RequestBody List<CreateTaskRequest> createTaskRequests, @AuthenticationPrincipal AuthenticatedUser user) throws AppException {
+        try {
+            log.info("Incoming request for bulk task creation.");
+            return bulkTasksService.createTasks(createTaskRequests, user);
+        } finally {
+            log.info("Processing for bulk task creation request finished.");
+        }
+    }
+
+    /**
+     * Endpoint for updating many tasks in one transaction.
+     * @param updateTaskRequests Request body containing an array of updated task details
+     * @param user The authenticated user resolved by the JWT filter
+     * @return The outcome of every item, in request order
+     * @throws AppException If the request is empty or too large
+     */
+    @PutMapping(API + "/" + VERSION_1 + "/" + TASKS_ENDPOINT + "/" + BULK_ENDPOINT)
+    public BulkTaskResponse updateTasks(@RequestBody List<UpdateTaskRequest> updateTaskRequests, @AuthenticationPrincipal AuthenticatedUser user) throws AppException {
+        try {
+            log.info("Incoming request for bulk task update.");
+            return bulkTasksService.updateTasks(updateTaskRequests, user);
+        } finally {
+            log.info("Processing for bulk task update request finished.");
+        }
+    }
+
+    /**
+     * Endpoint for deleting many tasks in one transaction.
+     * @param taskUuids Request body containing an array of task UUIDs
+     * @param user The authenticated user resolved by the JWT filter
+     * @return The outcome of every item, in request order
+     * @throws AppException If the request is empty or too large
+     */
+    @DeleteMapping(API + "/" + VERSION_1 + "/" + TASKS_ENDPOINT + "/" + BULK_ENDPOINT)
+    public BulkTaskResponse deleteTasks(@RequestBody List<String> taskUuids, @AuthenticationPrincipal AuthenticatedUser user) throws AppException {
+        try {
+            log.info("Incoming request for bulk task delete.");
+            return bulkTasksService.deleteTasks(taskUuids, user);
+        } finally {
+            log.info("Processing for bulk task delete request finished.");
+        }
+    }
+}
@@ -0,0 +1,305 @@
+package com.luna.taskmanager.controller.service;
+
+import com.luna.taskmanager.dto.AuthenticatedUser;
+import com.luna.taskmanager.exception.AppErrors;
+import com.luna.taskmanager.exception.AppException;
+import com.luna.taskmanager.model.OutboxEvent;
+import com.luna.taskmanager.model.TaskLists;
+import com.luna.taskmanager.model.TaskStatus;
+import com.luna.taskmanager.model.Tasks;
+import com.luna.taskmanager.model.User;
+import com.luna.taskmanager.model.request.CreateTaskRequest;
+import com.luna.taskmanager.model.request.UpdateTaskRequest;
+import com.luna.taskmanager.model.responses.BulkItemResult;
+import com.luna.taskmanager.model.responses.BulkTaskResponse;
+import com.luna.taskmanager.repository.TaskListsRepository;
+import com.luna.taskmanager.repository.TasksRepository;
+import com.luna.taskmanager.repository.UserRepository;
+import com.luna.taskmanager.validations.tasks.CreateTaskValidator;
+import com.luna.taskmanager.validations.tasks.GetTaskValidator;
+import com.luna.taskmanager.validations.tasks.UpdateTaskValidator;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.*;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+import static com.luna.taskmanager.constants.APIConstants.MAXIMUM_BULK_SIZE;
+import static com.luna.taskmanager.exception.AppErrors.RESOURCE_NOT_FOUND;
+import static com.luna.taskmanager.exception.ErrorMessages.*;
+
+/**
+ * Service class handling bulk task operations.
+ * Every bulk request runs in one transaction: items are validated one by one, the task lists or tasks they refer to
+ * are read with a single query, and the writes are sent to the database in JDBC batches.
+ * An item failing validation or referring to an unknown resource is reported in its result and does not stop the others.
+ */
+@Service
+public class BulkTasksService {
+
+    private static final Logger log = LoggerFactory.getLogger(BulkTasksService.class);
+
+    @Autowired
+    private TasksRepository tasksRepository;
+
+    @Autowired
+    private TaskListsRepository taskListsRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private CreateTaskValidator createTaskValidator;
+
+    @Autowired
+    private GetTaskValidator getTaskValidator;
+
+    @Autowired
+    private UpdateTaskValidator updateTaskValidator;
+
+    @Autowired
+    private ApplicationEventPublisher eventPublisher;
+
+    @Autowired
+    private TaskChangeOutbox taskChangeOutbox;
+
+    @Autowired
+    private TasksService tasksService;
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    // Number of inserts sent per JDBC batch, the persistence context is flushed and cleared at the same interval.
+    @Value("${spring.jpa.properties.hibernate.jdbc.batch_size:50}")
+    private int batchSize;
+
+    /**
+     * Create several tasks in one transaction.
+     * New tasks are persisted directly rather than through save(), which would issue a SELECT per task
+     * because task UUIDs are assigned by the application.
+     *
+     * @param requests The requests containing the task details.
+     * @param user     The authenticated user creating the tasks.
+     * @return A BulkTaskResponse with the UUID of every created task or the reason it was rejected.
+     * @throws AppException If the request is empty or too large.
+     */
+    @Transactional
+    public BulkTaskResponse createTasks(List<CreateTaskRequest> requests, AuthenticatedUser user) throws AppException {
+        validateBulkSize(requests);
+        BulkItemResult[] results = new BulkItemResult[requests.size()];
+
+        Map<Integer, UUID> taskListUuids = new LinkedHashMap<>();
+        for (int index = 0; index < requests.size(); index++) {
+            try {
+                createTaskValidator.validate(requests.get(index));
+                taskListUuids.put(index, UUID.fromString(requests.get(index).getTaskListUuid()));
+            } catch (AppException ex) {
+                results[index] = failure(index, null, ex.getErrorCode(), ex.getMessage());
+            }
+        }
+
+        Map<UUID, TaskLists> taskLists = taskListUuids.isEmpty() ? Collections.emptyMap()
+                : taskListsRepository.findAllByIdInAndUserId(new HashSet<>(taskListUuids.values()), user.getId()).stream()
+                .collect(Collectors.toMap(TaskLists::getUuid, Function.identity()));
+        User owner = userRepository.getReferenceById(user.getId());
+        Date now = new Date();
+
+        Set<UUID> changedTaskLists = new HashSet<>();
+        List<OutboxEvent> outboxEvents = new ArrayList<>();
+        int persisted = 0;
+        for (Map.Entry<Integer, UUID> entry : taskListUuids.entrySet()) {
+            int index = entry.getKey();
+            TaskLists taskList = taskLists.get(entry.getValue());
+            if (taskList == null) {
+                results[index] = failure(index, null, RESOURCE_NOT_FOUND, TASK_LIST_NOT_FOUND_MESSAGE);
+                continue;
+            }
+            CreateTaskRequest request = requests.get(index);
+            Tasks task = new Tasks();
+            task.setUuid(UUID.randomUUID());
+            task.setName(request.getName());
+            task.setDescription(request.getDescription());
+            task.setStatus(TaskStatus.PENDING);
+            task.setTaskList(taskList);
+            task.setUser(owner);
+            task.setCreatedAt(now);
+            task.setUpdatedAt(now);
+            entityManager.persist(task);
+            changedTaskLists.add(taskList.getUuid());
+            outboxEvents.add(outboxEvent(OutboxEvent.CREATED, task, user));
+            results[index] = success(index, task.getUuid());
+
+            if (++persisted % batchSize == 0) {
+                // send the batch and keep the persistence context from growing with the request
+                entityManager.flush();
+                entityManager.clear();
+            }
+        }
+        log.info("Bulk task creation persisted " + persisted + " of " + requests.size() + " tasks.");
+        taskChangeOutbox.append(outboxEvents);
+        publishResync(changedTaskLists, user);
+        return toResponse(results);
+    }
+
+    /**
+     * Update several tasks in one transaction.
+     * All targeted tasks are read with a single query, the changes are written by Hibernate as batched updates on commit.
+     *
+     * @param requests The requests containing the updated task details.
+     * @param user     The authenticated user updating the tasks.
+     * @return A BulkTaskResponse with the outcome of every item.
+     * @throws AppException If the request is empty or too large.
+     */
+    @Transactional
+    public BulkTaskResponse updateTasks(List<UpdateTaskRequest> requests, AuthenticatedUser user) throws AppException {
+        validateBulkSize(requests);
+        BulkItemResult[] results = new BulkItemResult[requests.size()];
+
+        Map<Integer, UUID> taskUuids = new LinkedHashMap<>();
+        for (int index = 0; index < requests.size(); index++) {
+            try {
+                updateTaskValidator.validate(requests.get(index));
+                taskUuids.put(index, UUID.fromString(requests.get(index).getUuid()));
+            } catch (AppException ex) {
+                results[index] = failure(index, null, ex.getErrorCode(), ex.getMessage());
+            }
+        }
+
+        Map<UUID, Tasks> tasks = findTasks(taskUuids.values(), user);
+        Date now = new Date();
+        Set<UUID> changedTaskLists = new HashSet<>();
+        List<OutboxEvent> outboxEvents = new ArrayList<>();
+        for (Map.Entry<Integer, UUID> entry : taskUuids.entrySet()) {
+            int index = entry.getKey();
+            Tasks task = tasks.get(entry.getValue());
+            if (task == null) {
+                results[index] = failure(index, entry.getValue(), RESOURCE_NOT_FOUND, TASK_NOT_FOUND_MESSAGE);
+                continue;
+            }
+            UpdateTaskRequest request = requests.get(index);
+            if (request.getDescription() != null) {
+                task.setDescription(request.getDescription());
+            }
+            if (request.getStatus() != null) {
+                task.setStatus(TaskStatus.valueOf(request.getStatus()));
+            }
+            task.setUpdatedAt(now);
+            // the task list is a lazy proxy, reading its identifier does not load it
+            changedTaskLists.add(task.getTaskList().getUuid());
+            outboxEvents.add(outboxEvent(OutboxEvent.UPDATED, task, user));
+            results[index] = success(index, task.getUuid());
+        }
+        taskChangeOutbox.append(outboxEvents);
+        publishResync(changedTaskLists, user);
+        return toResponse(results);
+    }
+
+    /**
+     * Soft delete several tasks in one transaction.
+     *
+     * @param taskUuids The UUIDs of the tasks to delete.
+     * @param user      The authenticated user deleting the tasks.
+     * @return A BulkTaskResponse with the outcome of every item.
+     * @throws AppException If the request is empty or too large.
+     */
+    @Transactional
+    public BulkTaskResponse deleteTasks(List<String> taskUuids, AuthenticatedUser user) throws AppException {
+        validateBulkSize(taskUuids);
+        BulkItemResult[] results = new BulkItemResult[taskUuids.size()];
+
+        Map<Integer, UUID> validUuids = new LinkedHashMap<>();
+        for (int index = 0; index < taskUuids.size(); index++) {
+            try {
+                getTaskValidator.validate(taskUuids.get(index));
+                validUuids.put(index, UUID.fromString(taskUuids.get(index)));
+            } catch (AppException ex) {
+                results[index] = failure(index, null, ex.getErrorCode(), ex.getMessage());
+            }
+        }
+
+        Map<UUID, Tasks> tasks = findTasks(validUuids.values(), user);
+        Date now = new Date();
+        Set<UUID> changedTaskLists = new HashSet<>();
+        List<OutboxEvent> outboxEvents = new ArrayList<>();
+        for (Map.Entry<Integer, UUID> entry : validUuids.entrySet()) {
+            int index = entry.getKey();
+            Tasks task = tasks.get(entry.getValue());
+            if (task == null) {
+                results[index] = failure(index, entry.getValue(), RESOURCE_NOT_FOUND, TASK_NOT_FOUND_MESSAGE);
+                continue;
+            }
+            task.setIsDeleted(true);
+            task.setUpdatedAt(now);
+            changedTaskLists.add(task.getTaskList().getUuid());
+            outboxEvents.add(taskChangeOutbox.event(OutboxEvent.TASK, OutboxEvent.DELETED, task.getUuid(), user.getId(),
+                    Collections.singletonMap("uuid", task.getUuid())));
+            results[index] = success(index, task.getUuid());
+        }
+        taskChangeOutbox.append(outboxEvents);
+        publishResync(changedTaskLists, user);
+        return toResponse(results);
+    }
+
+    // one resync per changed task list rather than an event per task, published when the transaction commits
+    private void publishResync(Set<UUID> taskListUuids, AuthenticatedUser user) {
+        for (UUID taskListUuid : taskListUuids) {
+            eventPublisher.publishEvent(new TaskChangeEvent(TaskChangeEvent.Type.RESYNC, user.getId(), taskListUuid,
+                    Collections.singletonMap("tasklist_uuid", taskListUuid)));
+        }
+    }
+
+    // the outbox event of a created or updated task, its payload is the task as returned by the single task endpoints
+    private OutboxEvent outboxEvent(String eventType, Tasks task, AuthenticatedUser user) {
+        return taskChangeOutbox.event(OutboxEvent.TASK, eventType, task.getUuid(), user.getId(),
+                tasksService.convertToTaskResponse(task));
+    }
+
+    private Map<UUID, Tasks> findTasks(Collection<UUID> uuids, AuthenticatedUser user) {
+        if (uuids.isEmpty()) {
+            return Collections.emptyMap();
+        }
+        return tasksRepository.findAllByIdInAndUserId(new HashSet<>(uuids), user.getId()).stream()
+                .collect(Collectors.toMap(Tasks::getUuid, Function.identity()));
+    }
+
+    private void validateBulkSize(List<?> items) throws AppException {
+        if (Objects.isNull(items) || items.isEmpty() || items.size() > MAXIMUM_BULK_SIZE || items.contains(null)) {
+            throw new AppException(BULK_SIZE_INVALID_MESSAGE, AppErrors.INVALID_VALUE);
+        }
+    }
+
+    private BulkItemResult success(int index, UUID uuid) {
+        return BulkItemResult.builder()
+                .index(index)
+                .uuid(uuid)
+                .success(true)
+                .build();
+    }
+
+    private BulkItemResult failure(int index, UUID uuid, AppErrors errorCode, String message) {
+        return BulkItemResult.builder()
+                .index(index)
+                .uuid(uuid)
+                .success(false)
+                .code(errorCode.name())
+                .message(message)
+                .build();
+    }
+
+    private BulkTaskResponse toResponse(BulkItemResult[] results) {
+        int succeeded = (int) Arrays.stream(results).filter(BulkItemResult::isSuccess).count();
+        return BulkTaskResponse.builder()
+                .succeeded(succeeded)
+                .failed(results.length - succeeded)
+                .results(Arrays.asList(results))
+                .build();
+    }
+}
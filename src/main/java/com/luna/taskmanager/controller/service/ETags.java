@@ -0,0 +1,107 @@
+package com.luna.taskmanager.controller.service;
+
+import com.luna.taskmanager.model.projection.TasksVersion;
+import com.luna.taskmanager.model.responses.TaskResponse;
+
+import java.util.Date;
+import java.util.List;
+import java.util.Objects;
+
+/**
+ * Builds the strong entity tags of tasks, task lists and task listings, and evaluates If-Match headers against them.
+ * A single resource is tagged with its version, a listing with the number of its tasks, their latest update time
+ * and the sum of their versions (see TasksVersion).
+ */
+public final class ETags {
+
+    // Version no entity ever has, returned for If-Match values that cannot match.
+    private static final long NO_VERSION = -1;
+
+    private ETags() {
+    }
+
+    /**
+     * @param version The version of the resource, incremented on every update.
+     * @return The quoted entity tag of the resource.
+     */
+    public static String of(Long version) {
+        return "\"" + version + "\"";
+    }
+
+    /**
+     * @param version The aggregate of the listing read from the database.
+     * @return The quoted entity tag of the listing.
+     */
+    public static String of(TasksVersion version) {
+        return of(version.getCount(), version.getLastUpdatedAt(), version.getVersionSum());
+    }
+
+    /**
+     * @param count         The number of tasks in the listing.
+     * @param lastUpdatedAt The latest update time among them, or null for an empty listing.
+     * @param versionSum    The sum of their versions.
+     * @return The quoted entity tag of the listing.
+     */
+    public static String of(long count, Date lastUpdatedAt, long versionSum) {
+        return "\"" + count + "-" + (lastUpdatedAt == null ? 0 : lastUpdatedAt.getTime()) + "-" + versionSum + "\"";
+    }
+
+    /**
+     * Tags a listing from its tasks, giving the same value as of(TasksVersion) on the aggregate read from the database.
+     *
+     * @param tasks The tasks of the listing.
+     * @return The quoted entity tag of the listing.
+     */
+    public static String of(List<TaskResponse> tasks) {
+        Date lastUpdatedAt = tasks.stream()
+                .map(TaskResponse::getUpdatedAt)
+                .filter(Objects::nonNull)
+                .max(Date::compareTo)
+                .orElse(null);
+        long versionSum = tasks.stream()
+                .map(TaskResponse::getVersion)
+                .filter(Objects::nonNull)
+                .mapToLong(Long::longValue)
+                .sum();
+        return of(tasks.size(), lastUpdatedAt, versionSum);
+    }
+
+    /**
+     * Reads the version an If-Match header requires, for updates that check it in their WHERE clause.
+     * Only * and a single strong entity tag are recognized, anything else matches no version.
+     *
+     * @param ifMatch The If-Match header.
+     * @return null for *, otherwise the required version.
+     */
+    public static Long toVersion(String ifMatch) {
+        String value = ifMatch.trim();
+        if (value.equals("*")) {
+            return null;
+        }
+        if (value.length() > 2 && value.startsWith("\"") && value.endsWith("\"")) {
+            try {
+                return Long.parseLong(value.substring(1, value.length() - 1));
+            } catch (NumberFormatException ex) {
+                return NO_VERSION;
+            }
+        }
+        return NO_VERSION;
+    }
+
+    /**
+     * Strong comparison of an If-Match header with the current entity tag, weak tags never match.
+     *
+     * @param ifMatch The If-Match header, a comma separated list of entity tags or *.
+     * @param etag    The current entity tag of the resource.
+     * @return true if the update may proceed.
+     */
+    public static boolean matches(String ifMatch, String etag) {
+        for (String candidate : ifMatch.split(",")) {
+            String value = candidate.trim();
+            if (value.equals("*") || value.equals(etag)) {
+                return true;
+            }
+        }
+        return false;
+    }
+}
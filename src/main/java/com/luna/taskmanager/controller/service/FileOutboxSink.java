@@ -0,0 +1,45 @@
+package com.luna.taskmanager.controller.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.luna.taskmanager.model.OutboxEvent;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Service;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.List;
+
+/**
+ * OutboxSink appending every event as one JSON line to the file outbox.sink.file.path, used when outbox.sink=file.
+ * Meant for local runs and tests, or for a log shipper tailing the file.
+ */
+@Service
+@ConditionalOnProperty(name = "outbox.sink", havingValue = "file")
+public class FileOutboxSink implements OutboxSink {
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Value("${outbox.sink.file.path:task-changes.ndjson}")
+    private Path path;
+
+    @Override
+    public void publish(List<OutboxEvent> events) {
+        try (BufferedWriter writer = Files.newBufferedWriter(path, StandardCharsets.UTF_8,
+                StandardOpenOption.CREATE, StandardOpenOption.APPEND)) {
+            for (OutboxEvent event : events) {
+                writer.write(objectMapper.writeValueAsString(event));
+                writer.newLine();
+            }
+        } catch (IOException ex) {
+            throw new UncheckedIOException("Outbox events could not be written to " + path + ".", ex);
+        }
+    }
+}
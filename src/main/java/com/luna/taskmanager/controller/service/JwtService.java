@@ -1,9 +1,12 @@
 package com.luna.taskmanager.controller.service;
 
+import io.jsonwebtoken.Claims;
 import org.springframework.security.core.userdetails.UserDetails;
 
 // this is used to extract username, generate token and validate tokens
 public interface JwtService {
+    // verify signature and expiry once and return every claim of the token
+    Claims verifyToken(String token);
     String extractUserName(String token);
     String generateToken(UserDetails userDetails);
     boolean isTokenValid(String token, UserDetails userDetails);
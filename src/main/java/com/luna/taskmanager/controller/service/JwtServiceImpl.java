@@ -1,17 +1,29 @@
 package com.luna.taskmanager.controller.service;
 
+import com.github.benmanes.caffeine.cache.Cache; // bounded in-memory cache
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry; // per entry expiry policy
 import io.jsonwebtoken.Claims; // Represents claim of a JWT
+import io.jsonwebtoken.JwtParser; // verifies and parses signed tokens
 import io.jsonwebtoken.Jwts; // Provides methods for creating and parsing jwt
 import io.jsonwebtoken.security.Keys; // generates cryptographic keys for jwt
+import io.micrometer.core.instrument.MeterRegistry; // registry the cache statistics are published to
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Value; // allows reading of values from application properties
 import org.springframework.security.core.userdetails.UserDetails;// represents user details for authentication
 import org.springframework.stereotype.Service; // indicates this class is a service component
 import io.jsonwebtoken.io.Decoders; // utilities required to decode JWT
 
 import javax.crypto.SecretKey; // Cryptographic security key
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest; // hashes tokens into cache keys
+import java.security.NoSuchAlgorithmException;
+import java.util.Base64;
 import java.util.Date;
 import java.util.HashMap;
 import java.util.Map;
+import java.util.concurrent.TimeUnit;
 import java.util.function.Function;
 
 // annotates this calls is a service class
@@ -19,12 +31,43 @@ import java.util.function.Function;
 // when a class implements an interface, it means that the class agrees to provide implementations for all the methods declared in that interface.
 @Service
 public class JwtServiceImpl implements JwtService {
-    // Get value of secret key from application properties
-    @Value("${token.signing.key}")
-    private String jwtSigningKey;
 
     // set expiry time of token
     private static final long EXPIRATION_TIME = 3600000;
+
+    // secret key, decoded once from application properties
+    private final SecretKey signingKey;
+
+    // parser bound to the signing key, it is immutable and thread safe so a single instance is reused
+    private final JwtParser jwtParser;
+
+    // claims of recently verified tokens keyed by the SHA-256 digest of the token, each entry lives until the token itself expires
+    // the tokens themselves are not kept, so the cache holds no usable bearer credential
+    private final Cache<String, Claims> verifiedTokens;
+
+    @Autowired
+    public JwtServiceImpl(@Value("${token.signing.key}") String jwtSigningKey,
+                          @Value("${token.cache.maximum-size:10000}") long maximumSize,
+                          MeterRegistry meterRegistry) {
+        this.signingKey = Keys.hmacShaKeyFor(Decoders.BASE64.decode(jwtSigningKey));
+        this.jwtParser = Jwts.parser()
+                .verifyWith(signingKey)
+                .build();
+        this.verifiedTokens = Caffeine.newBuilder()
+                .maximumSize(maximumSize)
+                .expireAfter(new UntilTokenExpiry())
+                .recordStats()
+                .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, verifiedTokens, "verifiedTokens");
+    }
+
+    // verify the token once, a token already seen is answered from the cache without checking the signature again
+    // the parser rejects expired tokens and cached entries are dropped at expiry, so an expired token is never returned
+    @Override
+    public Claims verifyToken(String token) {
+        return verifiedTokens.get(digest(token), tokenDigest -> extractAllClaims(token));
+    }
+
     // extract username from token
     @Override
     public String extractUserName(String token) {
@@ -36,16 +79,16 @@ public class JwtServiceImpl implements JwtService {
         return generateToken(new HashMap<>(), userDetails);
     }
 
-    // check validity of token
+    // check validity of token, subject and expiry are read from a single parse
     @Override
     public boolean isTokenValid(String token, UserDetails userDetails) {
-        final String userName = extractUserName(token);
-        return (userName.equals(userDetails.getUsername())) && !isTokenExpired(token);
+        final Claims claims = verifyToken(token);
+        return (claims.getSubject().equals(userDetails.getUsername())) && !claims.getExpiration().before(new Date());
     }
 
     // extract cleans from token such as username
     private <T> T extractClaim(String token, Function<Claims, T> claimsResolvers) {
-        final Claims claims = extractAllClaims(token);
+        final Claims claims = verifyToken(token);
         return claimsResolvers.apply(claims);
     }
 
@@ -56,31 +99,46 @@ public class JwtServiceImpl implements JwtService {
                 .subject(userDetails.getUsername())
                 .issuedAt(new Date(System.currentTimeMillis()))
                 .expiration(new Date(System.currentTimeMillis() +EXPIRATION_TIME))
-                .signWith(getSigningKey())
+                .signWith(signingKey)
                 .compact();
     }
 
-    // CHECK IF TOKEN IS EXPIRED
-    private boolean isTokenExpired(String token) {
-        return extractExpiration(token).before(new Date());
-    }
-
-    // Extract expiry date  from token
-    private Date extractExpiration(String token) {
-        return extractClaim(token, Claims::getExpiration);
-    }
-
     private Claims extractAllClaims(String token) {
-        return Jwts.parser()
-                .verifyWith(getSigningKey())
-                .build()
+        return jwtParser
                 .parseSignedClaims(token)
                 .getPayload();
     }
 
-    // get secret key.
-    private SecretKey getSigningKey() {
-        byte[] keyBytes = Decoders.BASE64.decode(jwtSigningKey);
-        return Keys.hmacShaKeyFor(keyBytes);
+    // cache key of a token, a MessageDigest is not thread safe so one is created per call
+    private static String digest(String token) {
+        try {
+            byte[] hash = MessageDigest.getInstance("SHA-256").digest(token.getBytes(StandardCharsets.UTF_8));
+            return Base64.getEncoder().encodeToString(hash);
+        } catch (NoSuchAlgorithmException ex) {
+            throw new IllegalStateException("SHA-256 is not available.", ex);
+        }
+    }
+
+    // keeps a verified token in the cache only for the time left until its exp claim
+    private static class UntilTokenExpiry implements Expiry<String, Claims> {
+
+        @Override
+        public long expireAfterCreate(String tokenDigest, Claims claims, long currentTime) {
+            if (claims.getExpiration() == null) {
+                return 0;
+            }
+            long remaining = claims.getExpiration().getTime() - System.currentTimeMillis();
+            return TimeUnit.MILLISECONDS.toNanos(Math.max(remaining, 0));
+        }
+
+        @Override
+        public long expireAfterUpdate(String tokenDigest, Claims claims, long currentTime, long currentDuration) {
+            return currentDuration;
+        }
+
+        @Override
+        public long expireAfterRead(String tokenDigest, Claims claims, long currentTime, long currentDuration) {
+            return currentDuration;
+        }
     }
-}
\ No newline at end of file
+}
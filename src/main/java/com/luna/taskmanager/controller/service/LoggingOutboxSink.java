@@ -0,0 +1,27 @@
+package com.luna.taskmanager.controller.service;
+
+import com.luna.taskmanager.model.OutboxEvent;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Service;
+
+import java.util.List;
+
+/**
+ * Default OutboxSink writing every event to the application log, used when outbox.sink=log or is not set.
+ */
+@Service
+@ConditionalOnProperty(name = "outbox.sink", havingValue = "log", matchIfMissing = true)
+public class LoggingOutboxSink implements OutboxSink {
+
+    private static final Logger log = LoggerFactory.getLogger(LoggingOutboxSink.class);
+
+    @Override
+    public void publish(List<OutboxEvent> events) {
+        for (OutboxEvent event : events) {
+            log.info("Outbox event " + event.getId() + ": " + event.getAggregateType() + " " + event.getAggregateUuid()
+                    + " " + event.getEventType() + " " + event.getPayload());
+        }
+    }
+}
@@ -0,0 +1,109 @@
+package com.luna.taskmanager.controller.service;
+
+import com.luna.taskmanager.exception.AppException;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.util.concurrent.ThreadLocalRandom;
+
+import static com.luna.taskmanager.exception.AppErrors.CONCURRENT_MODIFICATION;
+import static com.luna.taskmanager.exception.ErrorMessages.CONCURRENT_MODIFICATION_MESSAGE;
+
+/**
+ * Runs read-modify-write updates of versioned entities without locking rows.
+ * Every attempt reads and writes in its own transaction; when another writer changed the entity in between,
+ * the version check fails on commit, the persistence context is cleared by the rollback and the update is
+ * attempted again on fresh state after a short random backoff.
+ * Conflicts are counted as taskmanager.optimistic.lock.conflicts, tagged with the entity name.
+ */
+@Service
+public class OptimisticLockRetry {
+
+    private static final Logger log = LoggerFactory.getLogger(OptimisticLockRetry.class);
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    // Number of attempts before a conflict is reported to the client.
+    @Value("${optimistic-lock.max-attempts:3}")
+    private int maxAttempts;
+
+    // Upper bound of the random wait before the second attempt, it grows linearly with every further attempt.
+    @Value("${optimistic-lock.backoff:PT0.02S}")
+    private Duration backoff;
+
+    /**
+     * One attempt of an update. It must read the entity itself, so a retry sees the latest version.
+     */
+    @FunctionalInterface
+    public interface Attempt<T> {
+        T run() throws AppException;
+    }
+
+    /**
+     * Runs the update, retrying it on optimistic locking conflicts.
+     *
+     * @param entity  The name of the updated entity, used as metric tag.
+     * @param attempt The read-modify-write to run.
+     * @return The result of the successful attempt.
+     * @throws AppException The exception of the attempt, or CONCURRENT_MODIFICATION once every attempt conflicted.
+     */
+    public <T> T execute(String entity, Attempt<T> attempt) throws AppException {
+        for (int attemptNumber = 1; ; attemptNumber++) {
+            try {
+                return transactionTemplate.execute(status -> {
+                    try {
+                        return attempt.run();
+                    } catch (AppException ex) {
+                        // unchecked so the transaction is rolled back, unwrapped below
+                        throw new AttemptFailedException(ex);
+                    }
+                });
+            } catch (AttemptFailedException ex) {
+                throw ex.getCause();
+            } catch (OptimisticLockingFailureException ex) {
+                meterRegistry.counter("taskmanager.optimistic.lock.conflicts", "entity", entity).increment();
+                if (attemptNumber >= maxAttempts) {
+                    log.info("Update of " + entity + " conflicted " + attemptNumber + " times. Sending error response.");
+                    throw new AppException(CONCURRENT_MODIFICATION_MESSAGE, CONCURRENT_MODIFICATION);
+                }
+                pause(attemptNumber);
+            }
+        }
+    }
+
+    private void pause(int attemptNumber) throws AppException {
+        long bound = backoff.toMillis() * attemptNumber;
+        if (bound <= 0) {
+            return;
+        }
+        try {
+            Thread.sleep(ThreadLocalRandom.current().nextLong(bound));
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+            throw new AppException(CONCURRENT_MODIFICATION_MESSAGE, CONCURRENT_MODIFICATION);
+        }
+    }
+
+    private static class AttemptFailedException extends RuntimeException {
+
+        private AttemptFailedException(AppException cause) {
+            super(cause);
+        }
+
+        @Override
+        public synchronized AppException getCause() {
+            return (AppException) super.getCause();
+        }
+    }
+}
@@ -0,0 +1,96 @@
+package com.luna.taskmanager.controller.service;
+
+import com.luna.taskmanager.model.OutboxEvent;
+import com.luna.taskmanager.repository.OutboxEventRepository;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Scheduled worker draining the transactional outbox to the OutboxSink.
+ * Every run delivers batches of outbox.relay.batch-size events in id order until the outbox is empty.
+ * A batch is read with a row lock, published and deleted in one transaction, so it is either delivered and removed
+ * or left for the next run; relays on several instances take turns rather than delivering events out of order.
+ * Delivered events are counted in taskmanager.outbox.relayed, the age of the oldest pending event is exposed as
+ * taskmanager.outbox.lag and every batch is timed in taskmanager.outbox.relay.batch.
+ */
+@Service
+@ConditionalOnProperty(name = "outbox.relay.enabled", havingValue = "true", matchIfMissing = true)
+public class OutboxRelay {
+
+    private static final Logger log = LoggerFactory.getLogger(OutboxRelay.class);
+
+    @Autowired
+    private OutboxEventRepository outboxEventRepository;
+
+    @Autowired
+    private OutboxSink outboxSink;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    private final MeterRegistry meterRegistry;
+
+    // age in milliseconds of the oldest event found by the last batch, 0 once the outbox is drained
+    private final AtomicLong lagMillis = new AtomicLong();
+
+    // Events read, published and deleted per transaction.
+    @Value("${outbox.relay.batch-size:500}")
+    private int batchSize;
+
+    @Autowired
+    public OutboxRelay(MeterRegistry meterRegistry) {
+        this.meterRegistry = meterRegistry;
+        Gauge.builder("taskmanager.outbox.lag", lagMillis, lag -> lag.get() / 1000.0)
+                .description("Age of the oldest event waiting in the outbox")
+                .baseUnit("seconds")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Delivers the pending events, run every outbox.relay.interval.
+     *
+     * @return The number of events delivered.
+     */
+    @Scheduled(fixedDelayString = "${outbox.relay.interval:PT1S}", initialDelayString = "${outbox.relay.interval:PT1S}")
+    public long relay() {
+        long relayed = 0;
+        int delivered;
+        do {
+            Timer.Sample sample = Timer.start(meterRegistry);
+            Integer batch = transactionTemplate.execute(status -> relayBatch());
+            delivered = batch == null ? 0 : batch;
+            sample.stop(meterRegistry.timer("taskmanager.outbox.relay.batch"));
+            relayed += delivered;
+        } while (delivered == batchSize);
+        if (relayed > 0) {
+            log.debug("Relayed " + relayed + " outbox events.");
+        }
+        return relayed;
+    }
+
+    private int relayBatch() {
+        List<OutboxEvent> events = outboxEventRepository.findOldest(PageRequest.of(0, batchSize));
+        if (events.isEmpty()) {
+            lagMillis.set(0);
+            return 0;
+        }
+        lagMillis.set(System.currentTimeMillis() - events.get(0).getCreatedAt().getTime());
+        outboxSink.publish(events);
+        outboxEventRepository.deleteAllInBatch(events);
+        meterRegistry.counter("taskmanager.outbox.relayed").increment(events.size());
+        return events.size();
+    }
+}
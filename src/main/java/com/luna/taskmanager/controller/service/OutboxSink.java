@@ -0,0 +1,22 @@
+package com.luna.taskmanager.controller.service;
+
+import com.luna.taskmanager.model.OutboxEvent;
+
+import java.util.List;
+
+/**
+ * Destination of the events drained from the transactional outbox by OutboxRelay.
+ * The sink is selected with outbox.sink; a message broker adapter is added as another implementation of this interface.
+ * Delivery is at least once: a batch is delivered again when publish fails or the relay stops before deleting it,
+ * so consumers should ignore events whose id they have already processed.
+ */
+public interface OutboxSink {
+
+    /**
+     * Delivers a batch of events, in order.
+     * Returning normally acknowledges the whole batch, throwing leaves it in the outbox for the next run.
+     *
+     * @param events The events of the batch in id order.
+     */
+    void publish(List<OutboxEvent> events);
+}
@@ -0,0 +1,19 @@
+package com.luna.taskmanager.controller.service;
+
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+
+/**
+ * The tasks of a task list serialized as the JSON array returned by the listing endpoint, with the entity tag of the listing.
+ * The bytes are written to the response as they are, so they must not be modified.
+ */
+@Getter
+@RequiredArgsConstructor
+public class SerializedTasks {
+
+    // The quoted entity tag of the listing, as built by ETags.of(List).
+    private final String eTag;
+
+    // The listing as UTF-8 encoded JSON.
+    private final byte[] json;
+}
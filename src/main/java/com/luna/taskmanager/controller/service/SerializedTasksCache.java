@@ -0,0 +1,77 @@
+package com.luna.taskmanager.controller.service;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.time.Duration;
+import java.util.UUID;
+
+/**
+ * In-process cache of serialized task listings, per user and task list, bounded by the total size of the JSON held.
+ * Entries carry the entity tag of their listing, TasksService only serves one whose tag still matches the TasksVersion
+ * read from the database, so an entry made stale by a write through another instance is never served, only replaced,
+ * even when that write kept the count and the latest update time of the tasks.
+ * Task changes of this instance drop the entries of their task list once committed, deletions of the whole user.
+ * Disabled with task-json.cache.enabled=false, every listing is then serialized per request.
+ */
+@Service
+public class SerializedTasksCache {
+
+    private final Cache<String, SerializedTasks> cache;
+
+    private final boolean enabled;
+
+    public SerializedTasksCache(@Value("${task-json.cache.enabled:true}") boolean enabled,
+                                @Value("${task-json.cache.maximum-bytes:67108864}") long maximumBytes,
+                                @Value("${task-json.cache.expire-after-write:PT10M}") Duration expireAfterWrite) {
+        this.enabled = enabled;
+        this.cache = Caffeine.newBuilder()
+                .maximumWeight(maximumBytes)
+                .weigher((String key, SerializedTasks tasks) -> tasks.getJson().length)
+                .expireAfterWrite(expireAfterWrite)
+                .build();
+    }
+
+    /**
+     * Returns a cached listing, which may be stale.
+     *
+     * @param userId       The id of the user owning the task list.
+     * @param taskListUuid The UUID of the task list.
+     * @return The cached listing, or null if it is not cached.
+     */
+    public SerializedTasks get(Long userId, UUID taskListUuid) {
+        return enabled ? cache.getIfPresent(key(userId, taskListUuid)) : null;
+    }
+
+    /**
+     * Caches a listing serialized from the database.
+     *
+     * @param userId       The id of the user owning the task list.
+     * @param taskListUuid The UUID of the task list.
+     * @param tasks        The serialized listing.
+     */
+    public void put(Long userId, UUID taskListUuid, SerializedTasks tasks) {
+        if (enabled) {
+            cache.put(key(userId, taskListUuid), tasks);
+        }
+    }
+
+    // published by TasksService, BulkTasksService, TaskListsService and TaskImportService, a task deletion does not carry its task list
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onTaskChange(TaskChangeEvent event) {
+        if (event.getTaskListUuid() != null) {
+            cache.invalidate(key(event.getUserId(), event.getTaskListUuid()));
+        } else {
+            String prefix = event.getUserId() + ":";
+            cache.asMap().keySet().removeIf(key -> key.startsWith(prefix));
+        }
+    }
+
+    // the user id is part of the key so a listing is never served to another user
+    private String key(Long userId, UUID taskListUuid) {
+        return userId + ":" + taskListUuid;
+    }
+}
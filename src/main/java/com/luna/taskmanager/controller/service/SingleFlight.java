@@ -0,0 +1,110 @@
+package com.luna.taskmanager.controller.service;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.Value;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.function.Supplier;
+
+/**
+ * Collapses concurrent identical reads into one: the first caller runs the read, callers asking for the same result
+ * while it is in flight wait for it and receive the same result (or exception) instead of querying the database again.
+ * Nothing is kept once the read completes, so this bounds the load of bursts without serving older data than a query would.
+ * Reads must be started outside of a transaction, so waiting callers do not hold a pooled connection.
+ * A caller arriving after a committed change of the user must not join a read started before it, so in-flight reads
+ * of a user are forgotten when a task change is committed and when forget is called.
+ * Collapsed calls are counted in taskmanager.singleflight.collapsed, tagged by read name.
+ */
+@Service
+public class SingleFlight {
+
+    private final ConcurrentMap<Flight, CompletableFuture<Object>> inFlight = new ConcurrentHashMap<>();
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    /**
+     * Runs a read of a user, or waits for the identical read already in flight.
+     *
+     * @param name   The name of the read, used as metric tag.
+     * @param userId The ID of the user the read is for.
+     * @param key    The arguments of the read besides the user, or null.
+     * @param read   The read, run by the first caller only.
+     * @return The result of the read.
+     */
+    @SuppressWarnings("unchecked")
+    public <T> T execute(String name, Long userId, Object key, Supplier<T> read) {
+        Flight flight = new Flight(name, userId, key);
+        CompletableFuture<Object> result = new CompletableFuture<>();
+        CompletableFuture<Object> running = inFlight.putIfAbsent(flight, result);
+        if (running != null) {
+            meterRegistry.counter("taskmanager.singleflight.collapsed", "name", name).increment();
+            try {
+                return (T) running.join();
+            } catch (CompletionException ex) {
+                if (ex.getCause() instanceof RuntimeException cause) {
+                    throw cause;
+                }
+                throw ex;
+            }
+        }
+        try {
+            T value = read.get();
+            result.complete(value);
+            return value;
+        } catch (RuntimeException | Error ex) {
+            result.completeExceptionally(ex);
+            throw ex;
+        } finally {
+            inFlight.remove(flight, result);
+        }
+    }
+
+    /**
+     * Forgets the in-flight reads of a user once the current transaction commits, or right away without one.
+     * To be called by writes the TaskChangeEvent does not cover, such as task list changes.
+     *
+     * @param userId The ID of the user whose data changed.
+     */
+    public void forget(Long userId) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    forgetNow(userId);
+                }
+            });
+        } else {
+            forgetNow(userId);
+        }
+    }
+
+    // published by TasksService and BulkTasksService, received once the change is committed
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onTaskChange(TaskChangeEvent event) {
+        forgetNow(event.getUserId());
+    }
+
+    // the read itself carries on for the callers already waiting, later callers start a new one
+    private void forgetNow(Long userId) {
+        inFlight.keySet().removeIf(flight -> flight.getUserId().equals(userId));
+    }
+
+    @Value
+    private static class Flight {
+
+        String name;
+
+        Long userId;
+
+        Object key;
+    }
+}
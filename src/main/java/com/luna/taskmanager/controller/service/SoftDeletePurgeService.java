@@ -0,0 +1,154 @@
+package com.luna.taskmanager.controller.service;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.util.Date;
+import java.util.List;
+
+/**
+ * Scheduled job removing tasks and task lists that were soft deleted longer ago than the retention period.
+ * Rows are moved to the tasks_archive and task_lists_archive tables, or dropped when purge.archive is false.
+ * Work is done in batches of purge.batch-size rows, each in its own short transaction and followed by a pause,
+ * so the job never holds locks for long and leaves room for the request traffic.
+ * Rows processed per run are recorded in the taskmanager.purge.rows summary, tagged with the table.
+ * Only one instance should run the job, disable it on the others with purge.enabled=false.
+ */
+@Service
+@ConditionalOnProperty(name = "purge.enabled", havingValue = "true", matchIfMissing = true)
+public class SoftDeletePurgeService {
+
+    private static final Logger log = LoggerFactory.getLogger(SoftDeletePurgeService.class);
+
+    /**
+     * Tables purged by the job, in purge order: a task list is only removed once no task refers to it.
+     */
+    private enum PurgedTable {
+        TASKS("tasks", "tasks_archive",
+                "uuid, name, description, status, created_at, updated_at, task_list_uuid, user_id, version",
+                "SELECT uuid FROM tasks WHERE is_deleted = 1 AND updated_at < ? ORDER BY updated_at LIMIT ?"),
+        TASK_LISTS("task_lists", "task_lists_archive",
+                "uuid, name, description, created_at, updated_at, user_id, version",
+                "SELECT tl.uuid FROM task_lists tl WHERE tl.is_deleted = 1 AND tl.updated_at < ? " +
+                        "AND NOT EXISTS (SELECT 1 FROM tasks t WHERE t.task_list_uuid = tl.uuid) ORDER BY tl.updated_at LIMIT ?");
+
+        private final String table;
+        private final String archiveTable;
+        private final String columns;
+        private final String candidatesQuery;
+
+        PurgedTable(String table, String archiveTable, String columns, String candidatesQuery) {
+            this.table = table;
+            this.archiveTable = archiveTable;
+            this.columns = columns;
+            this.candidatesQuery = candidatesQuery;
+        }
+    }
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private NamedParameterJdbcTemplate namedParameterJdbcTemplate;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    // How long soft-deleted rows are kept before being purged.
+    @Value("${purge.retention:P30D}")
+    private Duration retention;
+
+    // Whether purged rows are copied to the archive tables before being deleted.
+    @Value("${purge.archive:true}")
+    private boolean archive;
+
+    // Rows moved per transaction.
+    @Value("${purge.batch-size:500}")
+    private int batchSize;
+
+    // Upper bound of batches per table and run, the remaining rows are left to the next run.
+    @Value("${purge.max-batches-per-run:200}")
+    private int maxBatchesPerRun;
+
+    // Pause after every batch.
+    @Value("${purge.pause-between-batches:PT0.1S}")
+    private Duration pauseBetweenBatches;
+
+    /**
+     * Purges the soft-deleted rows older than the retention period, run on the purge.cron schedule.
+     */
+    @Scheduled(cron = "${purge.cron:0 0 3 * * *}")
+    public void purge() {
+        Timer.Sample sample = Timer.start(meterRegistry);
+        Date cutoff = new Date(System.currentTimeMillis() - retention.toMillis());
+        try {
+            for (PurgedTable table : PurgedTable.values()) {
+                int purged = purgeTable(table, cutoff);
+                log.info("Purged " + purged + " soft-deleted rows from " + table.table + " deleted before " + cutoff + ".");
+            }
+        } finally {
+            sample.stop(meterRegistry.timer("taskmanager.purge.duration"));
+        }
+    }
+
+    private int purgeTable(PurgedTable table, Date cutoff) {
+        int purged = 0;
+        try {
+            for (int batch = 0; batch < maxBatchesPerRun; batch++) {
+                List<Object> uuids = jdbcTemplate.queryForList(table.candidatesQuery, Object.class, cutoff, batchSize);
+                if (uuids.isEmpty()) {
+                    break;
+                }
+                purged += purgeBatch(table, uuids);
+                if (uuids.size() < batchSize || !pause()) {
+                    break;
+                }
+            }
+        } finally {
+            meterRegistry.summary("taskmanager.purge.rows", "table", table.table).record(purged);
+        }
+        return purged;
+    }
+
+    // archives and deletes one batch in a single transaction, rows are rechecked in case they changed since selected
+    private int purgeBatch(PurgedTable table, List<Object> uuids) {
+        MapSqlParameterSource parameters = new MapSqlParameterSource("uuids", uuids)
+                .addValue("archivedAt", new Date());
+        Integer deleted = transactionTemplate.execute(status -> {
+            if (archive) {
+                namedParameterJdbcTemplate.update("INSERT INTO " + table.archiveTable + " (" + table.columns + ", archived_at) " +
+                        "SELECT " + table.columns + ", :archivedAt FROM " + table.table + " WHERE uuid IN (:uuids) AND is_deleted = 1",
+                        parameters);
+            }
+            return namedParameterJdbcTemplate.update("DELETE FROM " + table.table + " WHERE uuid IN (:uuids) AND is_deleted = 1",
+                    parameters);
+        });
+        return deleted == null ? 0 : deleted;
+    }
+
+    // returns false when the job is being stopped
+    private boolean pause() {
+        try {
+            Thread.sleep(pauseBetweenBatches.toMillis());
+            return true;
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+            return false;
+        }
+    }
+}
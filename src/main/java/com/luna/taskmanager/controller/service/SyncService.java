@@ -0,0 +1,149 @@
+package com.luna.taskmanager.controller.service;
+
+import com.luna.taskmanager.config.ReplicaRoutingDataSource;
+import com.luna.taskmanager.dto.AuthenticatedUser;
+import com.luna.taskmanager.exception.AppErrors;
+import com.luna.taskmanager.exception.AppException;
+import com.luna.taskmanager.model.TaskLists;
+import com.luna.taskmanager.model.Tasks;
+import com.luna.taskmanager.model.responses.SyncResponse;
+import com.luna.taskmanager.model.responses.TaskListResponse;
+import com.luna.taskmanager.model.responses.TaskResponse;
+import com.luna.taskmanager.repository.TaskListsRepository;
+import com.luna.taskmanager.repository.TasksRepository;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.List;
+import java.util.Objects;
+import java.util.UUID;
+
+import static com.luna.taskmanager.constants.APIConstants.MAXIMUM_PAGE_SIZE;
+import static com.luna.taskmanager.exception.ErrorMessages.PAGE_SIZE_INVALID_MESSAGE;
+import static com.luna.taskmanager.exception.ErrorMessages.WATERMARK_EXPIRED_MESSAGE;
+
+/**
+ * Service class answering delta syncs: the task lists and tasks of a user changed since a watermark,
+ * with soft-deleted rows reported as tombstones, so reconnecting clients download the changes rather than all their data.
+ * Task lists and tasks are each read with one keyset query on their (user_id, updated_at, uuid) index.
+ * Changes younger than sync.settle-window are left for the next sync, so a row written by a transaction still running
+ * when the sync reads, or stamped by an instance whose clock is slightly behind, is not skipped by the watermark.
+ * Syncs always read from the primary: a replica lagging by more than the settle window would hide rows the
+ * watermark then moves past, so they would never be returned.
+ * The number of changed rows returned is recorded in the taskmanager.sync.changes summary.
+ */
+@Service
+public class SyncService {
+
+    // position of a type whose changes have all been returned, placed before any UUID stamped with the same time
+    private static final UUID FIRST_UUID = new UUID(0, 0);
+
+    @Autowired
+    private TaskListsRepository taskListsRepository;
+
+    @Autowired
+    private TasksRepository tasksRepository;
+
+    @Autowired
+    private TaskListsService taskListsService;
+
+    @Autowired
+    private TasksService tasksService;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    // Age a change must reach before it is returned, should exceed the longest write transaction and the clock skew between instances.
+    @Value("${sync.settle-window:PT5S}")
+    private Duration settleWindow;
+
+    // Tombstones are only kept for the purge retention, older watermarks could miss deletions.
+    @Value("${purge.enabled:false}")
+    private boolean purgeEnabled;
+
+    @Value("${purge.retention:P30D}")
+    private Duration purgeRetention;
+
+    /**
+     * Get the changes to the task lists and tasks of the user since a watermark.
+     * At most limit task lists and limit tasks are returned; has_more tells the client to sync again right away.
+     * Clients should apply the task lists of a response before its tasks.
+     * Runs in a read-only transaction hinted to read from the primary, so a sync does not pin the user to the primary
+     * the way a write transaction would.
+     *
+     * @param watermark The watermark returned by the previous sync, or null to download everything.
+     * @param limit     The maximum number of task lists and of tasks to return.
+     * @param user      The authenticated user syncing.
+     * @return A SyncResponse with the changes and the watermark of the next sync.
+     * @throws AppException If the limit or watermark is invalid, or the watermark is older than the tombstone retention.
+     */
+    @Transactional(readOnly = true)
+    public SyncResponse sync(String watermark, Integer limit, AuthenticatedUser user) throws AppException {
+        ReplicaRoutingDataSource.readFromPrimary();
+        if (Objects.isNull(limit) || limit < 1 || limit > MAXIMUM_PAGE_SIZE) {
+            throw new AppException(PAGE_SIZE_INVALID_MESSAGE, AppErrors.INVALID_VALUE);
+        }
+        SyncWatermark from = watermark == null ? SyncWatermark.INITIAL : SyncWatermark.decode(watermark);
+        Date oldest = from.getOldestTime();
+        if (purgeEnabled && oldest != null && oldest.getTime() < System.currentTimeMillis() - purgeRetention.toMillis()) {
+            throw new AppException(WATERMARK_EXPIRED_MESSAGE, AppErrors.SYNC_EXPIRED);
+        }
+
+        Date until = new Date(System.currentTimeMillis() - settleWindow.toMillis());
+        // one row more than the limit tells whether changes are left
+        PageRequest pageRequest = PageRequest.of(0, limit + 1);
+        List<TaskLists> taskLists = taskListsRepository.findChangesByUserId(user.getId(), from.getTaskListTime(),
+                from.getTaskListUuid(), until, pageRequest);
+        List<Tasks> tasks = tasksRepository.findChangesByUserId(user.getId(), from.getTaskTime(), from.getTaskUuid(),
+                until, pageRequest);
+        boolean moreTaskLists = taskLists.size() > limit;
+        boolean moreTasks = tasks.size() > limit;
+        taskLists = moreTaskLists ? taskLists.subList(0, limit) : taskLists;
+        tasks = moreTasks ? tasks.subList(0, limit) : tasks;
+
+        List<TaskListResponse> changedTaskLists = new ArrayList<>();
+        List<UUID> deletedTaskLists = new ArrayList<>();
+        for (TaskLists taskList : taskLists) {
+            if (Boolean.TRUE.equals(taskList.getIsDeleted())) {
+                deletedTaskLists.add(taskList.getUuid());
+            } else {
+                changedTaskLists.add(taskListsService.convertToTaskListResponse(taskList));
+            }
+        }
+        List<TaskResponse> changedTasks = new ArrayList<>();
+        List<UUID> deletedTasks = new ArrayList<>();
+        for (Tasks task : tasks) {
+            if (Boolean.TRUE.equals(task.getIsDeleted())) {
+                deletedTasks.add(task.getUuid());
+            } else {
+                changedTasks.add(tasksService.convertToTaskResponse(task));
+            }
+        }
+        meterRegistry.summary("taskmanager.sync.changes").record(taskLists.size() + tasks.size());
+
+        // a type with changes left continues after its last row, a type that is caught up continues at the settle bound
+        TaskLists lastTaskList = moreTaskLists ? taskLists.get(taskLists.size() - 1) : null;
+        Tasks lastTask = moreTasks ? tasks.get(tasks.size() - 1) : null;
+        SyncWatermark next = new SyncWatermark(
+                lastTaskList == null ? until : lastTaskList.getUpdatedAt(),
+                lastTaskList == null ? FIRST_UUID : lastTaskList.getUuid(),
+                lastTask == null ? until : lastTask.getUpdatedAt(),
+                lastTask == null ? FIRST_UUID : lastTask.getUuid());
+
+        return SyncResponse.builder()
+                .taskLists(changedTaskLists)
+                .tasks(changedTasks)
+                .deletedTaskLists(deletedTaskLists)
+                .deletedTasks(deletedTasks)
+                .watermark(next.encode())
+                .hasMore(moreTaskLists || moreTasks)
+                .build();
+    }
+}
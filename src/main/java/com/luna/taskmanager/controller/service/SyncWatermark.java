@@ -0,0 +1,98 @@
+package com.luna.taskmanager.controller.service;
+
+import com.luna.taskmanager.exception.AppErrors;
+import com.luna.taskmanager.exception.AppException;
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+import java.util.Date;
+import java.util.UUID;
+
+import static com.luna.taskmanager.exception.ErrorMessages.WATERMARK_INVALID_MESSAGE;
+
+/**
+ * Position of a client in the change history of its task lists and tasks, issued by the delta sync.
+ * Task lists and tasks are read separately in (updated_at, uuid) order, so the watermark holds one keyset position
+ * for each; a null position means nothing has been synced yet. Clients only see it as an opaque URL-safe Base64 string.
+ */
+@Getter
+@RequiredArgsConstructor
+public class SyncWatermark {
+
+    // Watermark of a client that has not synced yet, every row is returned.
+    public static final SyncWatermark INITIAL = new SyncWatermark(null, null, null, null);
+
+    private static final String SEPARATOR = "|";
+
+    // Update time of the last task list synced, or null.
+    private final Date taskListTime;
+
+    // UUID of the last task list synced, or null.
+    private final UUID taskListUuid;
+
+    // Update time of the last task synced, or null.
+    private final Date taskTime;
+
+    // UUID of the last task synced, or null.
+    private final UUID taskUuid;
+
+    /**
+     * Returns the oldest of the two positions, the point from which the client relies on deletions being reported.
+     *
+     * @return The oldest update time of the watermark, or null if nothing has been synced yet.
+     */
+    public Date getOldestTime() {
+        if (taskListTime == null || taskTime == null) {
+            return taskListTime == null ? taskTime : taskListTime;
+        }
+        return taskListTime.before(taskTime) ? taskListTime : taskTime;
+    }
+
+    /**
+     * Encodes this watermark into the opaque form returned to clients.
+     *
+     * @return The URL-safe Base64 encoded watermark.
+     */
+    public String encode() {
+        String raw = format(taskListTime) + SEPARATOR + format(taskListUuid) + SEPARATOR
+                + format(taskTime) + SEPARATOR + format(taskUuid);
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    /**
+     * Decodes a watermark received from a client.
+     *
+     * @param watermark The opaque watermark.
+     * @return The decoded watermark.
+     * @throws AppException If the watermark is malformed.
+     */
+    public static SyncWatermark decode(String watermark) throws AppException {
+        try {
+            String raw = new String(Base64.getUrlDecoder().decode(watermark), StandardCharsets.UTF_8);
+            String[] parts = raw.split("\\|", -1);
+            if (parts.length != 4 || parts[0].isEmpty() != parts[1].isEmpty() || parts[2].isEmpty() != parts[3].isEmpty()) {
+                throw new AppException(WATERMARK_INVALID_MESSAGE, AppErrors.INVALID_VALUE);
+            }
+            return new SyncWatermark(parseTime(parts[0]), parseUuid(parts[1]), parseTime(parts[2]), parseUuid(parts[3]));
+        } catch (IllegalArgumentException ex) {
+            throw new AppException(WATERMARK_INVALID_MESSAGE, AppErrors.INVALID_VALUE);
+        }
+    }
+
+    private static String format(Object value) {
+        if (value instanceof Date date) {
+            return Long.toString(date.getTime());
+        }
+        return value == null ? "" : value.toString();
+    }
+
+    private static Date parseTime(String value) {
+        return value.isEmpty() ? null : new Date(Long.parseLong(value));
+    }
+
+    private static UUID parseUuid(String value) {
+        return value.isEmpty() ? null : UUID.fromString(value);
+    }
+}
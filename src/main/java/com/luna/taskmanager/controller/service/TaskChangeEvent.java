@@ -0,0 +1,38 @@
+package com.luna.taskmanager.controller.service;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+import java.util.UUID;
+
+/**
+ * Application event published by the task services for every change to the tasks of a user.
+ * TaskEventBroadcaster forwards it to the event streams of the user once the change is committed.
+ */
+@Getter
+@AllArgsConstructor
+public class TaskChangeEvent {
+
+    /**
+     * Kind of change, sent as the event name in lower case.
+     * RESYNC tells clients to fetch the task list again instead of applying individual changes.
+     */
+    public enum Type {
+        CREATED,
+        UPDATED,
+        DELETED,
+        RESYNC
+    }
+
+    // Kind of change.
+    private final Type type;
+
+    // ID of the user owning the changed task.
+    private final Long userId;
+
+    // UUID of the task list of the changed task, null when unknown, the event then goes to every stream of the user.
+    private final UUID taskListUuid;
+
+    // Event payload, serialized as JSON.
+    private final Object data;
+}
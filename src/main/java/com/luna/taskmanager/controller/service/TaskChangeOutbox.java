@@ -0,0 +1,100 @@
+package com.luna.taskmanager.controller.service;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.luna.taskmanager.model.OutboxEvent;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.sql.Timestamp;
+import java.util.Calendar;
+import java.util.Collections;
+import java.util.Date;
+import java.util.List;
+import java.util.TimeZone;
+import java.util.UUID;
+
+/**
+ * Service class writing task and task list change events to the transactional outbox.
+ * Events must be appended inside the transaction making the change, so they are committed or rolled back with it;
+ * OutboxRelay delivers them afterwards. Rows are inserted with JDBC batches on the connection of that transaction,
+ * since Hibernate does not batch inserts of entities with database generated ids.
+ */
+@Service
+public class TaskChangeOutbox {
+
+    private static final String INSERT = "INSERT INTO task_change_outbox " +
+            "(aggregate_type, aggregate_uuid, user_id, event_type, payload, created_at) VALUES (?, ?, ?, ?, ?, ?)";
+
+    // created_at is written in UTC like the timestamps Hibernate writes (hibernate.jdbc.time_zone)
+    private static final TimeZone UTC = TimeZone.getTimeZone("UTC");
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    // Number of events sent per JDBC batch.
+    @Value("${spring.jpa.properties.hibernate.jdbc.batch_size:50}")
+    private int batchSize;
+
+    /**
+     * Builds an event, serializing the payload to JSON.
+     *
+     * @param aggregateType The type of the changed aggregate, OutboxEvent.TASK or OutboxEvent.TASK_LIST.
+     * @param eventType     The type of the change, OutboxEvent.CREATED, UPDATED or DELETED.
+     * @param aggregateUuid The UUID of the changed aggregate.
+     * @param userId        The ID of the user owning the aggregate.
+     * @param payload       The state of the aggregate after the change.
+     * @return The event, not yet appended.
+     */
+    public OutboxEvent event(String aggregateType, String eventType, UUID aggregateUuid, Long userId, Object payload) {
+        try {
+            return OutboxEvent.builder()
+                    .aggregateType(aggregateType)
+                    .eventType(eventType)
+                    .aggregateUuid(aggregateUuid.toString())
+                    .userId(userId)
+                    .payload(objectMapper.writeValueAsString(payload))
+                    .createdAt(new Date())
+                    .build();
+        } catch (JsonProcessingException ex) {
+            throw new IllegalArgumentException("Outbox payload of " + aggregateType + " " + aggregateUuid + " is not serializable.", ex);
+        }
+    }
+
+    /**
+     * Appends an event to the outbox within the current transaction.
+     *
+     * @param event The event to append.
+     */
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void append(OutboxEvent event) {
+        append(Collections.singletonList(event));
+    }
+
+    /**
+     * Appends events to the outbox within the current transaction, in list order.
+     *
+     * @param events The events to append.
+     */
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void append(List<OutboxEvent> events) {
+        if (events.isEmpty()) {
+            return;
+        }
+        jdbcTemplate.batchUpdate(INSERT, events, batchSize, (statement, event) -> {
+            statement.setString(1, event.getAggregateType());
+            statement.setString(2, event.getAggregateUuid());
+            statement.setLong(3, event.getUserId());
+            statement.setString(4, event.getEventType());
+            statement.setString(5, event.getPayload());
+            statement.setTimestamp(6, new Timestamp(event.getCreatedAt().getTime()), Calendar.getInstance(UTC));
+        });
+    }
+}
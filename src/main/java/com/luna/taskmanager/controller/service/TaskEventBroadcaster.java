@@ -0,0 +1,207 @@
+package com.luna.taskmanager.controller.service;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.MediaType;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.Collections;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * In-process event bus fanning committed task changes out to the server-sent event streams of their task list.
+ * Every stream has a bounded buffer drained by a small delivery pool, so a slow client never holds up the request
+ * that made the change nor the other clients. When a buffer overflows its pending events are dropped and the client
+ * receives a single resync event instead, telling it to fetch the task list again.
+ * Streams only see changes committed by this instance.
+ */
+@Service
+public class TaskEventBroadcaster {
+
+    private static final Logger log = LoggerFactory.getLogger(TaskEventBroadcaster.class);
+
+    // open streams by user ID
+    private final Map<Long, Set<Subscriber>> subscribers = new ConcurrentHashMap<>();
+
+    private final ThreadPoolTaskExecutor deliveryExecutor = new ThreadPoolTaskExecutor();
+
+    private final int bufferSize;
+
+    private final Duration timeout;
+
+    private final Counter overflows;
+
+    @Autowired
+    public TaskEventBroadcaster(MeterRegistry meterRegistry,
+                                @Value("${task-events.buffer-size:256}") int bufferSize,
+                                @Value("${task-events.timeout:PT30M}") Duration timeout,
+                                @Value("${task-events.delivery-threads:4}") int deliveryThreads) {
+        this.bufferSize = bufferSize;
+        this.timeout = timeout;
+        this.overflows = meterRegistry.counter("taskmanager.task.events.overflows");
+        Gauge.builder("taskmanager.task.events.subscribers", subscribers, streams -> streams.values().stream().mapToInt(Set::size).sum())
+                .description("Open task event streams")
+                .register(meterRegistry);
+        deliveryExecutor.setCorePoolSize(deliveryThreads);
+        deliveryExecutor.setThreadNamePrefix("task-events-");
+        deliveryExecutor.initialize();
+    }
+
+    /**
+     * Opens an event stream of the changes to the tasks of a task list.
+     * The caller is responsible for checking that the task list belongs to the user.
+     *
+     * @param userId       The ID of the user owning the task list.
+     * @param taskListUuid The UUID of the task list.
+     * @return The emitter of the stream, completed when it times out or the client goes away.
+     */
+    public SseEmitter subscribe(Long userId, UUID taskListUuid) {
+        SseEmitter emitter = new SseEmitter(timeout.toMillis());
+        Subscriber subscriber = new Subscriber(userId, taskListUuid, emitter);
+        subscribers.computeIfAbsent(userId, id -> ConcurrentHashMap.newKeySet()).add(subscriber);
+        emitter.onCompletion(() -> unsubscribe(subscriber));
+        emitter.onTimeout(() -> unsubscribe(subscriber));
+        emitter.onError(ex -> unsubscribe(subscriber));
+        return emitter;
+    }
+
+    /**
+     * Queues a task change for the streams it concerns, called once the transaction making the change commits,
+     * or right away when it was made outside a transaction.
+     *
+     * @param event The committed change.
+     */
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onTaskChange(TaskChangeEvent event) {
+        Set<Subscriber> streams = subscribers.getOrDefault(event.getUserId(), Collections.emptySet());
+        Message message = new Message(event.getType().name().toLowerCase(), event.getData());
+        for (Subscriber subscriber : streams) {
+            if (event.getTaskListUuid() == null || event.getTaskListUuid().equals(subscriber.taskListUuid)) {
+                subscriber.offer(message);
+            }
+        }
+    }
+
+    // comment lines keep idle streams open through proxies and reveal clients that went away
+    @Scheduled(fixedDelayString = "${task-events.heartbeat-interval:PT15S}")
+    public void sendHeartbeats() {
+        for (Set<Subscriber> streams : subscribers.values()) {
+            for (Subscriber subscriber : streams) {
+                subscriber.offer(Message.HEARTBEAT);
+            }
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        subscribers.values().forEach(streams -> streams.forEach(subscriber -> subscriber.emitter.complete()));
+        deliveryExecutor.shutdown();
+    }
+
+    private void unsubscribe(Subscriber subscriber) {
+        subscribers.computeIfPresent(subscriber.userId, (id, streams) -> {
+            streams.remove(subscriber);
+            return streams.isEmpty() ? null : streams;
+        });
+    }
+
+    // an event waiting in a buffer, a null name stands for a heartbeat comment
+    private static final class Message {
+
+        private static final Message HEARTBEAT = new Message(null, null);
+
+        private static final Message RESYNC = new Message("resync", Map.of());
+
+        private final String name;
+
+        private final Object data;
+
+        private Message(String name, Object data) {
+            this.name = name;
+            this.data = data;
+        }
+
+        private SseEmitter.SseEventBuilder toEvent() {
+            return name == null ? SseEmitter.event().comment("heartbeat") : SseEmitter.event().name(name).data(data, MediaType.APPLICATION_JSON);
+        }
+    }
+
+    // one open stream with its buffer, drained by at most one delivery thread at a time
+    private final class Subscriber {
+
+        private final Long userId;
+
+        private final UUID taskListUuid;
+
+        private final SseEmitter emitter;
+
+        private final BlockingQueue<Message> buffer = new ArrayBlockingQueue<>(bufferSize);
+
+        private final AtomicBoolean draining = new AtomicBoolean();
+
+        private volatile boolean overflowed;
+
+        private Subscriber(Long userId, UUID taskListUuid, SseEmitter emitter) {
+            this.userId = userId;
+            this.taskListUuid = taskListUuid;
+            this.emitter = emitter;
+        }
+
+        private void offer(Message message) {
+            if (!buffer.offer(message)) {
+                // the client is not keeping up, replace what it missed by a single resync
+                overflowed = true;
+                buffer.clear();
+                overflows.increment();
+            }
+            if (draining.compareAndSet(false, true)) {
+                deliveryExecutor.execute(this::drain);
+            }
+        }
+
+        private void drain() {
+            try {
+                Message message;
+                while (true) {
+                    if (overflowed) {
+                        overflowed = false;
+                        message = Message.RESYNC;
+                    } else if ((message = buffer.poll()) == null) {
+                        break;
+                    }
+                    emitter.send(message.toEvent());
+                }
+            } catch (IOException | IllegalStateException ex) {
+                // the client went away or the stream already completed
+                log.debug("Closing task event stream of user " + userId + ".", ex);
+                unsubscribe(this);
+                emitter.completeWithError(ex);
+                return;
+            } finally {
+                draining.set(false);
+            }
+            // pick up a message offered after the buffer was found empty but before the flag was released
+            if ((overflowed || !buffer.isEmpty()) && draining.compareAndSet(false, true)) {
+                deliveryExecutor.execute(this::drain);
+            }
+        }
+    }
+}
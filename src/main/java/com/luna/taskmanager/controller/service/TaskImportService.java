@@ -0,0 +1,378 @@
+package com.luna.taskmanager.controller.service;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.DeserializationFeature;
+import com.fasterxml.jackson.databind.MappingIterator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.dataformat.csv.CsvMapper;
+import com.fasterxml.jackson.dataformat.csv.CsvSchema;
+import com.luna.taskmanager.dto.AuthenticatedUser;
+import com.luna.taskmanager.exception.AppErrors;
+import com.luna.taskmanager.exception.AppException;
+import com.luna.taskmanager.model.OutboxEvent;
+import com.luna.taskmanager.model.TaskLists;
+import com.luna.taskmanager.model.TaskStatus;
+import com.luna.taskmanager.model.Tasks;
+import com.luna.taskmanager.model.User;
+import com.luna.taskmanager.model.request.CreateTaskRequest;
+import com.luna.taskmanager.model.request.ImportTaskRequest;
+import com.luna.taskmanager.model.responses.BulkItemResult;
+import com.luna.taskmanager.model.responses.ImportTaskResponse;
+import com.luna.taskmanager.repository.TaskListsRepository;
+import com.luna.taskmanager.validations.tasks.CreateTaskValidator;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import jakarta.persistence.PersistenceException;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.dao.DataAccessException;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.TransactionException;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.Reader;
+import java.nio.charset.StandardCharsets;
+import java.util.*;
+
+import static com.luna.taskmanager.exception.ErrorMessages.*;
+
+/**
+ * Service class importing tasks from NDJSON or CSV files, typically exported by another tool.
+ * The file is parsed record by record while it is uploaded and only the current chunk of task-import.commit-interval
+ * records is held in memory. Every chunk is stored in its own transaction, in JDBC batches with the persistence
+ * context flushed and cleared in between, so an import of any size runs with constant memory and short transactions.
+ * A record failing the CreateTaskValidator rules or naming an unknown task list is reported and does not stop the others.
+ * Chunks stored before a failure stay stored. The event streams of every task list a chunk added tasks to receive a
+ * resync event once the chunk is committed.
+ */
+@Service
+public class TaskImportService {
+
+    private static final Logger log = LoggerFactory.getLogger(TaskImportService.class);
+
+    // the header row of a CSV file names the columns
+    private static final CsvSchema CSV_SCHEMA = CsvSchema.emptySchema().withHeader();
+
+    private final CsvMapper csvMapper = CsvMapper.builder()
+            .disable(DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES)
+            .build();
+
+    @Autowired
+    private TaskListsRepository taskListsRepository;
+
+    @Autowired
+    private CreateTaskValidator createTaskValidator;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Autowired
+    private TaskChangeOutbox taskChangeOutbox;
+
+    @Autowired
+    private SingleFlight singleFlight;
+
+    @Autowired
+    private TasksService tasksService;
+
+    @Autowired
+    private ApplicationEventPublisher eventPublisher;
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    // Number of inserts sent per JDBC batch, the persistence context is flushed and cleared at the same interval.
+    @Value("${spring.jpa.properties.hibernate.jdbc.batch_size:50}")
+    private int batchSize;
+
+    // Number of records stored per transaction.
+    @Value("${task-import.commit-interval:1000}")
+    private int commitInterval;
+
+    // Number of rejected records listed in the response, the others are only counted.
+    @Value("${task-import.max-reported-errors:1000}")
+    private int maxReportedErrors;
+
+    // Longest NDJSON line read as a record, in characters, so a single huge line cannot exhaust the memory.
+    @Value("${task-import.max-record-length:65536}")
+    private int maxRecordLength;
+
+    /**
+     * Import tasks from newline-delimited JSON, one ImportTaskRequest per line. Blank lines are skipped.
+     * A line longer than task-import.max-record-length is rejected as a record and skipped without being buffered.
+     *
+     * @param inputStream The uploaded file, read line by line.
+     * @param user        The authenticated user importing the tasks.
+     * @return An ImportTaskResponse with the number of imported tasks and the rejected records.
+     * @throws IOException If the upload cannot be read.
+     */
+    public ImportTaskResponse importNdjson(InputStream inputStream, AuthenticatedUser user) throws IOException {
+        TaskImport taskImport = new TaskImport(user);
+        RecordReader reader = new RecordReader(new BufferedReader(new InputStreamReader(inputStream, StandardCharsets.UTF_8)),
+                maxRecordLength);
+        int index = 0;
+        String line;
+        while ((line = reader.readLine()) != null) {
+            if (reader.isTruncated()) {
+                taskImport.reject(index, AppErrors.INVALID_VALUE, IMPORT_RECORD_TOO_LONG_MESSAGE);
+                index++;
+                continue;
+            }
+            if (line.isBlank()) {
+                continue;
+            }
+            try {
+                taskImport.add(index, objectMapper.readValue(line, ImportTaskRequest.class));
+            } catch (JsonProcessingException ex) {
+                taskImport.reject(index, AppErrors.INVALID_VALUE, IMPORT_RECORD_INVALID_MESSAGE);
+            }
+            index++;
+        }
+        return taskImport.finish();
+    }
+
+    /**
+     * Import tasks from CSV with a header row naming the columns name, description, status and tasklist_name.
+     * A row that cannot be mapped is reported and skipped, a file that is no longer valid CSV ends the import.
+     *
+     * @param inputStream The uploaded file, read row by row.
+     * @param user        The authenticated user importing the tasks.
+     * @return An ImportTaskResponse with the number of imported tasks and the rejected records.
+     * @throws IOException If the upload cannot be read.
+     */
+    public ImportTaskResponse importCsv(InputStream inputStream, AuthenticatedUser user) throws IOException {
+        TaskImport taskImport = new TaskImport(user);
+        int index = 0;
+        try (MappingIterator<ImportTaskRequest> records = csvMapper.readerFor(ImportTaskRequest.class)
+                .with(CSV_SCHEMA)
+                .readValues(new InputStreamReader(inputStream, StandardCharsets.UTF_8))) {
+            while (records.hasNextValue()) {
+                try {
+                    taskImport.add(index, records.nextValue());
+                } catch (JsonProcessingException ex) {
+                    taskImport.reject(index, AppErrors.INVALID_VALUE, IMPORT_RECORD_INVALID_MESSAGE);
+                }
+                index++;
+            }
+        } catch (JsonProcessingException ex) {
+            taskImport.reject(index, AppErrors.INVALID_VALUE, IMPORT_RECORD_INVALID_MESSAGE);
+        }
+        return taskImport.finish();
+    }
+
+    /**
+     * Reads the lines of an NDJSON file keeping at most maxLength characters of each, the rest of a longer line
+     * is read past without being held. Carriage returns are dropped, they can only be whitespace between JSON tokens.
+     */
+    private static final class RecordReader {
+
+        private final Reader reader;
+
+        private final int maxLength;
+
+        private final StringBuilder line = new StringBuilder();
+
+        private boolean truncated;
+
+        private RecordReader(Reader reader, int maxLength) {
+            this.reader = reader;
+            this.maxLength = maxLength;
+        }
+
+        // the next line without its terminator, or null at the end of the file
+        private String readLine() throws IOException {
+            line.setLength(0);
+            truncated = false;
+            int c = reader.read();
+            if (c == -1) {
+                return null;
+            }
+            while (c != -1 && c != '\n') {
+                if (c != '\r') {
+                    if (line.length() < maxLength) {
+                        line.append((char) c);
+                    } else {
+                        truncated = true;
+                    }
+                }
+                c = reader.read();
+            }
+            return line.toString();
+        }
+
+        // whether the line last read was longer than maxLength and has been cut
+        private boolean isTruncated() {
+            return truncated;
+        }
+    }
+
+    /**
+     * State of one import: the task list names resolved so far, the chunk waiting to be stored and the outcome counts.
+     */
+    private class TaskImport {
+
+        private final Long userId;
+
+        // task list UUID by name, null for names the user has no live task list for, so every name is looked up once
+        private final Map<String, UUID> taskListUuids = new HashMap<>();
+
+        // the tasks of the current chunk with the index of their record and the UUID of their task list
+        private final List<Tasks> tasks = new ArrayList<>();
+        private final List<Integer> indexes = new ArrayList<>();
+        private final List<UUID> taskListUuidsOfTasks = new ArrayList<>();
+
+        private final List<BulkItemResult> errors = new ArrayList<>();
+
+        private long imported;
+
+        private long failed;
+
+        private TaskImport(AuthenticatedUser user) {
+            this.userId = user.getId();
+        }
+
+        private void add(int index, ImportTaskRequest record) {
+            UUID taskListUuid = resolveTaskList(record.getTaskListName());
+            if (taskListUuid == null) {
+                reject(index, AppErrors.RESOURCE_NOT_FOUND, TASK_LIST_NAME_NOT_FOUND_MESSAGE);
+                return;
+            }
+            CreateTaskRequest request = new CreateTaskRequest();
+            request.setName(record.getName());
+            request.setDescription(record.getDescription());
+            request.setTaskListUuid(taskListUuid.toString());
+            TaskStatus status;
+            try {
+                createTaskValidator.validate(request);
+                status = parseStatus(record.getStatus());
+            } catch (AppException ex) {
+                reject(index, ex.getErrorCode(), ex.getMessage());
+                return;
+            }
+
+            Date now = new Date();
+            Tasks task = new Tasks();
+            task.setUuid(UUID.randomUUID());
+            task.setName(request.getName());
+            task.setDescription(request.getDescription());
+            task.setStatus(status);
+            task.setCreatedAt(now);
+            task.setUpdatedAt(now);
+            tasks.add(task);
+            indexes.add(index);
+            taskListUuidsOfTasks.add(taskListUuid);
+            if (tasks.size() >= commitInterval) {
+                store();
+            }
+        }
+
+        private void reject(int index, AppErrors errorCode, String message) {
+            failed++;
+            meterRegistry.counter("taskmanager.import.records", "outcome", "rejected").increment();
+            if (errors.size() < maxReportedErrors) {
+                errors.add(BulkItemResult.builder()
+                        .index(index)
+                        .success(false)
+                        .code(errorCode.name())
+                        .message(message)
+                        .build());
+            }
+        }
+
+        private ImportTaskResponse finish() {
+            store();
+            log.info("Task import finished with " + imported + " tasks imported and " + failed + " records rejected.");
+            return ImportTaskResponse.builder()
+                    .imported(imported)
+                    .failed(failed)
+                    .errors(errors)
+                    .errorsTruncated(failed > errors.size())
+                    .build();
+        }
+
+        private UUID resolveTaskList(String name) {
+            if (Objects.isNull(name) || name.isBlank()) {
+                return null;
+            }
+            if (!taskListUuids.containsKey(name)) {
+                List<UUID> uuids = taskListsRepository.findUuidsByNameAndUserId(name, userId);
+                taskListUuids.put(name, uuids.isEmpty() ? null : uuids.get(0));
+            }
+            return taskListUuids.get(name);
+        }
+
+        private TaskStatus parseStatus(String status) throws AppException {
+            if (Objects.isNull(status) || status.isBlank()) {
+                return TaskStatus.PENDING;
+            }
+            try {
+                return TaskStatus.valueOf(status);
+            } catch (IllegalArgumentException ex) {
+                throw new AppException(INVALID_STATUS_VALUE_MESSAGE, AppErrors.INVALID_VALUE);
+            }
+        }
+
+        // stores the current chunk with its outbox events in one transaction, its records are reported as failed if that transaction fails
+        private void store() {
+            if (tasks.isEmpty()) {
+                return;
+            }
+            try {
+                transactionTemplate.executeWithoutResult(transactionStatus -> {
+                    List<OutboxEvent> outboxEvents = new ArrayList<>(tasks.size());
+                    for (int i = 0; i < tasks.size(); i++) {
+                        Tasks task = tasks.get(i);
+                        // references only, neither the user nor the task lists are read
+                        task.setUser(entityManager.getReference(User.class, userId));
+                        task.setTaskList(entityManager.getReference(TaskLists.class, taskListUuidsOfTasks.get(i)));
+                        entityManager.persist(task);
+                        // the same payload as a task created through the single task endpoint
+                        outboxEvents.add(taskChangeOutbox.event(OutboxEvent.TASK, OutboxEvent.CREATED, task.getUuid(), userId,
+                                tasksService.convertToTaskResponse(task)));
+                        if ((i + 1) % batchSize == 0) {
+                            // send the batch and keep the persistence context from growing with the chunk
+                            entityManager.flush();
+                            entityManager.clear();
+                        }
+                    }
+                    entityManager.flush();
+                    entityManager.clear();
+                    taskChangeOutbox.append(outboxEvents);
+                    // one resync per task list of the chunk rather than an event per imported task, sent on commit
+                    for (UUID taskListUuid : new LinkedHashSet<>(taskListUuidsOfTasks)) {
+                        eventPublisher.publishEvent(new TaskChangeEvent(TaskChangeEvent.Type.RESYNC, userId, taskListUuid,
+                                Collections.singletonMap("tasklist_uuid", taskListUuid)));
+                    }
+                });
+                // the chunk is committed, task listings read from now on must include it
+                singleFlight.forget(userId);
+                imported += tasks.size();
+                meterRegistry.counter("taskmanager.import.records", "outcome", "imported").increment(tasks.size());
+                log.info("Task import stored " + imported + " tasks so far.");
+            } catch (PersistenceException | DataAccessException | TransactionException ex) {
+                log.error("Task import could not store a chunk of " + tasks.size() + " tasks.", ex);
+                for (Integer index : indexes) {
+                    reject(index, AppErrors.INTERNAL_SERVER_ERROR, IMPORT_RECORD_NOT_STORED_MESSAGE);
+                }
+            } finally {
+                tasks.clear();
+                indexes.clear();
+                taskListUuidsOfTasks.clear();
+            }
+        }
+    }
+}
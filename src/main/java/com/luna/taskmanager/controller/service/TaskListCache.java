@@ -0,0 +1,118 @@
+package com.luna.taskmanager.controller.service;
+
+import com.luna.taskmanager.model.responses.TaskListResponse;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.List;
+import java.util.Objects;
+import java.util.UUID;
+import java.util.concurrent.Callable;
+
+/**
+ * Cache of task list responses, per user for the full listing and per user and UUID for a single task list.
+ * It is backed by the application's CacheManager, so the store (in process or Redis) is chosen by configuration.
+ * Hit and miss counts are published by Spring Boot for the caches "taskLists" and "taskListsByUuid".
+ * Every write to a task list must evict the entries of its owner through evict or evictAll,
+ * which also keeps later reads of that user from joining a read started before the write was committed.
+ * Inside a transaction the entries are dropped after commit, so a concurrent miss cannot cache the state before the write.
+ */
+@Service
+public class TaskListCache {
+
+    public static final String TASK_LISTS = "taskLists";
+
+    public static final String TASK_LISTS_BY_UUID = "taskListsByUuid";
+
+    private final Cache taskLists;
+
+    private final Cache taskListsByUuid;
+
+    private final SingleFlight singleFlight;
+
+    @Autowired
+    public TaskListCache(CacheManager cacheManager, SingleFlight singleFlight) {
+        this.taskLists = Objects.requireNonNull(cacheManager.getCache(TASK_LISTS));
+        this.taskListsByUuid = Objects.requireNonNull(cacheManager.getCache(TASK_LISTS_BY_UUID));
+        this.singleFlight = singleFlight;
+    }
+
+    /**
+     * Returns all task lists of a user, calling the loader on a cache miss.
+     *
+     * @param userId The id of the user owning the task lists.
+     * @param loader Loads the task lists from the database.
+     * @return The task lists of the user.
+     */
+    public List<TaskListResponse> getAllTaskLists(Long userId, Callable<List<TaskListResponse>> loader) {
+        return taskLists.get(userId, loader);
+    }
+
+    /**
+     * Returns a cached task list.
+     *
+     * @param userId The id of the user owning the task list.
+     * @param uuid   The UUID of the task list.
+     * @return The cached task list, or null if it is not cached.
+     */
+    public TaskListResponse getTaskList(Long userId, UUID uuid) {
+        return taskListsByUuid.get(key(userId, uuid), TaskListResponse.class);
+    }
+
+    /**
+     * Caches a task list read from the database.
+     *
+     * @param userId   The id of the user owning the task list.
+     * @param taskList The task list to cache.
+     */
+    public void putTaskList(Long userId, TaskListResponse taskList) {
+        taskListsByUuid.put(key(userId, taskList.getUuid()), taskList);
+    }
+
+    /**
+     * Drops a task list and the full listing of its owner, to be called when the task list changes.
+     *
+     * @param userId The id of the user owning the task list.
+     * @param uuid   The UUID of the task list.
+     */
+    public void evict(Long userId, UUID uuid) {
+        afterCommit(() -> {
+            taskListsByUuid.evict(key(userId, uuid));
+            taskLists.evict(userId);
+        });
+        singleFlight.forget(userId);
+    }
+
+    /**
+     * Drops the full listing of a user, to be called when a task list is added.
+     *
+     * @param userId The id of the user owning the task lists.
+     */
+    public void evictAll(Long userId) {
+        afterCommit(() -> taskLists.evict(userId));
+        singleFlight.forget(userId);
+    }
+
+    // a read missing the cache before the commit would otherwise put the old state back for the whole time to live
+    private void afterCommit(Runnable eviction) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    eviction.run();
+                }
+            });
+        } else {
+            eviction.run();
+        }
+    }
+
+    // the user id is part of the key so a task list is never served to another user
+    private String key(Long userId, UUID uuid) {
+        return userId + ":" + uuid;
+    }
+}
@@ -1,23 +1,32 @@
 package com.luna.taskmanager.controller.service;
 
+import com.luna.taskmanager.dto.AuthenticatedUser;
 import com.luna.taskmanager.exception.AppException;
+import com.luna.taskmanager.model.OutboxEvent;
 import com.luna.taskmanager.model.TaskLists;
-import com.luna.taskmanager.model.User;
 import com.luna.taskmanager.model.request.CreateTaskListRequest;
 import com.luna.taskmanager.model.request.UpdateTaskListRequest;
 import com.luna.taskmanager.model.responses.TaskListResponse;
 import com.luna.taskmanager.repository.TaskListsRepository;
+import com.luna.taskmanager.repository.TasksRepository;
 import com.luna.taskmanager.repository.UserRepository;
 import com.luna.taskmanager.validations.tasklists.CreateTaskListsValidator;
 import com.luna.taskmanager.validations.tasklists.GetTaskListsValidator;
 import com.luna.taskmanager.validations.tasklists.UpdateTaskListsValidator;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import io.micrometer.core.instrument.MeterRegistry;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
 
+import java.util.Collections;
 import java.util.Date;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 import java.util.UUID;
 import java.util.stream.Collectors;
@@ -28,6 +37,7 @@ import static com.luna.taskmanager.exception.ErrorMessages.*;
 /**
  * Service class handling business logic for task list operations.
  * Provides methods for creating, updating, retrieving, and deleting task lists.
+ * Reads are served from the TaskListCache, every write evicts the entries it makes stale.
  */
 @Service
 public class TaskListsService {
@@ -37,6 +47,9 @@ public class TaskListsService {
     @Autowired
     private TaskListsRepository taskListsRepository;
 
+    @Autowired
+    private TasksRepository tasksRepository;
+
     @Autowired
     private UserRepository userRepository;
 
@@ -49,20 +62,46 @@ public class TaskListsService {
     @Autowired
     private GetTaskListsValidator getTaskListsValidator;
 
+    @Autowired
+    private TaskListCache taskListCache;
+
+    @Autowired
+    private OptimisticLockRetry optimisticLockRetry;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Autowired
+    private TaskChangeOutbox taskChangeOutbox;
+
+    @Autowired
+    private SingleFlight singleFlight;
+
+    @Autowired
+    private ApplicationEventPublisher eventPublisher;
+
+    // read-only transaction around the database reads of cache misses, so cache hits never take a connection
+    private TransactionTemplate readOnlyTransaction;
+
+    // a copy of the shared template, keeping its transaction manager and settings
+    @Autowired
+    void setTransactionTemplate(TransactionTemplate transactionTemplate) {
+        readOnlyTransaction = new TransactionTemplate(transactionTemplate.getTransactionManager(), transactionTemplate);
+        readOnlyTransaction.setReadOnly(true);
+    }
+
     /**
-     * Creates a new task list based on the request and username.
-     * Validates the request, fetches the user, and saves the new task list to the database.
+     * Creates a new task list based on the request and the authenticated user.
+     * Validates the request and saves the new task list to the database together with its outbox event.
      *
      * @param request The request containing the task list details.
-     * @param username The username of the user creating the task list.
+     * @param user The authenticated user creating the task list.
      * @return The response containing the details of the created task list.
-     * @throws AppException If validation fails or user is not found.
+     * @throws AppException If validation fails or a task list with the same name exists.
      */
-
-    public TaskListResponse createTaskList(CreateTaskListRequest request, String username) throws AppException {
+    @Transactional
+    public TaskListResponse createTaskList(CreateTaskListRequest request, AuthenticatedUser user) throws AppException {
         createTaskListsValidator.validate(request);
-        User user = userRepository.findUsername(username)
-                .orElseThrow(() -> new AppException("User not found", USER_NOT_FOUND));
 
         checkExistence(request.getName(), user.getId());
 
@@ -72,103 +111,145 @@ public class TaskListsService {
         taskList.setDescription(request.getDescription());
         taskList.setCreatedAt(new Date());
         taskList.setUpdatedAt(new Date());
-        taskList.setUser(user);
+        taskList.setUser(userRepository.getReferenceById(user.getId()));
 
         TaskLists savedTaskList = taskListsRepository.save(taskList);
-        return convertToTaskListResponse(savedTaskList);
+        TaskListResponse response = convertToTaskListResponse(savedTaskList);
+        taskChangeOutbox.append(taskChangeOutbox.event(OutboxEvent.TASK_LIST, OutboxEvent.CREATED, savedTaskList.getUuid(),
+                user.getId(), response));
+        taskListCache.evictAll(user.getId());
+        return response;
     }
 
     /**
-     * Updates an existing task list based on the request and username.
-     * Validates the request, fetches the user, fetches the existing task list, and updates it in the database.
+     * Updates an existing task list based on the request and the authenticated user.
+     * Validates the request, fetches the existing task list, and updates it in the database.
+     * A concurrent update detected by the version check makes OptimisticLockRetry apply the update again on fresh state.
      *
      * @param request The request containing the updated task list details.
-     * @param username The username of the user updating the task list.
+     * @param user The authenticated user updating the task list.
+     * @param ifMatch The If-Match header of the request, or null to update unconditionally.
      * @return The response containing the details of the updated task list.
-     * @throws AppException If validation fails, user or task list is not found.
+     * @throws AppException If validation fails, the task list is not found, it no longer matches ifMatch
+     *                      or the update kept conflicting with concurrent ones.
      */
 
-    public TaskListResponse updateTaskList(UpdateTaskListRequest request, String username) throws AppException {
+    public TaskListResponse updateTaskList(UpdateTaskListRequest request, AuthenticatedUser user, String ifMatch) throws AppException {
         updateTaskListsValidator.validate(request);
-        User user = userRepository.findUsername(username)
-                .orElseThrow(() -> new AppException("User not found", USER_NOT_FOUND));
 
+        TaskListResponse response = optimisticLockRetry.execute("taskList", () -> applyUpdate(request, user, ifMatch));
+        taskListCache.evict(user.getId(), response.getUuid());
+        return response;
+    }
 
+    // one attempt of updateTaskList, the task list is flushed so the returned version is the one written
+    // and the outbox event is appended in the transaction of the attempt, so a retried attempt leaves no event behind
+    private TaskListResponse applyUpdate(UpdateTaskListRequest request, AuthenticatedUser user, String ifMatch) throws AppException {
         TaskLists taskList = taskListsRepository.findByIdAndUserId(UUID.fromString(request.getUuid()), user.getId())
                 .orElseThrow(() -> new AppException("Task list not found", RESOURCE_NOT_FOUND));
 
+        if (ifMatch != null && !ETags.matches(ifMatch, ETags.of(taskList.getVersion()))) {
+            throw new AppException(ETAG_MISMATCH_MESSAGE, PRECONDITION_FAILED);
+        }
+
         taskList.setDescription(request.getDescription());
         taskList.setUpdatedAt(new Date());
 
-        TaskLists updatedTaskList = taskListsRepository.save(taskList);
-        return convertToTaskListResponse(updatedTaskList);
+        TaskLists updatedTaskList = taskListsRepository.saveAndFlush(taskList);
+        TaskListResponse response = convertToTaskListResponse(updatedTaskList);
+        taskChangeOutbox.append(taskChangeOutbox.event(OutboxEvent.TASK_LIST, OutboxEvent.UPDATED, updatedTaskList.getUuid(),
+                user.getId(), response));
+        return response;
     }
 
     /**
-     * Retrieves a specific task list based on its UUID and the username.
-     * Validates the UUID, fetches the user, and retrieves the task list from the database.
+     * Retrieves a specific task list based on its UUID and the authenticated user.
+     * Validates the UUID and retrieves the task list from the cache, or from the database on a miss.
+     * Only a miss opens a read-only transaction, which a read replica can serve.
      *
      * @param taskListUuid The UUID of the task list to retrieve.
-     * @param username The username of the user requesting the task list.
+     * @param user The authenticated user requesting the task list.
      * @return The response containing the requested task list details.
-     * @throws AppException If validation fails, user or task list is not found.
+     * @throws AppException If validation fails or the task list is not found.
      */
 
-    public TaskListResponse getTaskList(String taskListUuid, String username) throws AppException {
+    public TaskListResponse getTaskList(String taskListUuid, AuthenticatedUser user) throws AppException {
         getTaskListsValidator.validate(taskListUuid);
-        User user = userRepository.findUsername(username)
-                .orElseThrow(() -> new AppException("User not found", USER_NOT_FOUND));
 
-        TaskLists taskList = taskListsRepository.findByIdAndUserId(UUID.fromString(taskListUuid), user.getId())
+        UUID uuid = UUID.fromString(taskListUuid);
+        TaskListResponse cached = taskListCache.getTaskList(user.getId(), uuid);
+        if (cached != null) {
+            return cached;
+        }
+
+        TaskLists taskList = readOnlyTransaction.execute(status -> taskListsRepository.findByIdAndUserId(uuid, user.getId()))
                 .orElseThrow(() -> new AppException("Task list not found", RESOURCE_NOT_FOUND));
 
-        return convertToTaskListResponse(taskList);
+        TaskListResponse response = convertToTaskListResponse(taskList);
+        taskListCache.putTaskList(user.getId(), response);
+        return response;
     }
     /**
-     * Retrieves all task lists associated with a given username.
-     * Fetches the user and retrieves all their task lists from the database.
+     * Retrieves all task lists associated with the authenticated user.
+     * All of them are read from the database in a single query, which is skipped while the listing is cached.
+     * Only a miss opens a read-only transaction, which a read replica can serve.
+     * Concurrent misses of the same user are collapsed by SingleFlight into one query, whatever the cache store.
      *
-     * @param username The username of the user whose task lists are to be retrieved.
+     * @param user The authenticated user whose task lists are to be retrieved.
      * @return A list of responses containing the details of all task lists associated with the user.
-     * @throws AppException If the user is not found.
      */
-    public List<TaskListResponse> getAllTaskLists(String username) throws AppException {
-        User user = userRepository.findUsername(username)
-                .orElseThrow(() -> new AppException("User not found", USER_NOT_FOUND));
-
-        List<TaskLists> taskLists = taskListsRepository.findAllByUserId(user.getId());
-        return taskLists.stream()
-                .map(this::convertToTaskListResponse)
-                .collect(Collectors.toList());
+    public List<TaskListResponse> getAllTaskLists(AuthenticatedUser user) {
+
+        return taskListCache.getAllTaskLists(user.getId(), () -> singleFlight.execute("getAllTaskLists", user.getId(), null,
+                () -> readOnlyTransaction.execute(status -> taskListsRepository.findAllByUserId(user.getId()).stream()
+                        .map(this::convertToTaskListResponse)
+                        .collect(Collectors.toList()))));
     }
 
     /**
-     * Deletes a specific task list based on its UUID and the username.
-     * Validates the UUID, fetches the user, and marks the task list as deleted in the database.
+     * Deletes a specific task list based on its UUID and the authenticated user.
+     * Validates the UUID and marks the task list as deleted in the database with a single statement.
+     * Its live tasks are soft deleted in the same transaction by one set-based statement,
+     * their number is recorded in the taskmanager.tasklist.deleted.tasks summary and in the payload of the outbox event.
+     * The event streams of the task list receive a single resync event instead of one deletion per task.
      *
      * @param taskListUuid The UUID of the task list to delete.
-     * @param username The username of the user requesting the deletion.
-     * @throws AppException If validation fails, user or task list is not found.
+     * @param user The authenticated user requesting the deletion.
+     * @return The number of tasks deleted with the task list.
+     * @throws AppException If validation fails or the task list is not found.
      */
-
-    public void deleteTaskList(String taskListUuid, String username) throws AppException {
+    @Transactional
+    public int deleteTaskList(String taskListUuid, AuthenticatedUser user) throws AppException {
         getTaskListsValidator.validate(taskListUuid);
-        User user = userRepository.findUsername(username)
-                .orElseThrow(() -> new AppException("User not found", USER_NOT_FOUND));
 
-        TaskLists taskList = taskListsRepository.findByIdAndUserId(UUID.fromString(taskListUuid), user.getId())
-                .orElseThrow(() -> new AppException("Task list not found", RESOURCE_NOT_FOUND));
-
-        taskList.setIsDeleted(true);
-        taskList.setUpdatedAt(new Date());
-        taskListsRepository.save(taskList);
+        UUID uuid = UUID.fromString(taskListUuid);
+        Date now = new Date();
+        // a single UPDATE, the affected row count tells whether the task list was found
+        if (taskListsRepository.softDeleteByIdAndUserId(uuid, user.getId(), now) == 0) {
+            throw new AppException("Task list not found", RESOURCE_NOT_FOUND);
+        }
+        int deletedTasks = tasksRepository.softDeleteByTaskListUuidAndUserId(uuid, user.getId(), now);
+        meterRegistry.summary("taskmanager.tasklist.deleted.tasks").record(deletedTasks);
+        log.info("Task list deleted together with " + deletedTasks + " tasks.");
+
+        Map<String, Object> deleted = new LinkedHashMap<>();
+        deleted.put("uuid", uuid);
+        deleted.put("deleted_tasks", deletedTasks);
+        taskChangeOutbox.append(taskChangeOutbox.event(OutboxEvent.TASK_LIST, OutboxEvent.DELETED, uuid, user.getId(), deleted));
+        eventPublisher.publishEvent(new TaskChangeEvent(TaskChangeEvent.Type.RESYNC, user.getId(), uuid,
+                Collections.singletonMap("tasklist_uuid", uuid)));
+
+        taskListCache.evict(user.getId(), uuid);
+        return deletedTasks;
     }
 
-    private TaskListResponse convertToTaskListResponse(TaskLists taskList) {
+    // package-private so the JMH benchmarks can measure the conversion in isolation
+    TaskListResponse convertToTaskListResponse(TaskLists taskList) {
         return TaskListResponse.builder()
                 .uuid(UUID.fromString(taskList.getUuid().toString()))
                 .name(taskList.getName())
                 .description(taskList.getDescription())
+                .version(taskList.getVersion())
                 .build();
     }
 
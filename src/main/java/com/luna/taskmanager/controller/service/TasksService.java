@@ -1,29 +1,53 @@
 package com.luna.taskmanager.controller.service;
 
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.luna.taskmanager.config.ReplicaRoutingDataSource;
+import com.luna.taskmanager.dto.AuthenticatedUser;
 import com.luna.taskmanager.exception.AppException;
+import com.luna.taskmanager.model.OutboxEvent;
+import com.luna.taskmanager.model.TaskCursor;
 import com.luna.taskmanager.model.TaskLists;
 import com.luna.taskmanager.model.TaskStatus;
 import com.luna.taskmanager.model.Tasks;
-import com.luna.taskmanager.model.User;
+import com.luna.taskmanager.model.projection.TaskSummary;
+import com.luna.taskmanager.model.projection.TasksVersion;
 import com.luna.taskmanager.model.request.CreateTaskRequest;
+import com.luna.taskmanager.model.request.GetTasksPageRequest;
 import com.luna.taskmanager.model.request.UpdateTaskRequest;
+import com.luna.taskmanager.model.responses.TaskPageResponse;
 import com.luna.taskmanager.model.responses.TaskResponse;
 import com.luna.taskmanager.repository.TaskListsRepository;
 import com.luna.taskmanager.repository.TasksRepository;
 import com.luna.taskmanager.repository.UserRepository;
 import com.luna.taskmanager.validations.tasks.CreateTaskValidator;
 import com.luna.taskmanager.validations.tasks.GetTaskValidator;
+import com.luna.taskmanager.validations.tasks.GetTasksPageValidator;
 import com.luna.taskmanager.validations.tasks.UpdateTaskValidator;
+import io.micrometer.core.instrument.MeterRegistry;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
 
+import java.io.IOException;
+import java.io.OutputStream;
 import java.util.*;
 import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
+import static com.luna.taskmanager.constants.APIConstants.SORT_BY_CREATED_AT;
+import static com.luna.taskmanager.exception.AppErrors.PRECONDITION_FAILED;
 import static com.luna.taskmanager.exception.AppErrors.RESOURCE_NOT_FOUND;
-import static com.luna.taskmanager.exception.AppErrors.USER_NOT_FOUND;
+import static com.luna.taskmanager.exception.ErrorMessages.ETAG_MISMATCH_MESSAGE;
 
 /**
  * Service class handling business logic for task operations.
@@ -52,20 +76,54 @@ public class TasksService {
     @Autowired
     private UpdateTaskValidator updateTaskValidator;
 
+    @Autowired
+    private GetTasksPageValidator getTasksPageValidator;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Autowired
+    private ApplicationEventPublisher eventPublisher;
+
+    @Autowired
+    private TaskEventBroadcaster taskEventBroadcaster;
+
+    @Autowired
+    private TaskChangeOutbox taskChangeOutbox;
+
+    @Autowired
+    private SingleFlight singleFlight;
+
+    @Autowired
+    private SerializedTasksCache serializedTasksCache;
+
+    // read-only transaction of the reads collapsed by SingleFlight, opened by the caller running the read only
+    private TransactionTemplate readOnlyTransaction;
+
+    // a copy of the shared template, keeping its transaction manager and settings
+    @Autowired
+    void setTransactionTemplate(TransactionTemplate transactionTemplate) {
+        readOnlyTransaction = new TransactionTemplate(transactionTemplate.getTransactionManager(), transactionTemplate);
+        readOnlyTransaction.setReadOnly(true);
+    }
+
+
     /**
      * Create a new task for a given task list.
+     * The task and its outbox event are committed in the same transaction.
      *
      * @param request  The request containing task details.
-     * @param username The username of the user creating the task.
+     * @param user     The authenticated user creating the task.
      * @return A TaskResponse containing the created task details.
-     * @throws AppException If validation fails or user/task list not found.
+     * @throws AppException If validation fails or task list not found.
      */
-    public TaskResponse createTask(CreateTaskRequest request, String username) throws AppException {
+    @Transactional
+    public TaskResponse createTask(CreateTaskRequest request, AuthenticatedUser user) throws AppException {
         createTaskValidator.validate(request);
 
-        User user = userRepository.findUsername(username)
-                .orElseThrow(() -> new AppException("User not found",USER_NOT_FOUND));
-
         TaskLists taskList = taskListsRepository.findByIdAndUserId(UUID.fromString(request.getTaskListUuid()), user.getId())
                 .orElseThrow(() -> new AppException("Task list not found",RESOURCE_NOT_FOUND));
 
@@ -75,117 +133,322 @@ public class TasksService {
         task.setDescription(request.getDescription());
         task.setStatus(TaskStatus.PENDING);
         task.setTaskList(taskList);
-        task.setUser(user);
+        task.setUser(userRepository.getReferenceById(user.getId()));
         task.setCreatedAt(new Date());
         task.setUpdatedAt(new Date());
 
         Tasks savedTask = tasksRepository.save(task);
-        return convertToTaskResponse(savedTask);
+        TaskResponse response = convertToTaskResponse(savedTask);
+        taskChangeOutbox.append(taskChangeOutbox.event(OutboxEvent.TASK, OutboxEvent.CREATED, savedTask.getUuid(), user.getId(), response));
+        eventPublisher.publishEvent(new TaskChangeEvent(TaskChangeEvent.Type.CREATED, user.getId(), response.getTaskListUuid(), response));
+        return response;
     }
 
     /**
      * Get details of a specific task.
      *
      * @param taskUuid The UUID of the task to retrieve.
-     * @param username The username of the user retrieving the task.
+     * @param user     The authenticated user retrieving the task.
      * @return A TaskResponse containing the task details.
      * @throws AppException If validation fails or the task is not found.
      */
-    public TaskResponse getTask(String taskUuid, String username) throws AppException {
+    @Transactional(readOnly = true)
+    public TaskResponse getTask(String taskUuid, AuthenticatedUser user) throws AppException {
         getTaskValidator.validate(taskUuid);
 
-        User user = userRepository.findUsername(username)
-                .orElseThrow(() -> new AppException("User not found",USER_NOT_FOUND));
-
-        Tasks task = tasksRepository.findByIdAndUserId(UUID.fromString(taskUuid), user.getId())
+        TaskSummary task = tasksRepository.findSummaryByIdAndUserId(UUID.fromString(taskUuid), user.getId())
                 .orElseThrow(() -> new AppException("Task not found",RESOURCE_NOT_FOUND));
 
         return convertToTaskResponse(task);
     }
 
     /**
-     * Delete a specific task.
+     * Get the entity tag of a specific task without loading it, to answer If-None-Match requests.
      *
-     * @param taskUuid The UUID of the task to delete.
-     * @param username The username of the user deleting the task.
+     * @param taskUuid The UUID of the task.
+     * @param user     The authenticated user retrieving the task.
+     * @return The quoted entity tag of the task.
      * @throws AppException If validation fails or the task is not found.
      */
-    public void deleteTask(String taskUuid, String username) throws AppException {
+    @Transactional(readOnly = true)
+    public String getTaskETag(String taskUuid, AuthenticatedUser user) throws AppException {
         getTaskValidator.validate(taskUuid);
 
-        User user = userRepository.findUsername(username)
-                .orElseThrow(() -> new AppException("User not found",USER_NOT_FOUND));
-
-        Tasks task = tasksRepository.findByIdAndUserId(UUID.fromString(taskUuid), user.getId())
+        Long version = tasksRepository.findVersionByIdAndUserId(UUID.fromString(taskUuid), user.getId())
                 .orElseThrow(() -> new AppException("Task not found",RESOURCE_NOT_FOUND));
 
-        task.setIsDeleted(true);
-        task.setUpdatedAt(new Date());
-        tasksRepository.save(task);
+        return ETags.of(version);
+    }
+
+    /**
+     * Delete a specific task.
+     * The soft delete and its outbox event are committed in the same transaction.
+     *
+     * @param taskUuid The UUID of the task to delete.
+     * @param user     The authenticated user deleting the task.
+     * @throws AppException If validation fails or the task is not found.
+     */
+    @Transactional
+    public void deleteTask(String taskUuid, AuthenticatedUser user) throws AppException {
+        getTaskValidator.validate(taskUuid);
+
+        // a single UPDATE, the affected row count tells whether the task was found
+        if (tasksRepository.softDeleteByIdAndUserId(UUID.fromString(taskUuid), user.getId(), new Date()) == 0) {
+            throw new AppException("Task not found",RESOURCE_NOT_FOUND);
+        }
+        Map<String, String> deleted = Collections.singletonMap("uuid", taskUuid);
+        taskChangeOutbox.append(taskChangeOutbox.event(OutboxEvent.TASK, OutboxEvent.DELETED, UUID.fromString(taskUuid), user.getId(), deleted));
+        // the task list is not read, the event goes to every stream of the user and the clients match the task UUID
+        eventPublisher.publishEvent(new TaskChangeEvent(TaskChangeEvent.Type.DELETED, user.getId(), null, deleted));
     }
 
     /**
      * Get all tasks for a specific task list.
+     * Concurrent identical requests are collapsed by SingleFlight into one query, which runs in a read-only
+     * transaction opened by the first of them only, so the others do not hold a connection while they wait.
      *
      * @param taskListUuid The UUID of the task list.
-     * @param username     The username of the user retrieving tasks.
+     * @param user         The authenticated user retrieving tasks.
      * @return A list of TaskResponse containing task details.
      * @throws AppException If validation fails.
      */
-    public List<TaskResponse> getTasks(String taskListUuid, String username) throws AppException {
+    public List<TaskResponse> getTasks(String taskListUuid, AuthenticatedUser user) throws AppException {
         getTaskValidator.validate(taskListUuid);
 
-        User user = userRepository.findUsername(username)
-                .orElseThrow(() -> new AppException("User not found",USER_NOT_FOUND));
+        UUID uuid = UUID.fromString(taskListUuid);
+        return singleFlight.execute("getTasks", user.getId(), uuid, () -> readTasks(uuid, user));
+    }
+
+    /**
+     * Get all tasks for a specific task list serialized as the JSON array of the listing endpoint, with its entity tag.
+     * A cached listing is served after an index-only read of the listing version (count, latest update time and sum of
+     * the versions of the tasks) confirms it is current, skipping the read of the tasks, the mapping to responses and
+     * the JSON encoding.
+     * Otherwise the tasks are read and serialized once for all concurrent identical requests, and cached.
+     *
+     * @param taskListUuid The UUID of the task list.
+     * @param user         The authenticated user retrieving tasks.
+     * @return The serialized listing and its entity tag.
+     * @throws AppException If validation fails.
+     */
+    public SerializedTasks getSerializedTasks(String taskListUuid, AuthenticatedUser user) throws AppException {
+        getTaskValidator.validate(taskListUuid);
 
-        List<Tasks> tasks = tasksRepository.findByTaskListUuidAndUserIdAndIsDeleted(UUID.fromString(taskListUuid), user.getId(), false);
+        UUID uuid = UUID.fromString(taskListUuid);
+        SerializedTasks cached = serializedTasksCache.get(user.getId(), uuid);
+        if (cached != null) {
+            TasksVersion version = readOnlyTransaction.execute(status ->
+                    tasksRepository.findVersionByTaskListUuidAndUserId(uuid, user.getId()));
+            if (cached.getETag().equals(ETags.of(version))) {
+                meterRegistry.counter("taskmanager.tasks.json.cache", "result", "hit").increment();
+                return cached;
+            }
+        }
+        meterRegistry.counter("taskmanager.tasks.json.cache", "result", "miss").increment();
+        SerializedTasks serialized = singleFlight.execute("getSerializedTasks", user.getId(), uuid, () -> {
+            List<TaskResponse> tasks = readTasks(uuid, user);
+            try {
+                return new SerializedTasks(ETags.of(tasks), objectMapper.writeValueAsBytes(tasks));
+            } catch (JsonProcessingException ex) {
+                throw new IllegalStateException("Tasks of task list " + uuid + " could not be serialized.", ex);
+            }
+        });
+        serializedTasksCache.put(user.getId(), uuid, serialized);
+        return serialized;
+    }
 
-        return tasks.stream().map(this::convertToTaskResponse).collect(Collectors.toList());
+    // reads the live tasks of a task list in a read-only transaction of its own, opened by the caller running the read
+    private List<TaskResponse> readTasks(UUID taskListUuid, AuthenticatedUser user) {
+        return readOnlyTransaction.execute(status ->
+                tasksRepository.findSummariesByTaskListUuidAndUserIdAndIsDeleted(taskListUuid, user.getId(), false).stream()
+                        .map(this::convertToTaskResponse)
+                        .collect(Collectors.toList()));
+    }
+
+    /**
+     * Writes all live tasks of a user to the output stream as newline-delimited JSON, one TaskResponse per line.
+     * Tasks are read from a database cursor and written as they arrive, so memory use stays constant however many
+     * tasks the user has. The read-only transaction keeps the cursor open until the last line is written.
+     * It runs on an asynchronous request thread without a security context, so the user is bound to the transaction
+     * explicitly for read-your-writes routing.
+     *
+     * @param user         The authenticated user exporting the tasks.
+     * @param outputStream The stream the lines are written to, left open.
+     * @return The number of tasks written.
+     * @throws IOException If writing to the output stream fails, typically because the client went away.
+     */
+    @Transactional(readOnly = true)
+    public long exportTasks(AuthenticatedUser user, OutputStream outputStream) throws IOException {
+        ReplicaRoutingDataSource.bindUser(user.getId());
+        long exported = 0;
+        JsonGenerator generator = objectMapper.getFactory().createGenerator(outputStream);
+        generator.disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+        // lines are separated by the newline written after each task, not by Jackson's default space
+        generator.setRootValueSeparator(null);
+        // leave flushing to the generator buffer instead of flushing the response after every task
+        ObjectWriter writer = objectMapper.writerFor(TaskResponse.class).without(SerializationFeature.FLUSH_AFTER_WRITE_VALUE);
+        try (Stream<TaskSummary> tasks = tasksRepository.streamSummariesByUserId(user.getId())) {
+            Iterator<TaskSummary> iterator = tasks.iterator();
+            while (iterator.hasNext()) {
+                writer.writeValue(generator, convertToTaskResponse(iterator.next()));
+                generator.writeRaw('\n');
+                exported++;
+            }
+            generator.flush();
+        } finally {
+            meterRegistry.summary("taskmanager.export.tasks").record(exported);
+        }
+        log.info("Exported " + exported + " tasks.");
+        return exported;
+    }
+
+    /**
+     * Get the entity tag of the tasks of a specific task list without reading them, to answer If-None-Match requests.
+     * It equals ETags.of applied to the result of getTasks for the same list.
+     *
+     * @param taskListUuid The UUID of the task list.
+     * @param user         The authenticated user retrieving tasks.
+     * @return The quoted entity tag of the listing.
+     * @throws AppException If validation fails.
+     */
+    @Transactional(readOnly = true)
+    public String getTasksETag(String taskListUuid, AuthenticatedUser user) throws AppException {
+        getTaskValidator.validate(taskListUuid);
+
+        TasksVersion version = tasksRepository.findVersionByTaskListUuidAndUserId(UUID.fromString(taskListUuid), user.getId());
+        return ETags.of(version);
+    }
+
+    /**
+     * Open a server-sent event stream of the changes to the tasks of a task list.
+     *
+     * @param taskListUuid The UUID of the task list.
+     * @param user         The authenticated user subscribing to the changes.
+     * @return The emitter of the stream.
+     * @throws AppException If validation fails or the task list is not found.
+     */
+    @Transactional(readOnly = true)
+    public SseEmitter subscribeToTasks(String taskListUuid, AuthenticatedUser user) throws AppException {
+        getTaskValidator.validate(taskListUuid);
+
+        TaskLists taskList = taskListsRepository.findByIdAndUserId(UUID.fromString(taskListUuid), user.getId())
+                .orElseThrow(() -> new AppException("Task list not found",RESOURCE_NOT_FOUND));
+
+        return taskEventBroadcaster.subscribe(user.getId(), taskList.getUuid());
+    }
+
+    /**
+     * Get one page of the tasks of a specific task list using keyset pagination.
+     * One row more than the page size is read to find out whether a following page exists,
+     * and the cursor of the following page points at the last task returned.
+     *
+     * @param request The request containing the task list UUID, page size, cursor, status filter and sort key.
+     * @param user    The authenticated user retrieving tasks.
+     * @return A TaskPageResponse containing the tasks of the page and the cursor of the next one.
+     * @throws AppException If validation fails or the cursor is invalid.
+     */
+    @Transactional(readOnly = true)
+    public TaskPageResponse getTasksPage(GetTasksPageRequest request, AuthenticatedUser user) throws AppException {
+        getTasksPageValidator.validate(request);
+
+        UUID taskListUuid = UUID.fromString(request.getTaskListUuid());
+        TaskStatus status = request.getStatus() == null ? null : TaskStatus.valueOf(request.getStatus());
+        TaskCursor cursor = request.getCursor() == null ? null : TaskCursor.decode(request.getCursor(), request.getSort());
+        Date cursorTime = cursor == null ? null : cursor.getTimestamp();
+        UUID cursorUuid = cursor == null ? null : cursor.getUuid();
+        PageRequest pageRequest = PageRequest.of(0, request.getLimit() + 1);
+
+        List<TaskSummary> tasks = SORT_BY_CREATED_AT.equals(request.getSort())
+                ? tasksRepository.findPageOrderByCreatedAt(taskListUuid, user.getId(), status, cursorTime, cursorUuid, pageRequest)
+                : tasksRepository.findPageOrderByUpdatedAt(taskListUuid, user.getId(), status, cursorTime, cursorUuid, pageRequest);
+
+        String nextCursor = null;
+        if (tasks.size() > request.getLimit()) {
+            tasks = tasks.subList(0, request.getLimit());
+            TaskSummary last = tasks.get(tasks.size() - 1);
+            Date lastTime = SORT_BY_CREATED_AT.equals(request.getSort()) ? last.getCreatedAt() : last.getUpdatedAt();
+            nextCursor = new TaskCursor(request.getSort(), lastTime, last.getUuid()).encode();
+        }
+
+        return TaskPageResponse.builder()
+                .tasks(tasks.stream().map(this::convertToTaskResponse).collect(Collectors.toList()))
+                .nextCursor(nextCursor)
+                .build();
     }
 
     /**
      * Update an existing task's details.
+     * The change is written with a single UPDATE that also enforces ifMatch, so no lock or retry is needed,
+     * then the updated task is read back for the response within the same transaction.
      *
      * @param updateTaskRequest The request containing updated task details.
-     * @param username          The username of the user updating the task.
+     * @param user              The authenticated user updating the task.
+     * @param ifMatch           The If-Match header of the request, or null to update unconditionally.
      * @return A TaskResponse containing the updated task details.
-     * @throws AppException If validation fails or the task is not found.
+     * @throws AppException If validation fails, the task is not found or it no longer matches ifMatch.
      */
-    public TaskResponse updateTask(UpdateTaskRequest updateTaskRequest, String username) throws AppException {
+    @Transactional
+    public TaskResponse updateTask(UpdateTaskRequest updateTaskRequest, AuthenticatedUser user, String ifMatch) throws AppException {
         updateTaskValidator.validate(updateTaskRequest);
 
-        User user = userRepository.findUsername(username)
-                .orElseThrow(() -> new AppException("User not found",USER_NOT_FOUND));
-
-        Tasks task = tasksRepository.findByIdAndUserId(UUID.fromString(updateTaskRequest.getUuid()), user.getId())
-                .orElseThrow(() -> new AppException("Task not found",RESOURCE_NOT_FOUND));
-
-        if (updateTaskRequest.getDescription() != null) {
-            task.setDescription(updateTaskRequest.getDescription());
-        }
-        if (updateTaskRequest.getStatus() != null) {
-            task.setStatus(TaskStatus.valueOf(updateTaskRequest.getStatus()));
+        UUID taskUuid = UUID.fromString(updateTaskRequest.getUuid());
+        TaskStatus status = updateTaskRequest.getStatus() == null ? null : TaskStatus.valueOf(updateTaskRequest.getStatus());
+        Long version = ifMatch == null ? null : ETags.toVersion(ifMatch);
+
+        int updated = tasksRepository.updateByIdAndUserId(taskUuid, user.getId(), updateTaskRequest.getDescription(), status,
+                version, new Date());
+        if (updated == 0) {
+            // tell a stale If-Match apart from a missing or deleted task, only on the failure path
+            if (version != null && tasksRepository.findLiveVersionByIdAndUserId(taskUuid, user.getId()).isPresent()) {
+                throw new AppException(ETAG_MISMATCH_MESSAGE, PRECONDITION_FAILED);
+            }
+            throw new AppException("Task not found",RESOURCE_NOT_FOUND);
         }
-        task.setUpdatedAt(new Date());
 
-        tasksRepository.save(task);
-        return convertToTaskResponse(task);
+        TaskSummary task = tasksRepository.findSummaryByIdAndUserId(taskUuid, user.getId())
+                .orElseThrow(() -> new AppException("Task not found",RESOURCE_NOT_FOUND));
+        TaskResponse response = convertToTaskResponse(task);
+        taskChangeOutbox.append(taskChangeOutbox.event(OutboxEvent.TASK, OutboxEvent.UPDATED, taskUuid, user.getId(), response));
+        eventPublisher.publishEvent(new TaskChangeEvent(TaskChangeEvent.Type.UPDATED, user.getId(), response.getTaskListUuid(), response));
+        return response;
     }
 
     /**
      * Converts a Tasks entity to a TaskResponse DTO.
      * This method is used to transform the task data for client-facing responses.
+     * It is package-private so the JMH benchmarks can measure it in isolation.
      *
      * @param task The Tasks entity to convert.
      * @return A TaskResponse containing the task details.
      */
-    private TaskResponse convertToTaskResponse(Tasks task) {
+    TaskResponse convertToTaskResponse(Tasks task) {
         return TaskResponse.builder()
                 .uuid(UUID.fromString(task.getUuid().toString()))
                 .name(task.getName())
                 .description(task.getDescription())
                 .status(TaskStatus.valueOf(task.getStatus().name()))
+                // the task list is a lazy proxy, reading its identifier does not load it
                 .taskListUuid(UUID.fromString(task.getTaskList().getUuid().toString()))
+                .updatedAt(task.getUpdatedAt())
+                .version(task.getVersion())
+                .build();
+    }
+
+    /**
+     * Converts a TaskSummary projection to a TaskResponse DTO.
+     *
+     * @param task The TaskSummary projection to convert.
+     * @return A TaskResponse containing the task details.
+     */
+    TaskResponse convertToTaskResponse(TaskSummary task) {
+        return TaskResponse.builder()
+                .uuid(task.getUuid())
+                .name(task.getName())
+                .description(task.getDescription())
+                .status(task.getStatus())
+                .taskListUuid(task.getTaskListUuid())
+                .updatedAt(task.getUpdatedAt())
+                .version(task.getVersion())
                 .build();
     }
 }
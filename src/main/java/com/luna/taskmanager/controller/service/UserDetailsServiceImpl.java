@@ -1,6 +1,8 @@
 package com.luna.taskmanager.controller.service;
 
 
+import com.luna.taskmanager.dto.AuthenticatedUser;
+import com.luna.taskmanager.dto.UserIdentity;
 import com.luna.taskmanager.model.User;
 import com.luna.taskmanager.repository.UserRepository;
 
@@ -20,31 +22,48 @@ import java.util.Collections;
 @Service
 public class UserDetailsServiceImpl implements UserDetailsService {
 
+    private final UserIdentityCache userIdentityCache;
+
     private final UserRepository userRepository;
 
     /**
      * Constructor for UserDetailsServiceImpl, allowing dependency  injection
-     * @param userRepository The repository handling user data.
+     * @param userIdentityCache The cache resolving usernames to user identities.
+     * @param userRepository The repository the password hash is read from on login.
      */
-    public UserDetailsServiceImpl(UserRepository userRepository) {
+    public UserDetailsServiceImpl(UserIdentityCache userIdentityCache, UserRepository userRepository) {
+        this.userIdentityCache = userIdentityCache;
         this.userRepository = userRepository;
     }
 
     // load the user who is autheticating
     @Override
-    public org.springframework.security.core.userdetails.UserDetails loadUserByUsername(String username) {
-        // fetch user details
-        User user = userRepository.findByUsername(username);
+    public AuthenticatedUser loadUserByUsername(String username) {
+        // the authentication manager checks the password against the stored hash, which is read from the database
+        // on every login rather than kept in the identity cache
         // if not found throw exception
-        if (user == null) {
-            throw new UsernameNotFoundException("User not found with username: " + username);
-        }
-        // Return a user details subject required by spring security, this includes username,password and role.
-        return new org.springframework.security.core.userdetails.User(
+        User user = userRepository.findUsername(username)
+                .orElseThrow(() -> new UsernameNotFoundException("User not found with username: " + username));
+        // Return a user details subject required by spring security, this includes id, username, password and role.
+        return new AuthenticatedUser(
+                user.getId(),
                 user.getUsername(),
                 user.getPassword(),
                 // Assign user role of "USER"
                 Collections.singletonList(new SimpleGrantedAuthority("USER"))
         );
     }
+
+    // load the user a verified token was issued to, served from the identity cache when the user was resolved recently
+    // the principal carries no password, the token already proved who the caller is
+    public AuthenticatedUser loadAuthenticatedUser(String username) {
+        UserIdentity user = userIdentityCache.findByUsername(username)
+                .orElseThrow(() -> new UsernameNotFoundException("User not found with username: " + username));
+        return new AuthenticatedUser(
+                user.getId(),
+                user.getUsername(),
+                null,
+                Collections.singletonList(new SimpleGrantedAuthority("USER"))
+        );
+    }
 }
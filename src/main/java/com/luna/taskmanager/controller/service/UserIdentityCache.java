@@ -0,0 +1,76 @@
+package com.luna.taskmanager.controller.service;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.luna.taskmanager.dto.UserIdentity;
+import com.luna.taskmanager.model.User;
+import com.luna.taskmanager.repository.UserRepository;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+import java.util.Optional;
+
+/**
+ * Bounded cache of username to user identity lookups.
+ * It is shared by the JWT filter and the task and task list services so a request resolves its user at most once,
+ * and only when the entry is missing or expired.
+ * Identities carry no password hash, logins read it from the database, so only a change of the id or username
+ * of a user requires invalidating its entry.
+ * Entries are evicted by size and by time since they were written, and hit, miss and eviction counts are
+ * published to the meter registry under the cache name "userIdentity".
+ */
+@Service
+public class UserIdentityCache {
+
+    private final UserRepository userRepository;
+
+    private final Cache<String, UserIdentity> cache;
+
+    @Autowired
+    public UserIdentityCache(UserRepository userRepository,
+                             MeterRegistry meterRegistry,
+                             @Value("${user.cache.maximum-size:10000}") long maximumSize,
+                             @Value("${user.cache.expire-after-write:PT5M}") Duration expireAfterWrite) {
+        this.userRepository = userRepository;
+        this.cache = Caffeine.newBuilder()
+                .maximumSize(maximumSize)
+                .expireAfterWrite(expireAfterWrite)
+                .recordStats()
+                .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, cache, "userIdentity");
+    }
+
+    /**
+     * Resolves the identity of a user, loading it from the database on a cache miss.
+     * Unknown usernames are not cached, so a user registered afterwards is found on the next lookup.
+     *
+     * @param username The username of the user to find.
+     * @return An Optional containing the user identity if found, or an empty Optional otherwise.
+     */
+    public Optional<UserIdentity> findByUsername(String username) {
+        return Optional.ofNullable(cache.get(username, this::load));
+    }
+
+    /**
+     * Removes the cached identity of a user, forcing the next lookup to go to the database.
+     *
+     * @param username The username of the user whose entry should be dropped.
+     */
+    public void invalidate(String username) {
+        cache.invalidate(username);
+    }
+
+    private UserIdentity load(String username) {
+        return userRepository.findUsername(username)
+                .map(this::toIdentity)
+                .orElse(null);
+    }
+
+    private UserIdentity toIdentity(User user) {
+        return new UserIdentity(user.getId(), user.getUsername());
+    }
+}
@@ -13,6 +13,8 @@ public class UserService {
 
     private final UserRepository userRepository;
 
+    private final UserIdentityCache userIdentityCache;
+
     private final BCryptPasswordEncoder passwordEncoder = new BCryptPasswordEncoder();
 
     // CHECK IF the USERNAME IS TAKEN
@@ -27,6 +29,8 @@ public class UserService {
             newUser.setEmail(email);
             newUser.setPassword(passwordEncoder.encode(password));
             userRepository.save(newUser);
+            // drop any stale identity so the new account is resolved from the database
+            userIdentityCache.invalidate(username);
             return newUser;
         }
         return null;
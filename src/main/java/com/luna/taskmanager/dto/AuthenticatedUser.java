@@ -0,0 +1,38 @@
+package com.luna.taskmanager.dto;
+
+import lombok.*;
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.security.core.userdetails.UserDetails;
+
+import java.util.Collection;
+
+// principal installed in the security context once a user is authenticated
+// unlike spring's own User it carries the database id, so controllers and services never have to look the user up again
+@Getter
+@RequiredArgsConstructor
+public class AuthenticatedUser implements UserDetails {
+    private final Long id;
+    private final String username;
+    private final String password;
+    private final Collection<? extends GrantedAuthority> authorities;
+
+    @Override
+    public boolean isAccountNonExpired() {
+        return true;
+    }
+
+    @Override
+    public boolean isAccountNonLocked() {
+        return true;
+    }
+
+    @Override
+    public boolean isCredentialsNonExpired() {
+        return true;
+    }
+
+    @Override
+    public boolean isEnabled() {
+        return true;
+    }
+}
@@ -0,0 +1,13 @@
+package com.luna.taskmanager.dto;
+
+import lombok.*;
+
+// immutable snapshot of the identity columns of a user
+// kept in the user identity cache instead of the User entity so no detached entity graph is shared between requests
+// holds no credentials, a password change never has to reach the cache
+@Getter
+@RequiredArgsConstructor
+public class UserIdentity {
+    private final Long id;
+    private final String username;
+}
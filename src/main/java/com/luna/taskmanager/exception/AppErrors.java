@@ -8,6 +8,9 @@ public enum AppErrors {
     // Indicates an invalid value was provided in a request
     INVALID_VALUE("Invalid value"),
 
+    // Indicates a query parameter of a listing is malformed, such as a page size out of range or a foreign cursor
+    INVALID_PARAMETER("Invalid parameter"),
+
     // Indicates a requested resource was not found
     RESOURCE_NOT_FOUND("Resource not found"),
 
@@ -18,7 +21,19 @@ public enum AppErrors {
     DUPLICATE_FOUND("Duplicate found"),
 
     // Indicates a user was not found, typically in authentication or user-specific operations
-    USER_NOT_FOUND("User not found!");
+    USER_NOT_FOUND("User not found!"),
+
+    // Indicates the resource no longer matches the entity tag sent in an If-Match header
+    PRECONDITION_FAILED("Precondition failed"),
+
+    // Indicates a resource kept being modified concurrently and the update could not be applied
+    CONCURRENT_MODIFICATION("Concurrent modification"),
+
+    // Indicates a sync watermark is too old for the deletions since then to be known, a full sync is required
+    SYNC_EXPIRED("Sync expired"),
+
+    // Indicates the caller sent more requests than its rate limit allows
+    TOO_MANY_REQUESTS("Too many requests");
 
     // Message associated with the error
     private final String message;
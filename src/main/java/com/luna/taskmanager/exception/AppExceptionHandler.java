@@ -1,11 +1,15 @@
 package com.luna.taskmanager.exception;
 import com.luna.taskmanager.model.responses.ErrorResponse;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.dao.OptimisticLockingFailureException;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.ExceptionHandler;
 import org.springframework.web.bind.annotation.RestControllerAdvice;
 
 import static com.luna.taskmanager.exception.AppErrors.*;
+import static com.luna.taskmanager.exception.ErrorMessages.CONCURRENT_MODIFICATION_MESSAGE;
 
 /**
  * Global exception handler for the application.
@@ -14,15 +18,21 @@ import static com.luna.taskmanager.exception.AppErrors.*;
 @RestControllerAdvice
 public class AppExceptionHandler {
 
+    @Autowired
+    private MeterRegistry meterRegistry;
+
     /**
      * Handles exceptions of type AppException.
-     * Maps different types of AppErrors to corresponding HTTP status codes.
+     * Maps different types of AppErrors to corresponding HTTP status codes and counts them by code.
      *
      * @param ex The AppException that was thrown.
      * @return ResponseEntity containing the error details and appropriate HTTP status.
      */
     @ExceptionHandler({AppException.class})
     public ResponseEntity<?> handleAppException(AppException ex) {
+        // Counting the error by its code, exposed as taskmanager.errors
+        meterRegistry.counter("taskmanager.errors", "code", ex.getErrorCode().name()).increment();
+
         // Building the error response based on the exception details
         ErrorResponse errorResponse = ErrorResponse.builder()
                 .code(ex.getErrorCode().name())
@@ -33,15 +43,37 @@ public class AppExceptionHandler {
         switch (ex.getErrorCode()) {
             case INVALID_VALUE:
                 return new ResponseEntity<>(errorResponse, HttpStatus.UNPROCESSABLE_ENTITY);
+            case INVALID_PARAMETER:
+                return new ResponseEntity<>(errorResponse, HttpStatus.BAD_REQUEST);
             case RESOURCE_NOT_FOUND:
                 return new ResponseEntity<>(errorResponse, HttpStatus.NOT_FOUND);
             case INTERNAL_SERVER_ERROR:
                 return new ResponseEntity<>(errorResponse, HttpStatus.INTERNAL_SERVER_ERROR);
             case DUPLICATE_FOUND:
                 return new ResponseEntity<>(errorResponse, HttpStatus.CONFLICT);
+            case PRECONDITION_FAILED:
+                return new ResponseEntity<>(errorResponse, HttpStatus.PRECONDITION_FAILED);
+            case CONCURRENT_MODIFICATION:
+                return new ResponseEntity<>(errorResponse, HttpStatus.CONFLICT);
+            case SYNC_EXPIRED:
+                return new ResponseEntity<>(errorResponse, HttpStatus.GONE);
+            case TOO_MANY_REQUESTS:
+                return new ResponseEntity<>(errorResponse, HttpStatus.TOO_MANY_REQUESTS);
             default:
                 // Default case to handle any unanticipated errors
                 return new ResponseEntity<>(errorResponse, HttpStatus.INTERNAL_SERVER_ERROR);
         }
     }
+
+    /**
+     * Handles optimistic locking failures of writes that are not retried, such as deletes and bulk updates,
+     * by answering like an update whose retries were exhausted.
+     *
+     * @param ex The OptimisticLockingFailureException that was thrown.
+     * @return ResponseEntity containing the error details and the CONFLICT status.
+     */
+    @ExceptionHandler({OptimisticLockingFailureException.class})
+    public ResponseEntity<?> handleOptimisticLockingFailure(OptimisticLockingFailureException ex) {
+        return handleAppException(new AppException(CONCURRENT_MODIFICATION_MESSAGE, CONCURRENT_MODIFICATION));
+    }
 }
@@ -44,4 +44,43 @@ public class ErrorMessages {
 
     // Message indicating an invalid task status value
     public static final String TASK_STATUS_VALUE_INVALID_MESSAGE = "Provided value for task status is invalid. Allowed values are COMPLETED, IN_PROGRESS or PENDING.";
+
+    // Message for when the requested page size is out of range
+    public static final String PAGE_SIZE_INVALID_MESSAGE = "Provided value for limit is invalid. Should be between 1 and 500.";
+
+    // Message for when the requested sort key is not supported
+    public static final String SORT_VALUE_INVALID_MESSAGE = "Provided value for sort is invalid. Allowed values are created_at or updated_at.";
+
+    // Message for when a pagination cursor cannot be decoded or does not match the requested sort
+    public static final String CURSOR_INVALID_MESSAGE = "Provided cursor is invalid. Use the next_cursor value returned by the previous page.";
+
+    // Message for when a bulk request is empty or holds too many items
+    public static final String BULK_SIZE_INVALID_MESSAGE = "Bulk request should contain between 1 and 1000 non-null items.";
+
+    // Message for when an If-Match header no longer matches the resource being updated
+    public static final String ETAG_MISMATCH_MESSAGE = "Resource has been modified since it was read. Fetch it again and retry the update.";
+
+    // Message for when an update kept conflicting with concurrent updates of the same resource
+    public static final String CONCURRENT_MODIFICATION_MESSAGE = "Resource is being modified concurrently. Please retry the request.";
+
+    // Message for when an imported task refers to a task list name the user does not have
+    public static final String TASK_LIST_NAME_NOT_FOUND_MESSAGE = "Task List with provided name either does not exist or has been deleted.";
+
+    // Message for when a record of an imported file cannot be parsed
+    public static final String IMPORT_RECORD_INVALID_MESSAGE = "Record could not be parsed. Should be a task with name, description, status and tasklist_name.";
+
+    // Message for when a record of an imported file is longer than task-import.max-record-length
+    public static final String IMPORT_RECORD_TOO_LONG_MESSAGE = "Record is too long. Should be a single task on one line.";
+
+    // Message for when a batch of imported tasks could not be stored
+    public static final String IMPORT_RECORD_NOT_STORED_MESSAGE = "Record could not be stored. Please retry the import for this record.";
+
+    // Message for when a sync watermark cannot be decoded
+    public static final String WATERMARK_INVALID_MESSAGE = "Provided watermark is invalid. Use the watermark returned by the previous sync.";
+
+    // Message for when a sync watermark is older than the retention of deleted rows
+    public static final String WATERMARK_EXPIRED_MESSAGE = "Provided watermark has expired. Sync again without a watermark to download all data.";
+
+    // Message for when a caller exceeded its rate limit
+    public static final String RATE_LIMIT_EXCEEDED_MESSAGE = "Too many requests. Retry after the number of seconds given in the Retry-After header.";
 }
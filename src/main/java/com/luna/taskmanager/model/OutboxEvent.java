@@ -0,0 +1,59 @@
+package com.luna.taskmanager.model;
+
+import jakarta.persistence.*;
+import lombok.*;
+
+import java.util.Date;
+
+/**
+ * Entity class representing a change event waiting in the transactional outbox.
+ * This class maps to the 'task_change_outbox' table created by the V5 migration.
+ * Rows are inserted by TaskChangeOutbox in the transaction of the change and removed by OutboxRelay once delivered.
+ */
+@Entity
+@Table(name = "task_change_outbox")
+@Getter
+@Setter
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class OutboxEvent {
+
+    // Aggregate types.
+    public static final String TASK = "task";
+    public static final String TASK_LIST = "task_list";
+
+    // Event types.
+    public static final String CREATED = "created";
+    public static final String UPDATED = "updated";
+    public static final String DELETED = "deleted";
+
+    // Position of the event in the outbox, events are delivered in this order.
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    // Type of the changed aggregate, task or task_list.
+    @Column(name = "aggregate_type", nullable = false, length = 16)
+    private String aggregateType;
+
+    // UUID of the changed task or task list.
+    @Column(name = "aggregate_uuid", nullable = false, length = 36)
+    private String aggregateUuid;
+
+    // ID of the user owning the aggregate.
+    @Column(name = "user_id", nullable = false)
+    private Long userId;
+
+    // Type of the change, created, updated or deleted.
+    @Column(name = "event_type", nullable = false, length = 16)
+    private String eventType;
+
+    // State of the aggregate after the change as JSON, only its UUID for deletions.
+    @Column(name = "payload", nullable = false, length = 4096)
+    private String payload;
+
+    // Timestamp of the change.
+    @Column(name = "created_at", nullable = false)
+    private Date createdAt;
+}
@@ -0,0 +1,65 @@
+package com.luna.taskmanager.model;
+
+import com.luna.taskmanager.exception.AppErrors;
+import com.luna.taskmanager.exception.AppException;
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+import java.util.Date;
+import java.util.UUID;
+
+import static com.luna.taskmanager.exception.ErrorMessages.CURSOR_INVALID_MESSAGE;
+
+/**
+ * Position of the last task of a page in a keyset-paginated task listing.
+ * The position is the sort key, the value of the sorted timestamp column and the task UUID as tie breaker.
+ * Clients only see it as an opaque URL-safe Base64 string.
+ */
+@Getter
+@RequiredArgsConstructor
+public class TaskCursor {
+
+    private static final String SEPARATOR = "|";
+
+    // The sort key the cursor was issued for.
+    private final String sort;
+
+    // Value of the sorted timestamp column of the last task of the page.
+    private final Date timestamp;
+
+    // UUID of the last task of the page.
+    private final UUID uuid;
+
+    /**
+     * Encodes this position into the opaque form returned to clients.
+     *
+     * @return The URL-safe Base64 encoded cursor.
+     */
+    public String encode() {
+        String raw = sort + SEPARATOR + timestamp.getTime() + SEPARATOR + uuid;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    /**
+     * Decodes a cursor received from a client and checks it was issued for the requested sort key.
+     *
+     * @param cursor The opaque cursor.
+     * @param sort   The sort key of the current request.
+     * @return The decoded position.
+     * @throws AppException If the cursor is malformed or belongs to another sort key.
+     */
+    public static TaskCursor decode(String cursor, String sort) throws AppException {
+        try {
+            String raw = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+            String[] parts = raw.split("\\|");
+            if (parts.length != 3 || !parts[0].equals(sort)) {
+                throw new AppException(CURSOR_INVALID_MESSAGE, AppErrors.INVALID_PARAMETER);
+            }
+            return new TaskCursor(parts[0], new Date(Long.parseLong(parts[1])), UUID.fromString(parts[2]));
+        } catch (IllegalArgumentException ex) {
+            throw new AppException(CURSOR_INVALID_MESSAGE, AppErrors.INVALID_PARAMETER);
+        }
+    }
+}
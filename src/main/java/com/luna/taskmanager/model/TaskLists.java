@@ -2,6 +2,7 @@ package com.luna.taskmanager.model;
 
 import jakarta.persistence.*;
 import lombok.*;
+import org.hibernate.annotations.ColumnDefault;
 import org.hibernate.annotations.Type;
 import org.hibernate.type.NumericBooleanConverter;
 
@@ -15,7 +16,14 @@ import java.util.UUID;
  * It includes fields for task list details such as UUID, name, description, and its association with tasks and users.
  */
 @Entity
-@Table(name = "task_lists")
+@Table(name = "task_lists", indexes = {
+        // mirrors the index created by the V2 migration, so generated schemas (tests) get it too
+        @Index(name = "idx_task_lists_user_name", columnList = "user_id, name, is_deleted"),
+        // created by the V4 migration, finds purge candidates
+        @Index(name = "idx_task_lists_deleted_updated", columnList = "is_deleted, updated_at"),
+        // created by the V6 migration, reads the changes of a user for delta sync
+        @Index(name = "idx_task_lists_user_updated", columnList = "user_id, updated_at, uuid")
+})
 @Getter
 @Setter
 @Builder
@@ -37,7 +45,9 @@ public class TaskLists extends Auditable {
     private String description;
 
     // Flag indicating if the task list is deleted. It uses a custom converter to map numeric boolean values.
-    @Column(name = "is_deleted", insertable = false)
+    // Never written on insert, the column default of the V2 migration is mirrored so generated schemas (tests) get it too.
+    @Column(name = "is_deleted", insertable = false, nullable = false)
+    @ColumnDefault("0")
     @Convert(converter = NumericBooleanConverter.class)
     private Boolean isDeleted;
 
@@ -49,12 +59,19 @@ public class TaskLists extends Auditable {
     @Column(name = "updated_at")
     private Date updatedAt;
 
+    // Version of the task list, incremented by Hibernate on every update and checked before writing (optimistic locking).
+    // Null until the task list is persisted, which tells Spring Data that save() must insert it.
+    @Version
+    @Column(name = "version", nullable = false)
+    private Long version;
+
     // List of tasks associated with this task list.
     @OneToMany(mappedBy = "taskList")
     private List<Tasks> tasks;
 
     // The user who created/owns this task list.
-    @ManyToOne
+    // Loaded lazily, services only ever need the owner's id.
+    @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "user_id")
     private User user;
 }
@@ -2,6 +2,7 @@ package com.luna.taskmanager.model;
 
 import jakarta.persistence.*;
 import lombok.*;
+import org.hibernate.annotations.ColumnDefault;
 import org.hibernate.annotations.Type;
 import org.hibernate.type.NumericBooleanConverter;
 
@@ -13,7 +14,15 @@ import java.util.UUID;
  * This class maps to the 'tasks' table in the database and includes fields for task details such as UUID, name, description, status, and its association with task lists and users.
  */
 @Entity
-@Table(name = "tasks")
+@Table(name = "tasks", indexes = {
+        // mirrors the indexes created by the V2 migration (version added by V7), so generated schemas (tests) get them too
+        @Index(name = "idx_tasks_list_user_created", columnList = "task_list_uuid, user_id, is_deleted, created_at, uuid"),
+        @Index(name = "idx_tasks_list_user_updated", columnList = "task_list_uuid, user_id, is_deleted, updated_at, uuid, version"),
+        // created by the V4 migration, finds purge candidates
+        @Index(name = "idx_tasks_deleted_updated", columnList = "is_deleted, updated_at"),
+        // created by the V6 migration, reads the changes of a user for delta sync
+        @Index(name = "idx_tasks_user_updated", columnList = "user_id, updated_at, uuid")
+})
 @Getter
 @Setter
 @Builder
@@ -40,7 +49,9 @@ public class Tasks extends Auditable {
     private TaskStatus status;
 
     // Flag indicating if the task is deleted. It uses a custom converter to map numeric boolean values.
-    @Column(name = "is_deleted", insertable = false)
+    // Never written on insert, the column default of the V2 migration is mirrored so generated schemas (tests) get it too.
+    @Column(name = "is_deleted", insertable = false, nullable = false)
+    @ColumnDefault("0")
     @Convert(converter = NumericBooleanConverter.class)
     private Boolean isDeleted;
 
@@ -52,13 +63,21 @@ public class Tasks extends Auditable {
     @Column(name = "updated_at")
     private Date updatedAt;
 
+    // Version of the task, incremented by Hibernate on every update and checked before writing (optimistic locking).
+    // Null until the task is persisted, which tells Spring Data that save() must insert it.
+    @Version
+    @Column(name = "version", nullable = false)
+    private Long version;
+
     // The task list to which this task belongs.
-    @ManyToOne
+    // Loaded lazily, reading its UUID through the proxy does not hit the database.
+    @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name="task_list_uuid")
     private TaskLists taskList;
 
     // The user who created/owns this task.
-    @ManyToOne
+    // Loaded lazily, services only ever need the owner's id.
+    @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "user_id")
     private User user;
 }
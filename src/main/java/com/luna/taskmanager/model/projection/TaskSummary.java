@@ -0,0 +1,42 @@
+package com.luna.taskmanager.model.projection;
+
+import com.luna.taskmanager.model.TaskStatus;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+import java.util.Date;
+import java.util.UUID;
+
+/**
+ * Read-only projection of a task.
+ * It holds only the columns needed to build a TaskResponse and to position a pagination cursor,
+ * so queries selecting it never load the task list or user associations.
+ */
+@Getter
+@AllArgsConstructor
+public class TaskSummary {
+
+    // UUID of the task.
+    private UUID uuid;
+
+    // Name of the task.
+    private String name;
+
+    // Description of the task.
+    private String description;
+
+    // Status of the task.
+    private TaskStatus status;
+
+    // UUID of the task list the task belongs to, read from the foreign key column.
+    private UUID taskListUuid;
+
+    // Timestamp of when the task was created.
+    private Date createdAt;
+
+    // Timestamp of the last update to the task.
+    private Date updatedAt;
+
+    // Version of the task, the source of its ETag.
+    private Long version;
+}
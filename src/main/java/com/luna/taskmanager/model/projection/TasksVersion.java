@@ -0,0 +1,27 @@
+package com.luna.taskmanager.model.projection;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+import java.util.Date;
+
+/**
+ * Read-only aggregate over the live tasks of a task list, identifying the state of the listing without reading the tasks.
+ * The latest update time alone misses updates within the same millisecond or stamped by a node with a lagging clock,
+ * the sum of the versions changes on every update since each one increments the version of its task.
+ * A create or a delete changes the count. A delete and a create together keep it, the sum then still changes
+ * unless the deleted task was never updated, and the latest update time unless the clock of the node lags.
+ */
+@Getter
+@AllArgsConstructor
+public class TasksVersion {
+
+    // Number of live tasks in the task list.
+    private Long count;
+
+    // Latest update time among the live tasks, null when the list is empty.
+    private Date lastUpdatedAt;
+
+    // Sum of the versions of the live tasks, 0 when the list is empty.
+    private Long versionSum;
+}
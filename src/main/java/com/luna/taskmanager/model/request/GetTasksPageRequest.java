@@ -0,0 +1,33 @@
+package com.luna.taskmanager.model.request;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Getter;
+import lombok.Setter;
+
+/**
+ * Model class representing a request for one page of the tasks of a task list.
+ * It is built from the path and query parameters of the paginated listing endpoint.
+ * It includes the task list's UUID, the page size, the opaque cursor returned by the previous page, an optional status filter and the sort key.
+ */
+@Getter
+@Setter
+@Builder
+@AllArgsConstructor
+public class GetTasksPageRequest {
+
+    // The UUID of the task list whose tasks are listed.
+    private String taskListUuid;
+
+    // The maximum number of tasks to return.
+    private Integer limit;
+
+    // The cursor returned as next_cursor by the previous page, null for the first page.
+    private String cursor;
+
+    // Optional status filter, one of the TaskStatus names.
+    private String status;
+
+    // The column the tasks are ordered by, created_at or updated_at.
+    private String sort;
+}
@@ -0,0 +1,33 @@
+package com.luna.taskmanager.model.request;
+
+import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
+import com.fasterxml.jackson.annotation.JsonProperty;
+import lombok.Getter;
+import lombok.Setter;
+
+/**
+ * Model class representing one record of a task import, read from an NDJSON line or a CSV row.
+ * Unlike CreateTaskRequest, the task list is referred to by its name, which is what other tools export.
+ * In CSV files the header row names the columns after the JSON properties below.
+ */
+@Getter
+@Setter
+@JsonIgnoreProperties(ignoreUnknown = true)
+public class ImportTaskRequest {
+
+    // The name of the task. Annotated with @JsonProperty to map the JSON property 'name' to this field.
+    @JsonProperty("name")
+    private String name;
+
+    // The description of the task. Annotated with @JsonProperty to map the JSON property 'description' to this field.
+    @JsonProperty("description")
+    private String description;
+
+    // The status of the task, PENDING when absent. Annotated with @JsonProperty to map the JSON property 'status' to this field.
+    @JsonProperty("status")
+    private String status;
+
+    // The name of the task list the task belongs to. Annotated with @JsonProperty to map the JSON property 'tasklist_name' to this field.
+    @JsonProperty("tasklist_name")
+    private String taskListName;
+}
@@ -0,0 +1,47 @@
+package com.luna.taskmanager.model.responses;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import com.fasterxml.jackson.annotation.JsonProperty;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Getter;
+import lombok.Setter;
+
+import java.util.UUID;
+
+/**
+ * Model class representing the outcome of one item of a bulk request.
+ * It includes the position of the item in the request, the UUID of the task it applied to and, on failure, the error details.
+ */
+@Getter
+@Setter
+@AllArgsConstructor
+@Builder
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class BulkItemResult {
+
+    // Zero based position of the item in the request array.
+    // Annotated with @JsonProperty to map the JSON property 'index' to this field.
+    @JsonProperty("index")
+    private int index;
+
+    // The UUID of the task the item applied to, absent when it could not be determined.
+    // Annotated with @JsonProperty to map the JSON property 'uuid' to this field.
+    @JsonProperty("uuid")
+    private UUID uuid;
+
+    // Whether the item was applied.
+    // Annotated with @JsonProperty to map the JSON property 'success' to this field.
+    @JsonProperty("success")
+    private boolean success;
+
+    // The error code of a failed item.
+    // Annotated with @JsonProperty to map the JSON property 'code' to this field.
+    @JsonProperty("code")
+    private String code;
+
+    // A descriptive message about the failure of an item.
+    // Annotated with @JsonProperty to map the JSON property 'message' to this field.
+    @JsonProperty("message")
+    private String message;
+}
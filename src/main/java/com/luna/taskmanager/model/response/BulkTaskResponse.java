@@ -0,0 +1,35 @@
+package com.luna.taskmanager.model.responses;
+
+import com.fasterxml.jackson.annotation.JsonProperty;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Getter;
+import lombok.Setter;
+
+import java.util.List;
+
+/**
+ * Model class representing the response to a bulk task request.
+ * It includes one result per item, in request order, and the number of items that succeeded and failed.
+ */
+@Getter
+@Setter
+@AllArgsConstructor
+@Builder
+public class BulkTaskResponse {
+
+    // Number of items that were applied.
+    // Annotated with @JsonProperty to map the JSON property 'succeeded' to this field.
+    @JsonProperty("succeeded")
+    private int succeeded;
+
+    // Number of items that were rejected.
+    // Annotated with @JsonProperty to map the JSON property 'failed' to this field.
+    @JsonProperty("failed")
+    private int failed;
+
+    // The outcome of every item, in request order.
+    // Annotated with @JsonProperty to map the JSON property 'results' to this field.
+    @JsonProperty("results")
+    private List<BulkItemResult> results;
+}
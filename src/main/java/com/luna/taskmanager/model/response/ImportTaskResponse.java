@@ -0,0 +1,41 @@
+package com.luna.taskmanager.model.responses;
+
+import com.fasterxml.jackson.annotation.JsonProperty;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Getter;
+import lombok.Setter;
+
+import java.util.List;
+
+/**
+ * Model class representing the outcome of a task import.
+ * It includes the number of imported and rejected records and the errors of the rejected ones,
+ * of which only the first task-import.max-reported-errors are listed.
+ */
+@Getter
+@Setter
+@AllArgsConstructor
+@Builder
+public class ImportTaskResponse {
+
+    // Number of records stored as tasks.
+    // Annotated with @JsonProperty to map the JSON property 'imported' to this field.
+    @JsonProperty("imported")
+    private long imported;
+
+    // Number of records that were rejected.
+    // Annotated with @JsonProperty to map the JSON property 'failed' to this field.
+    @JsonProperty("failed")
+    private long failed;
+
+    // The errors of the rejected records, the index being the zero based position of the record in the file.
+    // Annotated with @JsonProperty to map the JSON property 'errors' to this field.
+    @JsonProperty("errors")
+    private List<BulkItemResult> errors;
+
+    // Whether more records were rejected than are listed in errors.
+    // Annotated with @JsonProperty to map the JSON property 'errors_truncated' to this field.
+    @JsonProperty("errors_truncated")
+    private boolean errorsTruncated;
+}
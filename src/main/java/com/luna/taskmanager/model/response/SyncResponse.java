@@ -0,0 +1,52 @@
+package com.luna.taskmanager.model.responses;
+
+import com.fasterxml.jackson.annotation.JsonProperty;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Getter;
+import lombok.Setter;
+
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Model class representing one page of the changes to the task lists and tasks of a user since a sync watermark.
+ * Created and updated rows are returned in full, deleted rows only as tombstones holding their UUID.
+ * It includes the watermark to pass to the next sync and whether more changes are waiting.
+ */
+@Getter
+@Setter
+@AllArgsConstructor
+@Builder
+public class SyncResponse {
+
+    // The task lists created or updated since the watermark.
+    // Annotated with @JsonProperty to map the JSON property 'task_lists' to this field.
+    @JsonProperty("task_lists")
+    private List<TaskListResponse> taskLists;
+
+    // The tasks created or updated since the watermark.
+    // Annotated with @JsonProperty to map the JSON property 'tasks' to this field.
+    @JsonProperty("tasks")
+    private List<TaskResponse> tasks;
+
+    // The UUIDs of the task lists deleted since the watermark.
+    // Annotated with @JsonProperty to map the JSON property 'deleted_task_lists' to this field.
+    @JsonProperty("deleted_task_lists")
+    private List<UUID> deletedTaskLists;
+
+    // The UUIDs of the tasks deleted since the watermark.
+    // Annotated with @JsonProperty to map the JSON property 'deleted_tasks' to this field.
+    @JsonProperty("deleted_tasks")
+    private List<UUID> deletedTasks;
+
+    // The watermark to send with the next sync.
+    // Annotated with @JsonProperty to map the JSON property 'watermark' to this field.
+    @JsonProperty("watermark")
+    private String watermark;
+
+    // Whether more changes are waiting, the client should sync again right away with the new watermark.
+    // Annotated with @JsonProperty to map the JSON property 'has_more' to this field.
+    @JsonProperty("has_more")
+    private boolean hasMore;
+}
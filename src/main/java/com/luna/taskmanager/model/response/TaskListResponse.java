@@ -1,20 +1,25 @@
 package com.luna.taskmanager.model.responses;
 
+import com.fasterxml.jackson.annotation.JsonIgnore;
 import com.fasterxml.jackson.annotation.JsonProperty;
 import lombok.*;
 
+import java.io.Serializable;
 import java.util.UUID;
 
 /**
  * Model class representing a response for a task list.
  * This class is used to structure the data sent back to the client, typically when a task list is created, updated, or retrieved.
  * It includes details such as the UUID, name, and description of the task list.
+ * It is Serializable so it can be stored in the task list cache when that cache is backed by Redis.
  */
 @Getter
 @Setter
 @AllArgsConstructor
 @Builder
-public class TaskListResponse {
+public class TaskListResponse implements Serializable {
+
+    private static final long serialVersionUID = 1L;
 
     // The UUID of the task list.
     // Annotated with @JsonProperty to map the JSON property 'uuid' to this field.
@@ -30,4 +35,9 @@ public class TaskListResponse {
     // Annotated with @JsonProperty to map the JSON property 'description' to this field.
     @JsonProperty("description")
     private String description;
+
+    // The version of the task list, used to build the ETag header.
+    // Annotated with @JsonIgnore so it is not part of the response body.
+    @JsonIgnore
+    private Long version;
 }
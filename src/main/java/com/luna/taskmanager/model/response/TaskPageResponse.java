@@ -0,0 +1,30 @@
+package com.luna.taskmanager.model.responses;
+
+import com.fasterxml.jackson.annotation.JsonProperty;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Getter;
+import lombok.Setter;
+
+import java.util.List;
+
+/**
+ * Model class representing one page of tasks of a task list.
+ * It includes the tasks of the page and the cursor to pass back to fetch the following page.
+ */
+@Getter
+@Setter
+@AllArgsConstructor
+@Builder
+public class TaskPageResponse {
+
+    // The tasks of this page.
+    // Annotated with @JsonProperty to map the JSON property 'tasks' to this field.
+    @JsonProperty("tasks")
+    private List<TaskResponse> tasks;
+
+    // The cursor of the next page, null when this is the last page.
+    // Annotated with @JsonProperty to map the JSON property 'next_cursor' to this field.
+    @JsonProperty("next_cursor")
+    private String nextCursor;
+}
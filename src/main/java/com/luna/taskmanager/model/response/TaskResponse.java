@@ -1,11 +1,13 @@
 package com.luna.taskmanager.model.responses;
 
+import com.fasterxml.jackson.annotation.JsonIgnore;
 import com.fasterxml.jackson.annotation.JsonProperty;
 import com.pk.SimpleToDos.model.TaskStatus;
 import lombok.Builder;
 import lombok.Getter;
 import lombok.Setter;
 
+import java.util.Date;
 import java.util.UUID;
 
 /**
@@ -42,4 +44,14 @@ public class TaskResponse {
     // Annotated with @JsonProperty to map the JSON property 'tasklist_uuid' to this field.
     @JsonProperty("tasklist_uuid")
     private UUID taskListUuid;
+
+    // The timestamp of the last update to the task, used to build the ETag header of task listings.
+    // Annotated with @JsonIgnore so it is not part of the response body.
+    @JsonIgnore
+    private Date updatedAt;
+
+    // The version of the task, used to build its ETag header.
+    // Annotated with @JsonIgnore so it is not part of the response body.
+    @JsonIgnore
+    private Long version;
 }
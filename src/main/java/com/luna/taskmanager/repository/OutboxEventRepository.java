@@ -0,0 +1,30 @@
+package com.luna.taskmanager.repository;
+
+import com.luna.taskmanager.model.OutboxEvent;
+import jakarta.persistence.LockModeType;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+
+/**
+ * Spring Data JPA repository for the OutboxEvent entity.
+ * This interface provides the reads and deletes of OutboxRelay, events are inserted by TaskChangeOutbox.
+ */
+@Repository
+public interface OutboxEventRepository extends JpaRepository<OutboxEvent, Long> {
+
+    /**
+     * Reads the oldest events of the outbox and locks them until the transaction ends,
+     * so a relay running on another instance waits instead of delivering the same events out of order.
+     *
+     * @param pageable The batch size; only the first page is ever requested since delivered events are deleted.
+     * @return A List of the oldest events in id order.
+     */
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT e FROM OutboxEvent e ORDER BY e.id ASC")
+    List<OutboxEvent> findOldest(Pageable pageable);
+}
@@ -1,11 +1,19 @@
 package com.luna.taskmanager.repository;
 
 import com.luna.taskmanager.model.TaskLists;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
 
+import java.util.Collection;
+import java.util.Date;
 import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
@@ -26,13 +34,25 @@ public interface TaskListsRepository extends JpaRepository<TaskLists, UUID> {
     Optional<TaskLists> findByName(String name);
 
     /**
-     * Finds a task list by its name and user's ID.
+     * Custom query to find a task list by its name and user's ID.
+     * Filters on the user_id column directly, the derived query would join the users table for the user's ID.
      *
      * @param name The name of the task list.
      * @param userId The ID of the user.
      * @return An Optional containing the task list if found, or an empty Optional otherwise.
      */
-    Optional<TaskLists> findByNameAndUserId(String name, Long userId);
+    @Query("SELECT tl FROM TaskLists tl WHERE tl.name = :name AND tl.user.id = :userId")
+    Optional<TaskLists> findByNameAndUserId(@Param("name") String name, @Param("userId") Long userId);
+
+    /**
+     * Custom query to find the UUIDs of the live task lists of a user having the given name.
+     *
+     * @param name The name of the task list.
+     * @param userId The ID of the user.
+     * @return A List of the UUIDs found, empty if the user has no live task list of that name.
+     */
+    @Query("SELECT tl.uuid FROM TaskLists tl WHERE tl.name = :name AND tl.user.id = :userId AND tl.isDeleted = false")
+    List<UUID> findUuidsByNameAndUserId(@Param("name") String name, @Param("userId") Long userId);
 
     /**
      * Custom query to find a task list by its UUID and user's ID.
@@ -45,10 +65,55 @@ public interface TaskListsRepository extends JpaRepository<TaskLists, UUID> {
     Optional<TaskLists> findByIdAndUserId(@Param("uuid") UUID uuid, @Param("userId") Long userId);
 
     /**
-     * Finds all task lists associated with a given user's ID.
+     * Custom query to find all task lists associated with a given user's ID.
+     * Filters on the user_id column directly, the derived query would join the users table for the user's ID.
      *
      * @param id The ID of the user.
      * @return A List of task lists associated with the user.
      */
-    List<TaskLists> findAllByUserId(Long id);
+    @Query("SELECT tl FROM TaskLists tl WHERE tl.user.id = :id")
+    List<TaskLists> findAllByUserId(@Param("id") Long id);
+
+    /**
+     * Custom query to find several task lists of a user by their UUIDs in one statement.
+     *
+     * @param uuids The UUIDs of the task lists.
+     * @param userId The ID of the user.
+     * @return A List of the task lists found, task lists of other users are left out.
+     */
+    @Query("SELECT tl FROM TaskLists tl WHERE tl.uuid IN :uuids AND tl.user.id = :userId")
+    List<TaskLists> findAllByIdInAndUserId(@Param("uuids") Collection<UUID> uuids, @Param("userId") Long userId);
+
+    /**
+     * Keyset-paginated listing of the task lists of a user, live and soft-deleted, updated after a sync watermark.
+     * The rows are read from the idx_task_lists_user_updated index in (updated_at, uuid) order.
+     * Pass null for the cursor values to start from the oldest task list.
+     *
+     * @param userId The ID of the user.
+     * @param cursorTime The update time of the last task list already synced, or null.
+     * @param cursorUuid The UUID of the last task list already synced, or null.
+     * @param until The update time before which changes are returned, later changes are left for the next sync.
+     * @param pageable The page size.
+     * @return A List of the changed task lists following the cursor.
+     */
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true"))
+    @Query("SELECT tl FROM TaskLists tl WHERE tl.user.id = :userId AND tl.updatedAt < :until " +
+            "AND (:cursorTime IS NULL OR tl.updatedAt > :cursorTime OR (tl.updatedAt = :cursorTime AND tl.uuid > :cursorUuid)) " +
+            "ORDER BY tl.updatedAt ASC, tl.uuid ASC")
+    List<TaskLists> findChangesByUserId(@Param("userId") Long userId, @Param("cursorTime") Date cursorTime,
+                                        @Param("cursorUuid") UUID cursorUuid, @Param("until") Date until, Pageable pageable);
+
+    /**
+     * Soft deletes a live task list of a user with a single UPDATE, without loading it.
+     *
+     * @param uuid The UUID of the task list.
+     * @param userId The ID of the user.
+     * @param updatedAt The deletion time.
+     * @return The number of task lists deleted, 0 if the task list does not exist, belongs to another user or is already deleted.
+     */
+    @Transactional
+    @Modifying(clearAutomatically = true)
+    @Query("UPDATE TaskLists tl SET tl.isDeleted = true, tl.updatedAt = :updatedAt, tl.version = tl.version + 1 " +
+            "WHERE tl.uuid = :uuid AND tl.user.id = :userId AND tl.isDeleted = false")
+    int softDeleteByIdAndUserId(@Param("uuid") UUID uuid, @Param("userId") Long userId, @Param("updatedAt") Date updatedAt);
 }
@@ -1,14 +1,26 @@
 package com.luna.taskmanager.repository;
 
+import com.luna.taskmanager.model.TaskStatus;
 import com.luna.taskmanager.model.Tasks;
+import com.luna.taskmanager.model.projection.TaskSummary;
+import com.luna.taskmanager.model.projection.TasksVersion;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
 
+import java.util.Collection;
+import java.util.Date;
 import java.util.Optional;
 import java.util.List;
 import java.util.UUID;
+import java.util.stream.Stream;
 
 /**
  * Spring Data JPA repository for the Tasks entity.
@@ -24,9 +36,64 @@ public interface TasksRepository extends JpaRepository<Tasks, UUID> {
      * @param userId The ID of the user associated with the task.
      * @return An Optional containing the task if found, or an empty Optional otherwise.
      */
-    @Query("SELECT tl FROM TaskLists tl WHERE tl.uuid = :uuid AND tl.user.id = :userId")
+    @Query("SELECT t FROM Tasks t WHERE t.uuid = :uuid AND t.user.id = :userId")
     Optional<Tasks> findByIdAndUserId(@Param("uuid") UUID uuid, @Param("userId") Long userId);
 
+    /**
+     * Custom query to find several live tasks of a user by their UUIDs in one statement.
+     *
+     * @param uuids The UUIDs of the tasks.
+     * @param userId The ID of the user associated with the tasks.
+     * @return A List of the tasks found, tasks of other users and soft-deleted tasks are left out.
+     */
+    @Query("SELECT t FROM Tasks t WHERE t.uuid IN :uuids AND t.user.id = :userId AND t.isDeleted = false")
+    List<Tasks> findAllByIdInAndUserId(@Param("uuids") Collection<UUID> uuids, @Param("userId") Long userId);
+
+    /**
+     * Custom query to read the response columns of a task by its UUID and user's ID.
+     * Unlike findByIdAndUserId it selects a TaskSummary projection, so a single statement is issued and no entity is managed.
+     *
+     * @param uuid The UUID of the task.
+     * @param userId The ID of the user associated with the task.
+     * @return An Optional containing the task summary if found, or an empty Optional otherwise.
+     */
+    @Query("SELECT new com.luna.taskmanager.model.projection.TaskSummary(t.uuid, t.name, t.description, t.status, t.taskList.uuid, t.createdAt, t.updatedAt, t.version) " +
+            "FROM Tasks t WHERE t.uuid = :uuid AND t.user.id = :userId")
+    Optional<TaskSummary> findSummaryByIdAndUserId(@Param("uuid") UUID uuid, @Param("userId") Long userId);
+
+    /**
+     * Custom query to read only the version of a task, used to answer conditional requests.
+     *
+     * @param uuid The UUID of the task.
+     * @param userId The ID of the user associated with the task.
+     * @return An Optional containing the version if the task is found, or an empty Optional otherwise.
+     */
+    @Query("SELECT t.version FROM Tasks t WHERE t.uuid = :uuid AND t.user.id = :userId")
+    Optional<Long> findVersionByIdAndUserId(@Param("uuid") UUID uuid, @Param("userId") Long userId);
+
+    /**
+     * Custom query to read only the version of a live task, used to tell a stale If-Match apart from a task
+     * that is missing or soft deleted.
+     *
+     * @param uuid The UUID of the task.
+     * @param userId The ID of the user associated with the task.
+     * @return An Optional containing the version if the live task is found, or an empty Optional otherwise.
+     */
+    @Query("SELECT t.version FROM Tasks t WHERE t.uuid = :uuid AND t.user.id = :userId AND t.isDeleted = false")
+    Optional<Long> findLiveVersionByIdAndUserId(@Param("uuid") UUID uuid, @Param("userId") Long userId);
+
+    /**
+     * Counts the live tasks of a task list and reads their latest update time and the sum of their versions,
+     * used to answer conditional requests. All three values are read from the idx_tasks_list_user_updated index.
+     *
+     * @param taskListUuid The UUID of the task list.
+     * @param userId The ID of the user associated with the tasks.
+     * @return The TasksVersion of the listing.
+     */
+    @Query("SELECT new com.luna.taskmanager.model.projection.TasksVersion(COUNT(t), MAX(t.updatedAt), COALESCE(SUM(t.version), 0)) " +
+            "FROM Tasks t WHERE t.taskList.uuid = :taskListUuid AND t.user.id = :userId AND t.isDeleted = false")
+    TasksVersion findVersionByTaskListUuidAndUserId(@Param("taskListUuid") UUID taskListUuid, @Param("userId") Long userId);
+
     /**
      * Finds tasks by the task list UUID, user's ID, and deletion status.
      * This method is useful for filtering tasks based on their association with a task list and user, and whether or not they are marked as deleted.
@@ -37,4 +104,150 @@ public interface TasksRepository extends JpaRepository<Tasks, UUID> {
      * @return A List of tasks matching the criteria.
      */
     List<Tasks> findByTaskListUuidAndUserIdAndIsDeleted(UUID taskListUuid, Long userId, boolean isDeleted);
+
+    /**
+     * Reads the response columns of the tasks of a task list filtered by user's ID and deletion status.
+     * Selects a TaskSummary projection, so the whole list is read with a single statement.
+     *
+     * @param taskListUuid The UUID of the task list.
+     * @param userId The ID of the user associated with the tasks.
+     * @param isDeleted The deletion status of the tasks.
+     * @return A List of task summaries matching the criteria.
+     */
+    @Query("SELECT new com.luna.taskmanager.model.projection.TaskSummary(t.uuid, t.name, t.description, t.status, t.taskList.uuid, t.createdAt, t.updatedAt, t.version) " +
+            "FROM Tasks t WHERE t.taskList.uuid = :taskListUuid AND t.user.id = :userId AND t.isDeleted = :isDeleted")
+    List<TaskSummary> findSummariesByTaskListUuidAndUserIdAndIsDeleted(@Param("taskListUuid") UUID taskListUuid, @Param("userId") Long userId,
+                                                                        @Param("isDeleted") boolean isDeleted);
+
+    /**
+     * Streams the response columns of all live tasks of a user, in no particular order so the rows can be sent
+     * as they are found through the user_id index, without sorting the whole result first.
+     * The rows are read from a forward-only cursor in chunks of the fetch size instead of being loaded into a List,
+     * and no entity is managed, so memory use does not grow with the number of tasks.
+     * The stream must be consumed inside a transaction and closed afterwards.
+     *
+     * @param userId The ID of the user associated with the tasks.
+     * @return A Stream of the task summaries of the user.
+     */
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "500"),
+            @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true")
+    })
+    @Query("SELECT new com.luna.taskmanager.model.projection.TaskSummary(t.uuid, t.name, t.description, t.status, t.taskList.uuid, t.createdAt, t.updatedAt, t.version) " +
+            "FROM Tasks t WHERE t.user.id = :userId AND t.isDeleted = false")
+    Stream<TaskSummary> streamSummariesByUserId(@Param("userId") Long userId);
+
+    /**
+     * Keyset-paginated listing of the live tasks of a task list ordered by creation time.
+     * Only the columns of TaskSummary are selected, so no task list or user row is loaded.
+     * Pass null for status to skip the status filter, and null for the cursor values to start at the first page.
+     *
+     * @param taskListUuid The UUID of the task list.
+     * @param userId The ID of the user associated with the tasks.
+     * @param status The status to filter on, or null.
+     * @param cursorTime The creation time of the last task of the previous page, or null.
+     * @param cursorUuid The UUID of the last task of the previous page, or null.
+     * @param pageable The page size; only the first page is ever requested since the cursor positions the query.
+     * @return A List of task summaries following the cursor.
+     */
+    @Query("SELECT new com.luna.taskmanager.model.projection.TaskSummary(t.uuid, t.name, t.description, t.status, t.taskList.uuid, t.createdAt, t.updatedAt, t.version) " +
+            "FROM Tasks t WHERE t.taskList.uuid = :taskListUuid AND t.user.id = :userId AND t.isDeleted = false " +
+            "AND (:status IS NULL OR t.status = :status) " +
+            "AND (:cursorTime IS NULL OR t.createdAt > :cursorTime OR (t.createdAt = :cursorTime AND t.uuid > :cursorUuid)) " +
+            "ORDER BY t.createdAt ASC, t.uuid ASC")
+    List<TaskSummary> findPageOrderByCreatedAt(@Param("taskListUuid") UUID taskListUuid, @Param("userId") Long userId,
+                                               @Param("status") TaskStatus status, @Param("cursorTime") Date cursorTime,
+                                               @Param("cursorUuid") UUID cursorUuid, Pageable pageable);
+
+    /**
+     * Keyset-paginated listing of the live tasks of a task list ordered by last update time.
+     * Same contract as findPageOrderByCreatedAt, with the cursor positioned on updated_at.
+     *
+     * @param taskListUuid The UUID of the task list.
+     * @param userId The ID of the user associated with the tasks.
+     * @param status The status to filter on, or null.
+     * @param cursorTime The update time of the last task of the previous page, or null.
+     * @param cursorUuid The UUID of the last task of the previous page, or null.
+     * @param pageable The page size.
+     * @return A List of task summaries following the cursor.
+     */
+    @Query("SELECT new com.luna.taskmanager.model.projection.TaskSummary(t.uuid, t.name, t.description, t.status, t.taskList.uuid, t.createdAt, t.updatedAt, t.version) " +
+            "FROM Tasks t WHERE t.taskList.uuid = :taskListUuid AND t.user.id = :userId AND t.isDeleted = false " +
+            "AND (:status IS NULL OR t.status = :status) " +
+            "AND (:cursorTime IS NULL OR t.updatedAt > :cursorTime OR (t.updatedAt = :cursorTime AND t.uuid > :cursorUuid)) " +
+            "ORDER BY t.updatedAt ASC, t.uuid ASC")
+    List<TaskSummary> findPageOrderByUpdatedAt(@Param("taskListUuid") UUID taskListUuid, @Param("userId") Long userId,
+                                               @Param("status") TaskStatus status, @Param("cursorTime") Date cursorTime,
+                                               @Param("cursorUuid") UUID cursorUuid, Pageable pageable);
+
+    /**
+     * Keyset-paginated listing of the tasks of a user, live and soft-deleted, updated after a sync watermark.
+     * The rows are read from the idx_tasks_user_updated index in (updated_at, uuid) order; the task list
+     * is not loaded, only its identifier is read from the foreign key column.
+     * Pass null for the cursor values to start from the oldest task.
+     *
+     * @param userId The ID of the user associated with the tasks.
+     * @param cursorTime The update time of the last task already synced, or null.
+     * @param cursorUuid The UUID of the last task already synced, or null.
+     * @param until The update time before which changes are returned, later changes are left for the next sync.
+     * @param pageable The page size.
+     * @return A List of the changed tasks following the cursor.
+     */
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true"))
+    @Query("SELECT t FROM Tasks t WHERE t.user.id = :userId AND t.updatedAt < :until " +
+            "AND (:cursorTime IS NULL OR t.updatedAt > :cursorTime OR (t.updatedAt = :cursorTime AND t.uuid > :cursorUuid)) " +
+            "ORDER BY t.updatedAt ASC, t.uuid ASC")
+    List<Tasks> findChangesByUserId(@Param("userId") Long userId, @Param("cursorTime") Date cursorTime,
+                                    @Param("cursorUuid") UUID cursorUuid, @Param("until") Date until, Pageable pageable);
+
+    /**
+     * Soft deletes a live task of a user with a single UPDATE, without loading it.
+     *
+     * @param uuid The UUID of the task.
+     * @param userId The ID of the user associated with the task.
+     * @param updatedAt The deletion time.
+     * @return The number of tasks deleted, 0 if the task does not exist, belongs to another user or is already deleted.
+     */
+    @Transactional
+    @Modifying(clearAutomatically = true)
+    @Query("UPDATE Tasks t SET t.isDeleted = true, t.updatedAt = :updatedAt, t.version = t.version + 1 " +
+            "WHERE t.uuid = :uuid AND t.user.id = :userId AND t.isDeleted = false")
+    int softDeleteByIdAndUserId(@Param("uuid") UUID uuid, @Param("userId") Long userId, @Param("updatedAt") Date updatedAt);
+
+    /**
+     * Updates the description and/or status of a live task of a user with a single UPDATE, without loading it.
+     * A null description or status leaves the column unchanged. When version is given, the task is only updated
+     * if it still has that version, which makes the If-Match check and the write one atomic statement.
+     *
+     * @param uuid The UUID of the task.
+     * @param userId The ID of the user associated with the task.
+     * @param description The new description, or null.
+     * @param status The new status, or null.
+     * @param version The version the task must have, or null to update unconditionally.
+     * @param updatedAt The update time.
+     * @return The number of tasks updated, 0 if the task was not found or has another version.
+     */
+    @Transactional
+    @Modifying(clearAutomatically = true)
+    @Query("UPDATE Tasks t SET t.description = COALESCE(:description, t.description), t.status = COALESCE(:status, t.status), " +
+            "t.updatedAt = :updatedAt, t.version = t.version + 1 " +
+            "WHERE t.uuid = :uuid AND t.user.id = :userId AND t.isDeleted = false AND (:version IS NULL OR t.version = :version)")
+    int updateByIdAndUserId(@Param("uuid") UUID uuid, @Param("userId") Long userId, @Param("description") String description,
+                            @Param("status") TaskStatus status, @Param("version") Long version, @Param("updatedAt") Date updatedAt);
+
+    /**
+     * Soft deletes all live tasks of a task list of a user with a single UPDATE, used when the task list is deleted.
+     * The rows are found through the idx_tasks_list_user_created index.
+     *
+     * @param taskListUuid The UUID of the task list.
+     * @param userId The ID of the user associated with the tasks.
+     * @param updatedAt The deletion time.
+     * @return The number of tasks deleted.
+     */
+    @Transactional
+    @Modifying(clearAutomatically = true)
+    @Query("UPDATE Tasks t SET t.isDeleted = true, t.updatedAt = :updatedAt, t.version = t.version + 1 " +
+            "WHERE t.taskList.uuid = :taskListUuid AND t.user.id = :userId AND t.isDeleted = false")
+    int softDeleteByTaskListUuidAndUserId(@Param("taskListUuid") UUID taskListUuid, @Param("userId") Long userId,
+                                          @Param("updatedAt") Date updatedAt);
 }
@@ -0,0 +1,67 @@
+package com.luna.taskmanager.validations.tasks;
+
+
+import com.luna.taskmanager.exception.AppErrors;
+import com.luna.taskmanager.exception.AppException;
+import com.luna.taskmanager.model.TaskStatus;
+import com.luna.taskmanager.model.request.GetTasksPageRequest;
+import com.luna.taskmanager.validations.Validator;
+import org.springframework.stereotype.Component;
+
+import java.util.Arrays;
+import java.util.Objects;
+import java.util.UUID;
+
+import static com.luna.taskmanager.constants.APIConstants.*;
+import static com.luna.taskmanager.exception.ErrorMessages.*;
+
+@Component
+public class GetTasksPageValidator implements Validator {
+
+    @Override
+    public <T> void validate(T object) throws AppException {
+        GetTasksPageRequest getTasksPageRequest = (GetTasksPageRequest) object;
+        validateMandatory(getTasksPageRequest.getTaskListUuid());
+        validateUuid(getTasksPageRequest.getTaskListUuid());
+        validateLimit(getTasksPageRequest.getLimit());
+        validateStatus(getTasksPageRequest.getStatus());
+        validateSort(getTasksPageRequest.getSort());
+    }
+
+    private void validateMandatory(String taskListUuid) throws AppException {
+        if (Objects.isNull(taskListUuid) || taskListUuid.isBlank() || taskListUuid.isEmpty()) {
+            throw new AppException(UUID_MANDATORY_FIELD_MESSAGE, AppErrors.INVALID_VALUE);
+        }
+    }
+
+    private void validateUuid(String uuid) throws AppException {
+        try {
+            UUID isValidUUID = UUID.fromString(uuid);
+        } catch (IllegalArgumentException  ex) {
+            throw new AppException(UUID_INVALID_MESSAGE, AppErrors.INVALID_VALUE);
+        }
+    }
+
+    private void validateLimit(Integer limit) throws AppException {
+        if (Objects.isNull(limit) || limit < 1 || limit > MAXIMUM_PAGE_SIZE) {
+            throw new AppException(PAGE_SIZE_INVALID_MESSAGE, AppErrors.INVALID_PARAMETER);
+        }
+    }
+
+    private void validateStatus(String status) throws AppException {
+        if (Objects.isNull(status)) {
+            return;
+        }
+        boolean isKnownStatus = Arrays.stream(TaskStatus.values())
+                .anyMatch(statusValue -> statusValue.name().equals(status));
+        if (!isKnownStatus) {
+            throw new AppException(TASK_STATUS_VALUE_INVALID_MESSAGE, AppErrors.INVALID_PARAMETER);
+        }
+    }
+
+    private void validateSort(String sort) throws AppException {
+        if (!SORT_BY_CREATED_AT.equals(sort) && !SORT_BY_UPDATED_AT.equals(sort)) {
+            throw new AppException(SORT_VALUE_INVALID_MESSAGE, AppErrors.INVALID_PARAMETER);
+        }
+    }
+}
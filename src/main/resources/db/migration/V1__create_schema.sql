@@ -0,0 +1,39 @@
+-- Initial schema, identical to the one previously generated by spring.jpa.hibernate.ddl-auto=update.
+-- Existing databases are baselined at this version and skip it.
+
+CREATE TABLE users (
+    id BIGINT NOT NULL AUTO_INCREMENT,
+    username VARCHAR(50) NOT NULL,
+    password VARCHAR(255) NOT NULL,
+    email VARCHAR(100) NOT NULL,
+    PRIMARY KEY (id),
+    CONSTRAINT uk_users_username UNIQUE (username),
+    CONSTRAINT uk_users_email UNIQUE (email)
+);
+
+CREATE TABLE task_lists (
+    uuid BINARY(16) NOT NULL,
+    name VARCHAR(255),
+    description VARCHAR(255),
+    is_deleted INT,
+    created_at DATETIME(6),
+    updated_at DATETIME(6),
+    user_id BIGINT,
+    PRIMARY KEY (uuid),
+    CONSTRAINT fk_task_lists_user FOREIGN KEY (user_id) REFERENCES users (id)
+);
+
+CREATE TABLE tasks (
+    uuid BINARY(16) NOT NULL,
+    name VARCHAR(255),
+    description VARCHAR(255),
+    status VARCHAR(32),
+    is_deleted INT,
+    created_at DATETIME(6),
+    updated_at DATETIME(6),
+    task_list_uuid BINARY(16),
+    user_id BIGINT,
+    PRIMARY KEY (uuid),
+    CONSTRAINT fk_tasks_task_list FOREIGN KEY (task_list_uuid) REFERENCES task_lists (uuid),
+    CONSTRAINT fk_tasks_user FOREIGN KEY (user_id) REFERENCES users (id)
+);
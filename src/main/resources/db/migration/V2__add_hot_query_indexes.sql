@@ -0,0 +1,17 @@
+-- is_deleted is never written on insert, rows created so far may hold NULL and are missed by "is_deleted = 0" filters.
+UPDATE task_lists SET is_deleted = 0 WHERE is_deleted IS NULL;
+UPDATE tasks SET is_deleted = 0 WHERE is_deleted IS NULL;
+ALTER TABLE task_lists MODIFY is_deleted INT NOT NULL DEFAULT 0;
+ALTER TABLE tasks MODIFY is_deleted INT NOT NULL DEFAULT 0;
+
+-- TaskListsRepository.findByNameAndUserId and findAllByUserId.
+CREATE INDEX idx_task_lists_user_name ON task_lists (user_id, name, is_deleted);
+
+-- TasksRepository.findByTaskListUuidAndUserIdAndIsDeleted, findSummariesByTaskListUuidAndUserIdAndIsDeleted
+-- and findPageOrderByCreatedAt: equality prefix followed by the keyset order.
+CREATE INDEX idx_tasks_list_user_created ON tasks (task_list_uuid, user_id, is_deleted, created_at, uuid);
+
+-- TasksRepository.findPageOrderByUpdatedAt.
+CREATE INDEX idx_tasks_list_user_updated ON tasks (task_list_uuid, user_id, is_deleted, updated_at, uuid);
+
+-- Lookups by (uuid, user_id) in both repositories are primary key lookups and need no extra index.
@@ -0,0 +1,4 @@
+-- Optimistic locking: Hibernate increments version on every update and only writes a row whose version is unchanged.
+-- Existing rows start at version 0.
+ALTER TABLE task_lists ADD COLUMN version BIGINT NOT NULL DEFAULT 0;
+ALTER TABLE tasks ADD COLUMN version BIGINT NOT NULL DEFAULT 0;
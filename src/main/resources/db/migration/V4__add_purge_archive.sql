@@ -0,0 +1,31 @@
+-- Soft-deleted rows past the retention period are moved here by SoftDeletePurgeService (purge.mode=archive).
+-- No foreign keys, archived rows must not block deleting users or be removed with them.
+CREATE TABLE task_lists_archive (
+    uuid BINARY(16) NOT NULL,
+    name VARCHAR(255),
+    description VARCHAR(255),
+    created_at DATETIME(6),
+    updated_at DATETIME(6),
+    user_id BIGINT,
+    version BIGINT NOT NULL,
+    archived_at DATETIME(6) NOT NULL,
+    PRIMARY KEY (uuid)
+);
+
+CREATE TABLE tasks_archive (
+    uuid BINARY(16) NOT NULL,
+    name VARCHAR(255),
+    description VARCHAR(255),
+    status VARCHAR(32),
+    created_at DATETIME(6),
+    updated_at DATETIME(6),
+    task_list_uuid BINARY(16),
+    user_id BIGINT,
+    version BIGINT NOT NULL,
+    archived_at DATETIME(6) NOT NULL,
+    PRIMARY KEY (uuid)
+);
+
+-- Purge candidates are found by deletion flag and age without scanning the live rows.
+CREATE INDEX idx_task_lists_deleted_updated ON task_lists (is_deleted, updated_at);
+CREATE INDEX idx_tasks_deleted_updated ON tasks (is_deleted, updated_at);
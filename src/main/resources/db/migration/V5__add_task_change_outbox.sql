@@ -0,0 +1,13 @@
+-- Transactional outbox: every change to a task or task list is recorded here in the transaction making it,
+-- OutboxRelay drains the rows in id order to the configured OutboxSink and deletes them once delivered.
+-- The UUID is stored as text so consumers and the JDBC batch inserts need no binary conversion.
+CREATE TABLE task_change_outbox (
+    id BIGINT NOT NULL AUTO_INCREMENT,
+    aggregate_type VARCHAR(16) NOT NULL,
+    aggregate_uuid CHAR(36) NOT NULL,
+    user_id BIGINT NOT NULL,
+    event_type VARCHAR(16) NOT NULL,
+    payload TEXT NOT NULL,
+    created_at DATETIME(6) NOT NULL,
+    PRIMARY KEY (id)
+);
@@ -0,0 +1,4 @@
+-- SyncService reads the rows of a user changed after a watermark, live and soft-deleted alike,
+-- in (updated_at, uuid) keyset order: equality prefix followed by the keyset order, no is_deleted column.
+CREATE INDEX idx_task_lists_user_updated ON task_lists (user_id, updated_at, uuid);
+CREATE INDEX idx_tasks_user_updated ON tasks (user_id, updated_at, uuid);
@@ -0,0 +1,4 @@
+-- TasksRepository.findVersionByTaskListUuidAndUserId also sums the versions of the tasks of a listing,
+-- version is appended so the aggregate stays index-only; findPageOrderByUpdatedAt still uses the same prefix.
+DROP INDEX idx_tasks_list_user_updated ON tasks;
+CREATE INDEX idx_tasks_list_user_updated ON tasks (task_list_uuid, user_id, is_deleted, updated_at, uuid, version);
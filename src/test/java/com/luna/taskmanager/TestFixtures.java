@@ -0,0 +1,106 @@
+package com.luna.taskmanager;
+
+import com.luna.taskmanager.dto.AuthenticatedUser;
+import com.luna.taskmanager.model.TaskLists;
+import com.luna.taskmanager.model.TaskStatus;
+import com.luna.taskmanager.model.Tasks;
+import com.luna.taskmanager.model.User;
+import com.luna.taskmanager.repository.TaskListsRepository;
+import com.luna.taskmanager.repository.TasksRepository;
+import com.luna.taskmanager.repository.UserRepository;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.TestComponent;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+
+import java.util.Collections;
+import java.util.Date;
+import java.util.UUID;
+
+/**
+ * Saves the users, task lists and tasks the tests run against.
+ * Every user gets a random name, so test classes sharing the in-memory database never see each other's rows.
+ * Test classes needing it declare @Import(TestFixtures.class).
+ */
+@TestComponent
+public class TestFixtures {
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private TaskListsRepository taskListsRepository;
+
+    @Autowired
+    private TasksRepository tasksRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    /**
+     * Saves a user with a random name and the password "password" stored as is.
+     */
+    public User user() {
+        return user("password");
+    }
+
+    /**
+     * Saves a user with a random name and the given stored password, which must already be encoded to log in.
+     */
+    public User user(String storedPassword) {
+        User user = new User();
+        user.setUsername("user-" + UUID.randomUUID().toString().substring(0, 8));
+        user.setEmail(user.getUsername() + "@example.com");
+        user.setPassword(storedPassword);
+        return userRepository.save(user);
+    }
+
+    /**
+     * Saves a task list of the user, described by its name.
+     */
+    public TaskLists taskList(User owner, String name) {
+        return taskListsRepository.save(TaskLists.builder()
+                .uuid(UUID.randomUUID())
+                .name(name)
+                .description(name)
+                .createdAt(new Date())
+                .updatedAt(new Date())
+                .user(owner)
+                .build());
+    }
+
+    /**
+     * Saves a pending task in the task list, described by its name.
+     */
+    public Tasks task(User owner, TaskLists taskList, String name) {
+        return tasksRepository.save(Tasks.builder()
+                .uuid(UUID.randomUUID())
+                .name(name)
+                .description(name)
+                .status(TaskStatus.PENDING)
+                .createdAt(new Date())
+                .updatedAt(new Date())
+                .taskList(taskList)
+                .user(owner)
+                .build());
+    }
+
+    /**
+     * Recreates the schema of the primary in the embedded database at replicaUrl without any of its rows,
+     * standing in for a replica lagging behind every write.
+     */
+    public void laggingReplica(String replicaUrl) {
+        JdbcTemplate replica = new JdbcTemplate(new DriverManagerDataSource(replicaUrl, "sa", ""));
+        replica.execute("DROP ALL OBJECTS");
+        jdbcTemplate.queryForList("SCRIPT NODATA", String.class).forEach(replica::execute);
+    }
+
+    /**
+     * The principal the JWT filter would resolve for the user.
+     */
+    public static AuthenticatedUser principal(User user) {
+        return new AuthenticatedUser(user.getId(), user.getUsername(), user.getPassword(),
+                Collections.singletonList(new SimpleGrantedAuthority("USER")));
+    }
+}
@@ -0,0 +1,61 @@
+package com.luna.taskmanager.config;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.convert.ApplicationConversionService;
+import org.springframework.boot.test.context.runner.ApplicationContextRunner;
+
+import static org.junit.jupiter.api.Assertions.assertInstanceOf;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Starts RateLimitConfig with various rate-limit.* properties and asserts that limits no bucket can enforce fail the startup.
+ */
+class RateLimitConfigTests {
+
+    // the conversion service SpringApplication registers, it binds the Duration properties
+    private final ApplicationContextRunner contextRunner = new ApplicationContextRunner()
+            .withInitializer(context -> context.getBeanFactory().setConversionService(ApplicationConversionService.getSharedInstance()))
+            .withUserConfiguration(RateLimitConfig.class)
+            .withBean(ObjectMapper.class)
+            .withBean(MeterRegistry.class, SimpleMeterRegistry::new);
+
+    @Test
+    void defaultLimitsStart() {
+        contextRunner.run(context -> {
+            assertNull(context.getStartupFailure());
+            assertNotNull(context.getBean(RateLimitFilter.class));
+        });
+    }
+
+    @Test
+    void zeroCapacityFailsStartup() {
+        assertStartupFails("rate-limit.write.capacity=0", "rate-limit.write.capacity");
+    }
+
+    @Test
+    void zeroPeriodFailsStartup() {
+        assertStartupFails("rate-limit.auth.period=PT0S", "rate-limit.auth.period");
+    }
+
+    @Test
+    void periodShorterThanOneNanosecondPerTokenFailsStartup() {
+        assertStartupFails("rate-limit.read.period=PT0.000000001S", "rate-limit.read.period");
+    }
+
+    private void assertStartupFails(String property, String message) {
+        contextRunner.withPropertyValues(property).run(context -> {
+            Throwable failure = context.getStartupFailure();
+            assertNotNull(failure);
+            while (failure.getCause() != null) {
+                failure = failure.getCause();
+            }
+            assertInstanceOf(IllegalStateException.class, failure);
+            assertTrue(failure.getMessage().startsWith(message), failure.getMessage());
+        });
+    }
+}
@@ -0,0 +1,96 @@
+package com.luna.taskmanager.config;
+
+import com.luna.taskmanager.TestFixtures;
+import com.luna.taskmanager.dto.AuthenticatedUser;
+import com.luna.taskmanager.model.User;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.request.MockHttpServletRequestBuilder;
+
+import static org.springframework.security.test.web.servlet.request.SecurityMockMvcRequestPostProcessors.user;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Sends requests through the whole security filter chain and asserts that a caller is answered with 429 and a
+ * Retry-After header once the bucket of its endpoint group is empty, per user for the API and per client address
+ * for /authenticate.
+ */
+@SpringBootTest(properties = {
+        "rate-limit.read.capacity=2",
+        "rate-limit.auth.capacity=2"
+})
+@AutoConfigureMockMvc
+@Import(TestFixtures.class)
+class RateLimitFilterTests {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private TestFixtures fixtures;
+
+    @Autowired
+    private PasswordEncoder passwordEncoder;
+
+    private User owner;
+
+    private AuthenticatedUser principal;
+
+    @BeforeEach
+    void setUp() {
+        owner = fixtures.user(passwordEncoder.encode("password"));
+
+        principal = TestFixtures.principal(owner);
+    }
+
+    @Test
+    void readsAreThrottledPerUserWithRetryAfter() throws Exception {
+        for (int i = 0; i < 2; i++) {
+            mockMvc.perform(get("/api/v1/sync").with(user(principal)))
+                    .andExpect(status().isOk());
+        }
+
+        // two requests per minute, the next token is 30 seconds away
+        mockMvc.perform(get("/api/v1/sync").with(user(principal)))
+                .andExpect(status().isTooManyRequests())
+                .andExpect(header().string(HttpHeaders.RETRY_AFTER, "30"))
+                .andExpect(jsonPath("$.code").value("TOO_MANY_REQUESTS"));
+    }
+
+    @Test
+    void authenticateIsThrottledPerClientAddress() throws Exception {
+        for (int i = 0; i < 2; i++) {
+            mockMvc.perform(authenticate("10.0.0.1"))
+                    .andExpect(status().isOk());
+        }
+
+        mockMvc.perform(authenticate("10.0.0.1"))
+                .andExpect(status().isTooManyRequests())
+                .andExpect(header().exists(HttpHeaders.RETRY_AFTER));
+        // another client address has a bucket of its own
+        mockMvc.perform(authenticate("10.0.0.2"))
+                .andExpect(status().isOk());
+    }
+
+    private MockHttpServletRequestBuilder authenticate(String remoteAddress) {
+        return post("/authenticate")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content("{\"username\":\"" + owner.getUsername() + "\",\"password\":\"password\"}")
+                .with(request -> {
+                    request.setRemoteAddr(remoteAddress);
+                    return request;
+                });
+    }
+}
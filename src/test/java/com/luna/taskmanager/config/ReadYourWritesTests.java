@@ -0,0 +1,92 @@
+package com.luna.taskmanager.config;
+
+import com.luna.taskmanager.TestFixtures;
+import com.luna.taskmanager.controller.service.TasksService;
+import com.luna.taskmanager.dto.AuthenticatedUser;
+import com.luna.taskmanager.model.TaskLists;
+import com.luna.taskmanager.model.Tasks;
+import com.luna.taskmanager.model.User;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.context.SecurityContextHolder;
+
+import java.io.ByteArrayOutputStream;
+import java.util.concurrent.CompletableFuture;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * Exports tasks on a thread of its own, as the asynchronous export request does, against a replica lagging behind
+ * every write, and asserts that a user who just wrote still reads their writes.
+ */
+@SpringBootTest(properties = {
+        "replica.enabled=true",
+        "replica.urls=" + ReadYourWritesTests.REPLICA_URL
+})
+@Import(TestFixtures.class)
+class ReadYourWritesTests {
+
+    static final String REPLICA_URL = "jdbc:h2:mem:ryw-replica;MODE=MySQL;DATABASE_TO_LOWER=TRUE;DB_CLOSE_DELAY=-1";
+
+    private static final int TASKS_PER_LIST = 3;
+
+    @Autowired
+    private TasksService tasksService;
+
+    @Autowired
+    private TestFixtures fixtures;
+
+    private AuthenticatedUser principal;
+
+    private Tasks task;
+
+    @BeforeEach
+    void setUp() {
+        User owner = fixtures.user();
+
+        TaskLists taskList = fixtures.taskList(owner, "list");
+        for (int i = 0; i < TASKS_PER_LIST; i++) {
+            task = fixtures.task(owner, taskList, "task " + i);
+        }
+
+        fixtures.laggingReplica(REPLICA_URL);
+
+        // written without a security context, so the user is not pinned to the primary yet
+        principal = TestFixtures.principal(owner);
+    }
+
+    @AfterEach
+    void tearDown() {
+        SecurityContextHolder.clearContext();
+    }
+
+    @Test
+    void asyncExportRightAfterWriteReadsFromPrimary() throws Exception {
+        SecurityContextHolder.getContext().setAuthentication(
+                new UsernamePasswordAuthenticationToken(principal, null, principal.getAuthorities()));
+        tasksService.deleteTask(task.getUuid().toString(), principal);
+        SecurityContextHolder.clearContext();
+
+        assertEquals(TASKS_PER_LIST - 1, exportOnAnotherThread());
+    }
+
+    @Test
+    void asyncExportWithoutRecentWriteReadsFromReplica() throws Exception {
+        assertEquals(0, exportOnAnotherThread());
+    }
+
+    private long exportOnAnotherThread() throws Exception {
+        return CompletableFuture.supplyAsync(() -> {
+            try {
+                return tasksService.exportTasks(principal, new ByteArrayOutputStream());
+            } catch (Exception ex) {
+                throw new IllegalStateException(ex);
+            }
+        }).get();
+    }
+}
@@ -0,0 +1,145 @@
+package com.luna.taskmanager.config;
+
+import com.luna.taskmanager.dto.AuthenticatedUser;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.time.Duration;
+import java.util.Collections;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * Routes connections between two embedded databases standing in for the primary and a replica,
+ * each holding a single row naming it.
+ */
+class ReplicaRoutingDataSourceTests {
+
+    private final DataSource primary = database("routing-primary");
+
+    private final DataSource replica = database("routing-replica");
+
+    private ReplicaRoutingDataSource routingDataSource;
+
+    @BeforeEach
+    void setUp() {
+        routingDataSource = new ReplicaRoutingDataSource(primary, List.of(replica), Duration.ofMinutes(1), new SimpleMeterRegistry());
+    }
+
+    @AfterEach
+    void tearDown() {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+        TransactionSynchronizationManager.setCurrentTransactionReadOnly(false);
+        SecurityContextHolder.clearContext();
+    }
+
+    @Test
+    void readOnlyTransactionsReadFromReplica() {
+        assertEquals("routing-primary", database());
+
+        TransactionSynchronizationManager.setCurrentTransactionReadOnly(true);
+        assertEquals("routing-replica", database());
+    }
+
+    @Test
+    void userReadsFromPrimaryAfterWriting() {
+        authenticate(1L);
+        assertEquals("routing-primary", database());
+
+        TransactionSynchronizationManager.setCurrentTransactionReadOnly(true);
+        assertEquals("routing-primary", database());
+        authenticate(2L);
+        assertEquals("routing-replica", database());
+    }
+
+    @Test
+    void userReadsFromPrimaryOnlyOnceTheWriteCommitted() {
+        TransactionSynchronizationManager.initSynchronization();
+        authenticate(1L);
+        assertEquals("routing-primary", database());
+
+        TransactionSynchronizationManager.setCurrentTransactionReadOnly(true);
+        assertEquals("routing-replica", database());
+        TransactionSynchronizationManager.getSynchronizations().forEach(TransactionSynchronization::afterCommit);
+        assertEquals("routing-primary", database());
+    }
+
+    @Test
+    void rolledBackWriteDoesNotPinUserToPrimary() {
+        TransactionSynchronizationManager.initSynchronization();
+        authenticate(1L);
+        assertEquals("routing-primary", database());
+
+        TransactionSynchronizationManager.getSynchronizations()
+                .forEach(synchronization -> synchronization.afterCompletion(TransactionSynchronization.STATUS_ROLLED_BACK));
+        TransactionSynchronizationManager.setCurrentTransactionReadOnly(true);
+        assertEquals("routing-replica", database());
+    }
+
+    @Test
+    void primaryHintReadsFromPrimaryWithoutPinningUser() {
+        TransactionSynchronizationManager.initSynchronization();
+        TransactionSynchronizationManager.setCurrentTransactionReadOnly(true);
+        authenticate(1L);
+        ReplicaRoutingDataSource.readFromPrimary();
+        assertEquals("routing-primary", database());
+
+        TransactionSynchronizationManager.getSynchronizations().forEach(TransactionSynchronization::afterCommit);
+        TransactionSynchronizationManager.getSynchronizations()
+                .forEach(synchronization -> synchronization.afterCompletion(TransactionSynchronization.STATUS_COMMITTED));
+        assertEquals("routing-replica", database());
+    }
+
+    @Test
+    void unreachableReplicaFallsBackToPrimary() {
+        routingDataSource = new ReplicaRoutingDataSource(primary, List.of(new DriverManagerDataSource("jdbc:h2:tcp://localhost:1/missing")),
+                Duration.ofMinutes(1), new SimpleMeterRegistry());
+
+        TransactionSynchronizationManager.setCurrentTransactionReadOnly(true);
+        assertEquals("routing-primary", database());
+        routingDataSource.checkReplicas();
+        assertEquals("routing-primary", database());
+    }
+
+    // reads on a connection of its own, a JdbcTemplate would keep reusing the first one while synchronization is active
+    private String database() {
+        try (Connection connection = routingDataSource.getConnection();
+             ResultSet resultSet = connection.createStatement().executeQuery("SELECT name FROM route")) {
+            resultSet.next();
+            return resultSet.getString(1);
+        } catch (SQLException ex) {
+            throw new IllegalStateException(ex);
+        }
+    }
+
+    private void authenticate(Long userId) {
+        AuthenticatedUser user = new AuthenticatedUser(userId, "user-" + userId, "password",
+                Collections.singletonList(new SimpleGrantedAuthority("USER")));
+        SecurityContextHolder.getContext().setAuthentication(new UsernamePasswordAuthenticationToken(user, null, user.getAuthorities()));
+    }
+
+    private static DataSource database(String name) {
+        DataSource dataSource = new DriverManagerDataSource("jdbc:h2:mem:" + name + ";DB_CLOSE_DELAY=-1", "sa", "");
+        JdbcTemplate jdbcTemplate = new JdbcTemplate(dataSource);
+        jdbcTemplate.execute("CREATE TABLE IF NOT EXISTS route (name VARCHAR(32))");
+        jdbcTemplate.update("DELETE FROM route");
+        jdbcTemplate.update("INSERT INTO route (name) VALUES (?)", name);
+        return dataSource;
+    }
+}
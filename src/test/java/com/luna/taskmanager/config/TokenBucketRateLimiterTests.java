@@ -0,0 +1,38 @@
+package com.luna.taskmanager.config;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Asserts that a bucket lets a burst of its capacity through, then asks to wait for the next token, per key.
+ */
+class TokenBucketRateLimiterTests {
+
+    private final TokenBucketRateLimiter rateLimiter = new TokenBucketRateLimiter(Duration.ofMinutes(1), 1000);
+
+    @Test
+    void burstOfCapacityIsAllowedThenThrottled() {
+        for (int i = 0; i < 3; i++) {
+            assertEquals(0, rateLimiter.tryAcquire("read:user:a", 3, Duration.ofMinutes(1)));
+        }
+
+        long wait = rateLimiter.tryAcquire("read:user:a", 3, Duration.ofMinutes(1));
+
+        // one token is refilled every 20 seconds
+        assertTrue(wait > 0 && wait <= TimeUnit.SECONDS.toNanos(20));
+    }
+
+    @Test
+    void bucketsAreKeptPerKey() {
+        for (int i = 0; i < 3; i++) {
+            rateLimiter.tryAcquire("read:user:a", 3, Duration.ofMinutes(1));
+        }
+
+        assertEquals(0, rateLimiter.tryAcquire("read:user:b", 3, Duration.ofMinutes(1)));
+    }
+}
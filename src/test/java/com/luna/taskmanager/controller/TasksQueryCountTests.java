@@ -0,0 +1,197 @@
+package com.luna.taskmanager.controller;
+
+import com.luna.taskmanager.TestFixtures;
+import com.luna.taskmanager.dto.AuthenticatedUser;
+import com.luna.taskmanager.model.TaskLists;
+import com.luna.taskmanager.model.Tasks;
+import com.luna.taskmanager.model.User;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.springframework.security.test.web.servlet.request.SecurityMockMvcRequestPostProcessors.user;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.delete;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.put;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Asserts how many SQL statements each task read and write endpoint issues, using Hibernate statistics.
+ * A failing assertion here usually means an association started being loaded eagerly again.
+ */
+@SpringBootTest
+@AutoConfigureMockMvc
+@Import(TestFixtures.class)
+class TasksQueryCountTests {
+
+    private static final int TASKS_PER_LIST = 5;
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private TestFixtures fixtures;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    private Statistics statistics;
+
+    private AuthenticatedUser principal;
+
+    private TaskLists taskList;
+
+    private Tasks task;
+
+    @BeforeEach
+    void setUp() {
+        User owner = fixtures.user();
+
+        taskList = fixtures.taskList(owner, "list");
+
+        for (int i = 0; i < TASKS_PER_LIST; i++) {
+            task = fixtures.task(owner, taskList, "task " + i);
+        }
+
+        principal = TestFixtures.principal(owner);
+        statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+    }
+
+    @Test
+    void fetchTaskIssuesSingleStatement() throws Exception {
+        mockMvc.perform(get("/api/v1/tasks/" + task.getUuid()).with(user(principal)))
+                .andExpect(status().isOk());
+
+        assertEquals(1, statistics.getPrepareStatementCount());
+    }
+
+    @Test
+    void fetchTasksIssuesSingleStatementRegardlessOfListSize() throws Exception {
+        mockMvc.perform(get("/api/v1/tasks/tasklist/" + taskList.getUuid()).with(user(principal)))
+                .andExpect(status().isOk());
+
+        assertEquals(1, statistics.getPrepareStatementCount());
+    }
+
+    @Test
+    void repeatedFetchTasksIssuesSingleVersionStatement() throws Exception {
+        mockMvc.perform(get("/api/v1/tasks/tasklist/" + taskList.getUuid()).with(user(principal)))
+                .andExpect(status().isOk());
+        statistics.clear();
+
+        mockMvc.perform(get("/api/v1/tasks/tasklist/" + taskList.getUuid()).with(user(principal)))
+                .andExpect(status().isOk());
+        // only the index-only listing version confirming the cached listing
+        assertEquals(1, statistics.getPrepareStatementCount());
+        assertEquals(0, statistics.getEntityLoadCount());
+    }
+
+    @Test
+    void fetchTasksPageIssuesSingleStatement() throws Exception {
+        mockMvc.perform(get("/api/v1/tasks/tasklist/" + taskList.getUuid()).param("limit", "2").with(user(principal)))
+                .andExpect(status().isOk());
+
+        assertEquals(1, statistics.getPrepareStatementCount());
+    }
+
+    @Test
+    void revalidatingTaskIssuesSingleStatement() throws Exception {
+        String etag = mockMvc.perform(get("/api/v1/tasks/" + task.getUuid()).with(user(principal)))
+                .andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+        statistics.clear();
+
+        mockMvc.perform(get("/api/v1/tasks/" + task.getUuid()).header(HttpHeaders.IF_NONE_MATCH, etag).with(user(principal)))
+                .andExpect(status().isNotModified());
+
+        assertEquals(1, statistics.getPrepareStatementCount());
+    }
+
+    @Test
+    void revalidatingTasksIssuesSingleStatement() throws Exception {
+        String etag = mockMvc.perform(get("/api/v1/tasks/tasklist/" + taskList.getUuid()).with(user(principal)))
+                .andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+        statistics.clear();
+
+        mockMvc.perform(get("/api/v1/tasks/tasklist/" + taskList.getUuid()).header(HttpHeaders.IF_NONE_MATCH, etag).with(user(principal)))
+                .andExpect(status().isNotModified());
+
+        assertEquals(1, statistics.getPrepareStatementCount());
+    }
+
+    @Test
+    void deleteTaskIssuesSingleStatement() throws Exception {
+        mockMvc.perform(delete("/api/v1/tasks/" + task.getUuid()).with(user(principal)))
+                .andExpect(status().isOk());
+
+        assertEquals(1, statistics.getPrepareStatementCount());
+    }
+
+    @Test
+    void updateTaskStatusIssuesUpdateAndRead() throws Exception {
+        mockMvc.perform(put("/api/v1/tasks").with(user(principal))
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"uuid\":\"" + task.getUuid() + "\",\"status\":\"COMPLETED\"}"))
+                .andExpect(status().isOk());
+
+        // the UPDATE and the read of the response columns
+        assertEquals(2, statistics.getPrepareStatementCount());
+    }
+
+    @Test
+    void deleteTaskListSoftDeletesItsTasksWithOneStatement() throws Exception {
+        mockMvc.perform(delete("/api/v1/tasklists/" + taskList.getUuid()).with(user(principal)))
+                .andExpect(status().isOk());
+
+        // one UPDATE for the task list and one for all of its tasks
+        assertEquals(2, statistics.getPrepareStatementCount());
+    }
+
+    @Test
+    void exportTasksStreamsEveryTaskWithOneStatement() throws Exception {
+        MvcResult result = mockMvc.perform(get("/api/v1/tasks/export").with(user(principal)))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+        mockMvc.perform(asyncDispatch(result))
+                .andExpect(status().isOk());
+
+        assertEquals(1, statistics.getPrepareStatementCount());
+    }
+
+    @Test
+    void importTasksLooksUpEachTaskListNameOnce() throws Exception {
+        String records = "{\"name\":\"imported 1\",\"description\":\"\",\"tasklist_name\":\"list\"}\n"
+                + "{\"name\":\"imported 2\",\"description\":\"\",\"status\":\"COMPLETED\",\"tasklist_name\":\"list\"}\n"
+                + "{\"name\":\"imported 3\",\"description\":\"\",\"tasklist_name\":\"unknown\"}\n"
+                + "not json\n";
+        mockMvc.perform(post("/api/v1/tasks/import").with(user(principal))
+                        .contentType(MediaType.APPLICATION_NDJSON)
+                        .content(records))
+                .andExpect(status().isOk());
+
+        // one lookup per distinct task list name, the inserts follow
+        assertEquals(2, statistics.getQueryExecutionCount());
+    }
+
+    @Test
+    void syncReadsTaskListsAndTasksWithOneStatementEach() throws Exception {
+        mockMvc.perform(get("/api/v1/sync").with(user(principal)))
+                .andExpect(status().isOk());
+
+        assertEquals(2, statistics.getPrepareStatementCount());
+    }
+}
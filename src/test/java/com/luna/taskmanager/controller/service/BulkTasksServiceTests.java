@@ -0,0 +1,95 @@
+package com.luna.taskmanager.controller.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.luna.taskmanager.TestFixtures;
+import com.luna.taskmanager.dto.AuthenticatedUser;
+import com.luna.taskmanager.model.OutboxEvent;
+import com.luna.taskmanager.model.TaskLists;
+import com.luna.taskmanager.model.Tasks;
+import com.luna.taskmanager.model.User;
+import com.luna.taskmanager.model.request.UpdateTaskRequest;
+import com.luna.taskmanager.model.responses.BulkItemResult;
+import com.luna.taskmanager.repository.TasksRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.util.Collections;
+import java.util.Date;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+
+/**
+ * Asserts that bulk operations treat soft-deleted tasks as not found and append the same outbox payloads
+ * as the single task endpoints.
+ */
+@SpringBootTest
+@Import(TestFixtures.class)
+class BulkTasksServiceTests {
+
+    @Autowired
+    private BulkTasksService bulkTasksService;
+
+    @Autowired
+    private TestFixtures fixtures;
+
+    @Autowired
+    private TasksService tasksService;
+
+    @Autowired
+    private TasksRepository tasksRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    private AuthenticatedUser principal;
+
+    private Tasks task;
+
+    @BeforeEach
+    void setUp() {
+        User owner = fixtures.user();
+
+        TaskLists taskList = fixtures.taskList(owner, "list");
+        task = fixtures.task(owner, taskList, "task");
+
+        principal = TestFixtures.principal(owner);
+    }
+
+    @Test
+    void softDeletedTasksAreNotFound() throws Exception {
+        tasksRepository.softDeleteByIdAndUserId(task.getUuid(), principal.getId(), new Date());
+
+        BulkItemResult updated = bulkTasksService.updateTasks(Collections.singletonList(completed()), principal).getResults().get(0);
+        BulkItemResult deleted = bulkTasksService.deleteTasks(Collections.singletonList(task.getUuid().toString()), principal)
+                .getResults().get(0);
+
+        assertFalse(updated.isSuccess());
+        assertEquals("RESOURCE_NOT_FOUND", updated.getCode());
+        assertFalse(deleted.isSuccess());
+        assertEquals("RESOURCE_NOT_FOUND", deleted.getCode());
+    }
+
+    @Test
+    void updatePayloadIsTheTaskAsReturnedBySingleTaskEndpoint() throws Exception {
+        bulkTasksService.updateTasks(Collections.singletonList(completed()), principal);
+
+        String payload = jdbcTemplate.queryForObject("SELECT payload FROM task_change_outbox WHERE aggregate_uuid = ? AND event_type = ?",
+                String.class, task.getUuid().toString(), OutboxEvent.UPDATED);
+        assertEquals(objectMapper.writeValueAsString(tasksService.getTask(task.getUuid().toString(), principal)), payload);
+    }
+
+    private UpdateTaskRequest completed() {
+        UpdateTaskRequest request = new UpdateTaskRequest();
+        request.setUuid(task.getUuid().toString());
+        request.setStatus("COMPLETED");
+        return request;
+    }
+}
@@ -0,0 +1,47 @@
+package com.luna.taskmanager.controller.service;
+
+import io.jsonwebtoken.JwtException;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.security.core.userdetails.User;
+import org.springframework.security.core.userdetails.UserDetails;
+
+import java.util.Collections;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+/**
+ * Asserts that a token is verified once and answered from the cache afterwards, and that a token whose signature
+ * does not match is rejected even though it differs from a cached one only in its last characters.
+ */
+class JwtServiceImplTests {
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    private final JwtServiceImpl jwtService = new JwtServiceImpl(
+            "dGFza21hbmFnZXItdGVzdC1zaWduaW5nLWtleS1vZi1hdC1sZWFzdC0yNTYtYml0cw==", 100, meterRegistry);
+
+    private final UserDetails user = new User("user", "password", Collections.emptyList());
+
+    @Test
+    void verifiedTokenIsServedFromCache() {
+        String token = jwtService.generateToken(user);
+
+        assertEquals("user", jwtService.extractUserName(token));
+        assertEquals("user", jwtService.extractUserName(token));
+
+        assertEquals(1, meterRegistry.get("cache.gets").tag("cache", "verifiedTokens").tag("result", "hit")
+                .functionCounter().count());
+    }
+
+    @Test
+    void tamperedTokenIsRejected() {
+        String token = jwtService.generateToken(user);
+        jwtService.verifyToken(token);
+
+        String tampered = token.substring(0, token.length() - 2) + (token.endsWith("AA") ? "BB" : "AA");
+
+        assertThrows(JwtException.class, () -> jwtService.verifyToken(tampered));
+    }
+}
@@ -0,0 +1,102 @@
+package com.luna.taskmanager.controller.service;
+
+import com.luna.taskmanager.TestFixtures;
+import com.luna.taskmanager.exception.AppErrors;
+import com.luna.taskmanager.exception.AppException;
+import com.luna.taskmanager.exception.AppExceptionHandler;
+import com.luna.taskmanager.model.TaskLists;
+import com.luna.taskmanager.model.User;
+import com.luna.taskmanager.repository.TaskListsRepository;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.http.HttpStatus;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+/**
+ * Runs task list updates that lose the version check to a write committed in between, and asserts that they are
+ * retried on fresh state and answered with 409 once every attempt conflicted.
+ */
+@SpringBootTest(properties = {"optimistic-lock.max-attempts=3", "optimistic-lock.backoff=PT0S"})
+@Import(TestFixtures.class)
+class OptimisticLockRetryTests {
+
+    private static final int MAX_ATTEMPTS = 3;
+
+    @Autowired
+    private OptimisticLockRetry optimisticLockRetry;
+
+    @Autowired
+    private TestFixtures fixtures;
+
+    @Autowired
+    private AppExceptionHandler appExceptionHandler;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Autowired
+    private TaskListsRepository taskListsRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    private User owner;
+
+    private TaskLists taskList;
+
+    @BeforeEach
+    void setUp() {
+        owner = fixtures.user();
+
+        taskList = fixtures.taskList(owner, "list");
+    }
+
+    @Test
+    void updateConflictingOnceSucceedsOnRetry() throws Exception {
+        AtomicInteger attempts = new AtomicInteger();
+
+        TaskLists updated = optimisticLockRetry.execute("taskList", () -> update(attempts.incrementAndGet() == 1));
+
+        assertEquals(2, attempts.get());
+        assertEquals("updated", updated.getDescription());
+        assertEquals("updated", jdbcTemplate.queryForObject("SELECT description FROM task_lists WHERE uuid = ?",
+                String.class, taskList.getUuid()));
+    }
+
+    @Test
+    void updateConflictingOnEveryAttemptIsAnsweredWithConflict() {
+        AtomicInteger attempts = new AtomicInteger();
+        double conflicts = meterRegistry.counter("taskmanager.optimistic.lock.conflicts", "entity", "taskList").count();
+
+        AppException ex = assertThrows(AppException.class, () -> optimisticLockRetry.execute("taskList", () -> {
+            attempts.incrementAndGet();
+            return update(true);
+        }));
+
+        assertEquals(MAX_ATTEMPTS, attempts.get());
+        assertEquals(MAX_ATTEMPTS, meterRegistry.counter("taskmanager.optimistic.lock.conflicts", "entity", "taskList").count() - conflicts);
+        assertEquals(AppErrors.CONCURRENT_MODIFICATION, ex.getErrorCode());
+        assertEquals(HttpStatus.CONFLICT, appExceptionHandler.handleAppException(ex).getStatusCode());
+        assertEquals("list", jdbcTemplate.queryForObject("SELECT description FROM task_lists WHERE uuid = ?",
+                String.class, taskList.getUuid()));
+    }
+
+    // one read-modify-write of the task list, optionally losing the version check to a write made after the read
+    private TaskLists update(boolean conflict) {
+        TaskLists current = taskListsRepository.findByIdAndUserId(taskList.getUuid(), owner.getId()).orElseThrow();
+        if (conflict) {
+            jdbcTemplate.update("UPDATE task_lists SET version = version + 1 WHERE uuid = ?", taskList.getUuid());
+        }
+        current.setDescription("updated");
+        return taskListsRepository.saveAndFlush(current);
+    }
+}
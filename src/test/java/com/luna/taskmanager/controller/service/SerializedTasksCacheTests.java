@@ -0,0 +1,93 @@
+package com.luna.taskmanager.controller.service;
+
+import com.luna.taskmanager.TestFixtures;
+import com.luna.taskmanager.dto.AuthenticatedUser;
+import com.luna.taskmanager.model.TaskLists;
+import com.luna.taskmanager.model.Tasks;
+import com.luna.taskmanager.model.User;
+import com.luna.taskmanager.repository.TasksRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Date;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Asserts that a serialized listing is served from the cache while it is current, and that writes bypassing this
+ * instance, which publish no event, are still never served from it.
+ */
+@SpringBootTest
+@Import(TestFixtures.class)
+class SerializedTasksCacheTests {
+
+    @Autowired
+    private TasksService tasksService;
+
+    @Autowired
+    private TestFixtures fixtures;
+
+    @Autowired
+    private TasksRepository tasksRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    private AuthenticatedUser principal;
+
+    private String taskListUuid;
+
+    private Tasks task;
+
+    @BeforeEach
+    void setUp() {
+        User owner = fixtures.user();
+
+        TaskLists taskList = fixtures.taskList(owner, "list");
+        for (int i = 0; i < 2; i++) {
+            task = fixtures.task(owner, taskList, "task " + i);
+        }
+
+        principal = TestFixtures.principal(owner);
+        taskListUuid = taskList.getUuid().toString();
+    }
+
+    @Test
+    void currentListingIsServedFromCache() throws Exception {
+        SerializedTasks first = tasksService.getSerializedTasks(taskListUuid, principal);
+
+        assertSame(first, tasksService.getSerializedTasks(taskListUuid, principal));
+    }
+
+    @Test
+    void deletionIsNotServedFromCache() throws Exception {
+        SerializedTasks first = tasksService.getSerializedTasks(taskListUuid, principal);
+
+        tasksRepository.softDeleteByIdAndUserId(task.getUuid(), principal.getId(), new Date());
+
+        SerializedTasks second = tasksService.getSerializedTasks(taskListUuid, principal);
+        assertNotSame(first, second);
+        assertEquals(ETags.of(tasksService.getTasks(taskListUuid, principal)), second.getETag());
+        assertEquals(1, tasksService.getTasks(taskListUuid, principal).size());
+    }
+
+    @Test
+    void updateKeepingLatestUpdateTimeIsNotServedFromCache() throws Exception {
+        SerializedTasks first = tasksService.getSerializedTasks(taskListUuid, principal);
+
+        // written as by another instance within the same millisecond: the version moves, updated_at does not
+        jdbcTemplate.update("UPDATE tasks SET version = version + 1, status = 'COMPLETED' WHERE uuid = ?", task.getUuid());
+
+        SerializedTasks second = tasksService.getSerializedTasks(taskListUuid, principal);
+        assertNotSame(first, second);
+        assertTrue(new String(second.getJson(), StandardCharsets.UTF_8).contains("COMPLETED"));
+    }
+}
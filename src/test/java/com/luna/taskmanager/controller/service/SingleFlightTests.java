@@ -0,0 +1,79 @@
+package com.luna.taskmanager.controller.service;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * Asserts that identical reads in flight at the same time run once, and that a forgotten read is not joined.
+ */
+class SingleFlightTests {
+
+    private final SingleFlight singleFlight = new SingleFlight();
+
+    private final MeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    private final AtomicInteger reads = new AtomicInteger();
+
+    private final CountDownLatch started = new CountDownLatch(1);
+
+    private final CountDownLatch release = new CountDownLatch(1);
+
+    @BeforeEach
+    void setUp() {
+        ReflectionTestUtils.setField(singleFlight, "meterRegistry", meterRegistry);
+    }
+
+    @Test
+    void concurrentIdenticalReadsRunOnce() throws Exception {
+        CompletableFuture<String> first = CompletableFuture.supplyAsync(() -> singleFlight.execute("read", 1L, "key", this::blockingRead));
+        started.await(5, TimeUnit.SECONDS);
+        CompletableFuture<String> second = CompletableFuture.supplyAsync(() -> singleFlight.execute("read", 1L, "key", this::blockingRead));
+        awaitCollapsed(1);
+        release.countDown();
+
+        assertEquals("result", first.get(5, TimeUnit.SECONDS));
+        assertEquals("result", second.get(5, TimeUnit.SECONDS));
+        assertEquals(1, reads.get());
+    }
+
+    @Test
+    void readsAfterForgetAreNotCollapsed() throws Exception {
+        CompletableFuture<String> first = CompletableFuture.supplyAsync(() -> singleFlight.execute("read", 1L, "key", this::blockingRead));
+        started.await(5, TimeUnit.SECONDS);
+        singleFlight.forget(1L);
+        release.countDown();
+
+        assertEquals("result", singleFlight.execute("read", 1L, "key", this::blockingRead));
+        assertEquals("result", first.get(5, TimeUnit.SECONDS));
+        assertEquals(2, reads.get());
+    }
+
+    private String blockingRead() {
+        reads.incrementAndGet();
+        started.countDown();
+        try {
+            release.await(5, TimeUnit.SECONDS);
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+        }
+        return "result";
+    }
+
+    private void awaitCollapsed(int count) throws InterruptedException {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (meterRegistry.counter("taskmanager.singleflight.collapsed", "name", "read").count() < count
+                && System.nanoTime() < deadline) {
+            Thread.sleep(1);
+        }
+    }
+}
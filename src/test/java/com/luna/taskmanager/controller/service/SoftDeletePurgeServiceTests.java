@@ -0,0 +1,99 @@
+package com.luna.taskmanager.controller.service;
+
+import com.luna.taskmanager.TestFixtures;
+import com.luna.taskmanager.model.TaskLists;
+import com.luna.taskmanager.model.Tasks;
+import com.luna.taskmanager.model.User;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.jdbc.Sql;
+
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * Runs the purge on demand against the generated schema, the archive tables coming from db/purge-archive-schema.sql.
+ * Batches of two rows make the job go through several batches per table.
+ */
+@SpringBootTest(properties = {
+        "purge.enabled=true",
+        "purge.cron=-",
+        "purge.retention=P1D",
+        "purge.batch-size=2",
+        "purge.pause-between-batches=PT0S"
+})
+@Sql("/db/purge-archive-schema.sql")
+@Import(TestFixtures.class)
+class SoftDeletePurgeServiceTests {
+
+    private static final int TASKS_PER_LIST = 5;
+
+    @Autowired
+    private SoftDeletePurgeService purgeService;
+
+    @Autowired
+    private TestFixtures fixtures;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    private TaskLists taskList;
+
+    private final List<Tasks> tasks = new ArrayList<>();
+
+    @BeforeEach
+    void setUp() {
+        User owner = fixtures.user();
+
+        taskList = fixtures.taskList(owner, "list");
+        for (int i = 0; i < TASKS_PER_LIST; i++) {
+            tasks.add(fixtures.task(owner, taskList, "task " + i));
+        }
+    }
+
+    @Test
+    void rowsDeletedBeforeRetentionAreArchived() {
+        Date expired = new Date(System.currentTimeMillis() - TimeUnit.DAYS.toMillis(2));
+        jdbcTemplate.update("UPDATE task_lists SET is_deleted = 1, updated_at = ? WHERE uuid = ?", expired, taskList.getUuid());
+        jdbcTemplate.update("UPDATE tasks SET is_deleted = 1, updated_at = ? WHERE task_list_uuid = ?", expired, taskList.getUuid());
+
+        purgeService.purge();
+
+        assertEquals(0, count("tasks"));
+        assertEquals(TASKS_PER_LIST, count("tasks_archive"));
+        assertEquals(0, count("task_lists"));
+        assertEquals(1, count("task_lists_archive"));
+    }
+
+    @Test
+    void rowsWithinRetentionAreKept() {
+        Date expired = new Date(System.currentTimeMillis() - TimeUnit.DAYS.toMillis(2));
+        jdbcTemplate.update("UPDATE task_lists SET is_deleted = 1, updated_at = ? WHERE uuid = ?", expired, taskList.getUuid());
+        jdbcTemplate.update("UPDATE tasks SET is_deleted = 1, updated_at = ? WHERE task_list_uuid = ?", expired, taskList.getUuid());
+        // deleted an hour ago, still within the retention, and keeping its task list from being purged
+        jdbcTemplate.update("UPDATE tasks SET updated_at = ? WHERE uuid = ?",
+                new Date(System.currentTimeMillis() - TimeUnit.HOURS.toMillis(1)), tasks.get(0).getUuid());
+
+        purgeService.purge();
+
+        assertEquals(1, count("tasks"));
+        assertEquals(TASKS_PER_LIST - 1, count("tasks_archive"));
+        assertEquals(1, count("task_lists"));
+        assertEquals(0, count("task_lists_archive"));
+    }
+
+    // rows of this test's task list, other tests leave theirs in the shared database
+    private int count(String table) {
+        String column = table.startsWith("task_lists") ? "uuid" : "task_list_uuid";
+        return jdbcTemplate.queryForObject("SELECT COUNT(*) FROM " + table + " WHERE " + column + " = ?", Integer.class,
+                taskList.getUuid());
+    }
+}
@@ -0,0 +1,102 @@
+package com.luna.taskmanager.controller.service;
+
+import com.luna.taskmanager.TestFixtures;
+import com.luna.taskmanager.dto.AuthenticatedUser;
+import com.luna.taskmanager.model.TaskLists;
+import com.luna.taskmanager.model.Tasks;
+import com.luna.taskmanager.model.User;
+import com.luna.taskmanager.model.responses.SyncResponse;
+import com.luna.taskmanager.repository.TasksRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.context.SecurityContextHolder;
+
+import java.io.ByteArrayOutputStream;
+import java.util.Collections;
+import java.util.Date;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+
+/**
+ * Syncs with read replicas enabled, the replica being an embedded database with the schema of the primary
+ * and none of its rows, as a replica lagging behind every write would be.
+ */
+@SpringBootTest(properties = {
+        "replica.enabled=true",
+        "replica.urls=" + SyncServiceTests.REPLICA_URL
+})
+@Import(TestFixtures.class)
+class SyncServiceTests {
+
+    static final String REPLICA_URL = "jdbc:h2:mem:sync-replica;MODE=MySQL;DATABASE_TO_LOWER=TRUE;DB_CLOSE_DELAY=-1";
+
+    private static final int TASKS_PER_LIST = 3;
+
+    @Autowired
+    private SyncService syncService;
+
+    @Autowired
+    private TestFixtures fixtures;
+
+    @Autowired
+    private TasksService tasksService;
+
+    @Autowired
+    private TasksRepository tasksRepository;
+
+    private AuthenticatedUser principal;
+
+    private Tasks task;
+
+    @BeforeEach
+    void setUp() {
+        User owner = fixtures.user();
+
+        TaskLists taskList = fixtures.taskList(owner, "list");
+        for (int i = 0; i < TASKS_PER_LIST; i++) {
+            task = fixtures.task(owner, taskList, "task " + i);
+        }
+
+        fixtures.laggingReplica(REPLICA_URL);
+
+        // written without a security context, so the user is not pinned to the primary by read-your-writes
+        principal = TestFixtures.principal(owner);
+    }
+
+    @Test
+    void syncReadsFromPrimaryWhileReplicaLags() throws Exception {
+        SyncResponse response = syncService.sync(null, 100, principal);
+
+        assertEquals(1, response.getTaskLists().size());
+        assertEquals(TASKS_PER_LIST, response.getTasks().size());
+    }
+
+    @Test
+    void syncDoesNotPinUserToPrimary() throws Exception {
+        SecurityContextHolder.getContext().setAuthentication(
+                new UsernamePasswordAuthenticationToken(principal, null, principal.getAuthorities()));
+        try {
+            syncService.sync(null, 100, principal);
+
+            assertEquals(0, tasksService.exportTasks(principal, new ByteArrayOutputStream()));
+        } finally {
+            SecurityContextHolder.clearContext();
+        }
+    }
+
+    @Test
+    void deletedTasksAreReportedAsTombstones() throws Exception {
+        tasksRepository.softDeleteByIdAndUserId(task.getUuid(), principal.getId(), new Date());
+
+        SyncResponse response = syncService.sync(null, 100, principal);
+
+        assertEquals(TASKS_PER_LIST - 1, response.getTasks().size());
+        assertEquals(Collections.singletonList(task.getUuid()), response.getDeletedTasks());
+        assertFalse(response.isHasMore());
+    }
+}
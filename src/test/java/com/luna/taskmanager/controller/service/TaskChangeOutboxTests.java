@@ -0,0 +1,104 @@
+package com.luna.taskmanager.controller.service;
+
+import com.luna.taskmanager.TestFixtures;
+import com.luna.taskmanager.dto.AuthenticatedUser;
+import com.luna.taskmanager.model.OutboxEvent;
+import com.luna.taskmanager.model.User;
+import com.luna.taskmanager.model.request.CreateTaskListRequest;
+import com.luna.taskmanager.model.request.UpdateTaskListRequest;
+import com.luna.taskmanager.model.responses.TaskListResponse;
+import com.luna.taskmanager.repository.OutboxEventRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+/**
+ * Asserts that changes append their outbox events in their own transaction and that the relay delivers them in order.
+ * The scheduled relay is disabled in tests, the relay under test is wired by hand with an in-memory sink.
+ */
+@SpringBootTest
+@Import(TestFixtures.class)
+class TaskChangeOutboxTests {
+
+    @Autowired
+    private TaskListsService taskListsService;
+
+    @Autowired
+    private TestFixtures fixtures;
+
+    @Autowired
+    private OutboxEventRepository outboxEventRepository;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    private final List<OutboxEvent> published = new ArrayList<>();
+
+    private AuthenticatedUser principal;
+
+    @BeforeEach
+    void setUp() {
+        jdbcTemplate.update("DELETE FROM task_change_outbox");
+        User owner = fixtures.user();
+        principal = TestFixtures.principal(owner);
+    }
+
+    @Test
+    void relayDeliversEventsInOrderAndEmptiesOutbox() throws Exception {
+        TaskListResponse taskList = createTaskList();
+        UpdateTaskListRequest update = new UpdateTaskListRequest();
+        update.setUuid(taskList.getUuid().toString());
+        update.setDescription("changed");
+        taskListsService.updateTaskList(update, principal, null);
+
+        assertEquals(2, relay(events -> published.addAll(events)).relay());
+
+        assertEquals(List.of(OutboxEvent.CREATED, OutboxEvent.UPDATED), published.stream().map(OutboxEvent::getEventType).toList());
+        assertEquals(taskList.getUuid().toString(), published.get(1).getAggregateUuid());
+        assertEquals(0, outboxEventRepository.count());
+    }
+
+    @Test
+    void failedPublishLeavesEventsInOutbox() throws Exception {
+        createTaskList();
+
+        OutboxRelay relay = relay(events -> {
+            throw new IllegalStateException("sink unavailable");
+        });
+
+        assertThrows(IllegalStateException.class, relay::relay);
+        assertEquals(1, outboxEventRepository.count());
+    }
+
+    private TaskListResponse createTaskList() throws Exception {
+        CreateTaskListRequest request = new CreateTaskListRequest();
+        request.setName("list");
+        request.setDescription("list");
+        TaskListResponse taskList = taskListsService.createTaskList(request, principal);
+        return taskList;
+    }
+
+    private OutboxRelay relay(OutboxSink sink) {
+        OutboxRelay relay = new OutboxRelay(new SimpleMeterRegistry());
+        ReflectionTestUtils.setField(relay, "outboxEventRepository", outboxEventRepository);
+        ReflectionTestUtils.setField(relay, "outboxSink", sink);
+        ReflectionTestUtils.setField(relay, "transactionTemplate", transactionTemplate);
+        ReflectionTestUtils.setField(relay, "batchSize", 500);
+        return relay;
+    }
+}
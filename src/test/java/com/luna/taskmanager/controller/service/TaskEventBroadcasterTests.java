@@ -0,0 +1,133 @@
+package com.luna.taskmanager.controller.service;
+
+import com.luna.taskmanager.TestFixtures;
+import com.luna.taskmanager.dto.AuthenticatedUser;
+import com.luna.taskmanager.model.TaskLists;
+import com.luna.taskmanager.model.Tasks;
+import com.luna.taskmanager.model.User;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.http.MediaType;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.util.Collections;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.springframework.security.test.web.servlet.request.SecurityMockMvcRequestPostProcessors.user;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.delete;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.put;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Opens task event streams through the events endpoint and asserts what their clients receive.
+ * Buffers hold a single event, so a burst of changes overflows them.
+ */
+@SpringBootTest(properties = "task-events.buffer-size=1")
+@AutoConfigureMockMvc
+@Import(TestFixtures.class)
+class TaskEventBroadcasterTests {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private TestFixtures fixtures;
+
+    @Autowired
+    private TaskEventBroadcaster broadcaster;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    private AuthenticatedUser principal;
+
+    private TaskLists taskList;
+
+    private Tasks task;
+
+    @BeforeEach
+    void setUp() {
+        User owner = fixtures.user();
+
+        taskList = fixtures.taskList(owner, "list");
+        task = fixtures.task(owner, taskList, "task");
+
+        principal = TestFixtures.principal(owner);
+    }
+
+    @Test
+    void committedChangeIsStreamed() throws Exception {
+        MockHttpServletResponse stream = subscribe();
+
+        mockMvc.perform(put("/api/v1/tasks").with(user(principal))
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"uuid\":\"" + task.getUuid() + "\",\"status\":\"COMPLETED\"}"))
+                .andExpect(status().isOk());
+
+        awaitEvent(stream, "event:updated");
+        // the data line may be written after the event line
+        awaitEvent(stream, task.getUuid().toString());
+    }
+
+    @Test
+    void overflowIsReplacedByResync() throws Exception {
+        MockHttpServletResponse stream = subscribe();
+        double overflows = meterRegistry.counter("taskmanager.task.events.overflows").count();
+
+        // changes arrive faster than the stream is written to until its buffer of one event overflows
+        for (int i = 0; i < 100_000 && meterRegistry.counter("taskmanager.task.events.overflows").count() == overflows; i++) {
+            broadcaster.onTaskChange(new TaskChangeEvent(TaskChangeEvent.Type.UPDATED, principal.getId(), taskList.getUuid(),
+                    Collections.singletonMap("uuid", task.getUuid())));
+        }
+
+        assertTrue(meterRegistry.counter("taskmanager.task.events.overflows").count() > overflows);
+        awaitEvent(stream, "event:resync");
+    }
+
+    @Test
+    void taskListDeletionIsStreamedAsResync() throws Exception {
+        MockHttpServletResponse stream = subscribe();
+
+        mockMvc.perform(delete("/api/v1/tasklists/" + taskList.getUuid()).with(user(principal)))
+                .andExpect(status().isOk());
+
+        awaitEvent(stream, "event:resync");
+    }
+
+    @Test
+    void importIsStreamedAsResync() throws Exception {
+        MockHttpServletResponse stream = subscribe();
+
+        mockMvc.perform(post("/api/v1/tasks/import").with(user(principal))
+                        .contentType(MediaType.APPLICATION_NDJSON)
+                        .content("{\"name\":\"imported\",\"description\":\"\",\"tasklist_name\":\"list\"}\n"))
+                .andExpect(status().isOk());
+
+        awaitEvent(stream, "event:resync");
+    }
+
+    private MockHttpServletResponse subscribe() throws Exception {
+        return mockMvc.perform(get("/api/v1/tasks/tasklist/" + taskList.getUuid() + "/events").with(user(principal)))
+                .andExpect(request().asyncStarted())
+                .andReturn()
+                .getResponse();
+    }
+
+    private void awaitEvent(MockHttpServletResponse stream, String event) throws Exception {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (!stream.getContentAsString().contains(event) && System.nanoTime() < deadline) {
+            Thread.sleep(1);
+        }
+        assertTrue(stream.getContentAsString().contains(event), "Stream did not receive " + event);
+    }
+}
@@ -0,0 +1,113 @@
+package com.luna.taskmanager.controller.service;
+
+import com.luna.taskmanager.TestFixtures;
+import com.luna.taskmanager.dto.AuthenticatedUser;
+import com.luna.taskmanager.model.TaskLists;
+import com.luna.taskmanager.model.TaskStatus;
+import com.luna.taskmanager.model.User;
+import com.luna.taskmanager.model.responses.ImportTaskResponse;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.io.ByteArrayInputStream;
+import java.nio.charset.StandardCharsets;
+
+import static com.luna.taskmanager.exception.ErrorMessages.IMPORT_RECORD_TOO_LONG_MESSAGE;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+
+/**
+ * Imports NDJSON and CSV files and asserts which records are stored and which are reported.
+ * Chunks hold two records, so a file of three spans two transactions.
+ */
+@SpringBootTest(properties = {"task-import.commit-interval=2", "task-import.max-record-length=" + TaskImportServiceTests.MAX_RECORD_LENGTH})
+@Import(TestFixtures.class)
+class TaskImportServiceTests {
+
+    static final int MAX_RECORD_LENGTH = 256;
+
+    @Autowired
+    private TaskImportService taskImportService;
+
+    @Autowired
+    private TestFixtures fixtures;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    private AuthenticatedUser principal;
+
+    private TaskLists taskList;
+
+    @BeforeEach
+    void setUp() {
+        User owner = fixtures.user();
+
+        taskList = fixtures.taskList(owner, "list");
+
+        principal = TestFixtures.principal(owner);
+    }
+
+    @Test
+    void invalidNdjsonRecordsAreReportedWithTheirIndex() throws Exception {
+        String records = "{\"name\":\"imported 1\",\"description\":\"\",\"tasklist_name\":\"list\"}\n"
+                + "{\"name\":\"imported 2\",\"description\":\"\",\"status\":\"COMPLETED\",\"tasklist_name\":\"list\"}\n"
+                + "{\"name\":\"imported 3\",\"description\":\"\",\"tasklist_name\":\"unknown\"}\n"
+                + "\n"
+                + "not json\n";
+
+        ImportTaskResponse response = taskImportService.importNdjson(stream(records), principal);
+
+        assertEquals(2, response.getImported());
+        assertEquals(2, response.getFailed());
+        assertEquals(2, response.getErrors().get(0).getIndex());
+        assertEquals("RESOURCE_NOT_FOUND", response.getErrors().get(0).getCode());
+        assertEquals(3, response.getErrors().get(1).getIndex());
+        assertEquals("INVALID_VALUE", response.getErrors().get(1).getCode());
+        assertFalse(response.isErrorsTruncated());
+        assertEquals(2, countTasks());
+        assertEquals(1, jdbcTemplate.queryForObject("SELECT COUNT(*) FROM tasks WHERE task_list_uuid = ? AND status = ?",
+                Integer.class, taskList.getUuid(), TaskStatus.COMPLETED.name()));
+    }
+
+    @Test
+    void oversizeNdjsonRecordIsReportedAndTheNextOneImported() throws Exception {
+        String records = "{\"name\":\"imported 1\",\"description\":\"" + "x".repeat(MAX_RECORD_LENGTH) + "\",\"tasklist_name\":\"list\"}\n"
+                + "{\"name\":\"imported 2\",\"description\":\"\",\"tasklist_name\":\"list\"}\r\n";
+
+        ImportTaskResponse response = taskImportService.importNdjson(stream(records), principal);
+
+        assertEquals(1, response.getImported());
+        assertEquals(1, response.getFailed());
+        assertEquals(0, response.getErrors().get(0).getIndex());
+        assertEquals("INVALID_VALUE", response.getErrors().get(0).getCode());
+        assertEquals(IMPORT_RECORD_TOO_LONG_MESSAGE, response.getErrors().get(0).getMessage());
+        assertEquals(1, countTasks());
+    }
+
+    @Test
+    void csvRowsAreStoredAcrossChunks() throws Exception {
+        String rows = "name,description,status,tasklist_name\n"
+                + "imported 1,,PENDING,list\n"
+                + "imported 2,,COMPLETED,list\n"
+                + "imported 3,,,list\n";
+
+        ImportTaskResponse response = taskImportService.importCsv(stream(rows), principal);
+
+        assertEquals(3, response.getImported());
+        assertEquals(0, response.getFailed());
+        assertEquals(3, countTasks());
+    }
+
+    private int countTasks() {
+        return jdbcTemplate.queryForObject("SELECT COUNT(*) FROM tasks WHERE task_list_uuid = ?", Integer.class, taskList.getUuid());
+    }
+
+    private static ByteArrayInputStream stream(String content) {
+        return new ByteArrayInputStream(content.getBytes(StandardCharsets.UTF_8));
+    }
+}
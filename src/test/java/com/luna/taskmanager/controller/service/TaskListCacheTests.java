@@ -0,0 +1,104 @@
+package com.luna.taskmanager.controller.service;
+
+import com.luna.taskmanager.TestFixtures;
+import com.luna.taskmanager.dto.AuthenticatedUser;
+import com.luna.taskmanager.model.User;
+import com.luna.taskmanager.model.request.CreateTaskListRequest;
+import com.luna.taskmanager.model.request.UpdateTaskListRequest;
+import com.luna.taskmanager.model.responses.TaskListResponse;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.Collections;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * Asserts that task list reads are served from the cache and that writes evict the stale entries.
+ */
+@SpringBootTest
+@Import(TestFixtures.class)
+class TaskListCacheTests {
+
+    @Autowired
+    private TaskListsService taskListsService;
+
+    @Autowired
+    private TestFixtures fixtures;
+
+    @Autowired
+    private TaskListCache taskListCache;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    private Statistics statistics;
+
+    private AuthenticatedUser principal;
+
+    private TaskListResponse taskList;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        User owner = fixtures.user();
+        principal = TestFixtures.principal(owner);
+
+        CreateTaskListRequest request = new CreateTaskListRequest();
+        request.setName("list");
+        request.setDescription("list");
+        taskList = taskListsService.createTaskList(request, principal);
+
+        statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+    }
+
+    @Test
+    void repeatedReadsAreServedFromCache() throws Exception {
+        taskListsService.getTaskList(taskList.getUuid().toString(), principal);
+        taskListsService.getTaskList(taskList.getUuid().toString(), principal);
+        taskListsService.getAllTaskLists(principal);
+        taskListsService.getAllTaskLists(principal);
+
+        assertEquals(2, statistics.getPrepareStatementCount());
+    }
+
+    @Test
+    void updateEvictsCachedTaskList() throws Exception {
+        taskListsService.getTaskList(taskList.getUuid().toString(), principal);
+        assertEquals(1, taskListsService.getAllTaskLists(principal).size());
+
+        UpdateTaskListRequest update = new UpdateTaskListRequest();
+        update.setUuid(taskList.getUuid().toString());
+        update.setDescription("updated");
+        taskListsService.updateTaskList(update, principal, null);
+
+        assertEquals("updated", taskListsService.getTaskList(taskList.getUuid().toString(), principal).getDescription());
+        assertEquals("updated", taskListsService.getAllTaskLists(principal).get(0).getDescription());
+    }
+
+    @Test
+    void evictionInsideTransactionHappensAfterCommit() {
+        TaskListResponse stale = TaskListResponse.builder().uuid(taskList.getUuid()).description("stale").build();
+        TaskListResponse fresh = TaskListResponse.builder().uuid(taskList.getUuid()).description("fresh").build();
+
+        new TransactionTemplate(transactionManager).executeWithoutResult(status -> {
+            taskListCache.evictAll(principal.getId());
+            // a concurrent read missing the cache before the commit caches what it read
+            taskListCache.getAllTaskLists(principal.getId(), () -> Collections.singletonList(stale));
+        });
+
+        assertEquals("fresh", taskListCache.getAllTaskLists(principal.getId(), () -> Collections.singletonList(fresh))
+                .get(0).getDescription());
+    }
+}
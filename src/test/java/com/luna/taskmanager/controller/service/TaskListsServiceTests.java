@@ -0,0 +1,92 @@
+package com.luna.taskmanager.controller.service;
+
+import com.luna.taskmanager.TestFixtures;
+import com.luna.taskmanager.dto.AuthenticatedUser;
+import com.luna.taskmanager.exception.AppErrors;
+import com.luna.taskmanager.exception.AppException;
+import com.luna.taskmanager.model.TaskLists;
+import com.luna.taskmanager.model.Tasks;
+import com.luna.taskmanager.model.User;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Deletes task lists and asserts that their tasks are soft deleted with them.
+ */
+@SpringBootTest
+@Import(TestFixtures.class)
+class TaskListsServiceTests {
+
+    private static final int TASKS_PER_LIST = 3;
+
+    @Autowired
+    private TaskListsService taskListsService;
+
+    @Autowired
+    private TestFixtures fixtures;
+
+    @Autowired
+    private TasksService tasksService;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    private AuthenticatedUser principal;
+
+    private User owner;
+
+    private TaskLists taskList;
+
+    private Tasks task;
+
+    @BeforeEach
+    void setUp() {
+        owner = fixtures.user();
+
+        taskList = fixtures.taskList(owner, "list");
+        for (int i = 0; i < TASKS_PER_LIST; i++) {
+            task = fixtures.task(owner, taskList, "task " + i);
+        }
+
+        principal = TestFixtures.principal(owner);
+    }
+
+    @Test
+    void deletingTaskListSoftDeletesItsLiveTasks() throws Exception {
+        tasksService.deleteTask(task.getUuid().toString(), principal);
+
+        int deletedTasks = taskListsService.deleteTaskList(taskList.getUuid().toString(), principal);
+
+        assertEquals(TASKS_PER_LIST - 1, deletedTasks);
+        assertEquals(TASKS_PER_LIST, jdbcTemplate.queryForObject("SELECT COUNT(*) FROM tasks WHERE task_list_uuid = ? AND is_deleted = 1",
+                Integer.class, taskList.getUuid()));
+        assertTrue(tasksService.getTasks(taskList.getUuid().toString(), principal).isEmpty());
+    }
+
+    @Test
+    void deletingTaskListLeavesOtherTaskListsAlone() throws Exception {
+        TaskLists other = fixtures.taskList(owner, "other");
+        fixtures.task(owner, other, "other task");
+
+        taskListsService.deleteTaskList(taskList.getUuid().toString(), principal);
+
+        assertEquals(1, tasksService.getTasks(other.getUuid().toString(), principal).size());
+    }
+
+    @Test
+    void deletedTaskListIsNotFound() throws Exception {
+        taskListsService.deleteTaskList(taskList.getUuid().toString(), principal);
+
+        AppException ex = assertThrows(AppException.class,
+                () -> taskListsService.deleteTaskList(taskList.getUuid().toString(), principal));
+        assertEquals(AppErrors.RESOURCE_NOT_FOUND, ex.getErrorCode());
+    }
+}
@@ -0,0 +1,124 @@
+package com.luna.taskmanager.controller.service;
+
+import com.luna.taskmanager.TestFixtures;
+import com.luna.taskmanager.dto.AuthenticatedUser;
+import com.luna.taskmanager.model.TaskLists;
+import com.luna.taskmanager.model.Tasks;
+import com.luna.taskmanager.model.User;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.web.servlet.MockMvc;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.springframework.security.test.web.servlet.request.SecurityMockMvcRequestPostProcessors.user;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.put;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Asserts that the entity tag of a listing read from the aggregate equals the one built from its tasks,
+ * and that it changes when a task is updated without moving the latest update time.
+ * Conditional requests are sent through the task endpoints and must be answered from the tags.
+ */
+@SpringBootTest
+@AutoConfigureMockMvc
+@Import(TestFixtures.class)
+class TasksETagTests {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private TestFixtures fixtures;
+
+    @Autowired
+    private TasksService tasksService;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    private AuthenticatedUser principal;
+
+    private TaskLists taskList;
+
+    private Tasks task;
+
+    @BeforeEach
+    void setUp() {
+        User owner = fixtures.user();
+
+        taskList = fixtures.taskList(owner, "list");
+        for (int i = 0; i < 2; i++) {
+            task = fixtures.task(owner, taskList, "task " + i);
+        }
+
+        principal = TestFixtures.principal(owner);
+    }
+
+    @Test
+    void listingTagFromAggregateEqualsTagFromTasks() throws Exception {
+        String uuid = taskList.getUuid().toString();
+
+        assertEquals(ETags.of(tasksService.getTasks(uuid, principal)), tasksService.getTasksETag(uuid, principal));
+    }
+
+    @Test
+    void updateWithinTheSameMillisecondChangesListingTag() throws Exception {
+        String uuid = taskList.getUuid().toString();
+        String before = tasksService.getTasksETag(uuid, principal);
+
+        // an update stamped with the same time as the latest one, as two updates within a millisecond
+        // or an update from a node whose clock lags are
+        jdbcTemplate.update("UPDATE tasks SET version = version + 1, status = 'COMPLETED' WHERE uuid = ?", task.getUuid());
+
+        assertNotEquals(before, tasksService.getTasksETag(uuid, principal));
+    }
+
+    @Test
+    void matchingIfNoneMatchIsAnsweredWithNotModifiedAndTheSameTag() throws Exception {
+        String etag = mockMvc.perform(get("/api/v1/tasks/" + task.getUuid()).with(user(principal)))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+
+        mockMvc.perform(get("/api/v1/tasks/" + task.getUuid()).header(HttpHeaders.IF_NONE_MATCH, etag).with(user(principal)))
+                .andExpect(status().isNotModified())
+                .andExpect(header().string(HttpHeaders.ETAG, etag));
+    }
+
+    @Test
+    void staleIfMatchIsRejectedWithPreconditionFailed() throws Exception {
+        String etag = mockMvc.perform(get("/api/v1/tasks/" + task.getUuid()).with(user(principal)))
+                .andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+        // a concurrent update committed after the client read the task
+        jdbcTemplate.update("UPDATE tasks SET version = version + 1 WHERE uuid = ?", task.getUuid());
+
+        mockMvc.perform(put("/api/v1/tasks").header(HttpHeaders.IF_MATCH, etag).with(user(principal))
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"uuid\":\"" + task.getUuid() + "\",\"status\":\"COMPLETED\"}"))
+                .andExpect(status().isPreconditionFailed())
+                .andExpect(jsonPath("$.code").value("PRECONDITION_FAILED"));
+    }
+
+    @Test
+    void ifMatchOnDeletedTaskIsAnsweredWithNotFound() throws Exception {
+        String etag = mockMvc.perform(get("/api/v1/tasks/" + task.getUuid()).with(user(principal)))
+                .andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+        tasksService.deleteTask(task.getUuid().toString(), principal);
+
+        mockMvc.perform(put("/api/v1/tasks").header(HttpHeaders.IF_MATCH, etag).with(user(principal))
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"uuid\":\"" + task.getUuid() + "\",\"status\":\"COMPLETED\"}"))
+                .andExpect(status().isNotFound())
+                .andExpect(jsonPath("$.code").value("RESOURCE_NOT_FOUND"));
+    }
+}
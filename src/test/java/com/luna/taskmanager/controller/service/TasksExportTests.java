@@ -0,0 +1,83 @@
+package com.luna.taskmanager.controller.service;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.luna.taskmanager.TestFixtures;
+import com.luna.taskmanager.dto.AuthenticatedUser;
+import com.luna.taskmanager.model.TaskLists;
+import com.luna.taskmanager.model.Tasks;
+import com.luna.taskmanager.model.User;
+import com.luna.taskmanager.repository.TasksRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.annotation.Import;
+
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.Date;
+import java.util.HashSet;
+import java.util.Set;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * Exports the tasks of a user and asserts that every live task across their task lists is written as one NDJSON line.
+ */
+@SpringBootTest
+@Import(TestFixtures.class)
+class TasksExportTests {
+
+    @Autowired
+    private TasksService tasksService;
+
+    @Autowired
+    private TestFixtures fixtures;
+
+    @Autowired
+    private TasksRepository tasksRepository;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    private AuthenticatedUser principal;
+
+    private Set<UUID> liveTasks;
+
+    @BeforeEach
+    void setUp() {
+        User owner = fixtures.user();
+        User other = fixtures.user();
+
+        TaskLists first = fixtures.taskList(owner, "first");
+        TaskLists second = fixtures.taskList(owner, "second");
+        liveTasks = new HashSet<>();
+        liveTasks.add(fixtures.task(owner, first, "task 1").getUuid());
+        liveTasks.add(fixtures.task(owner, first, "task 2").getUuid());
+        liveTasks.add(fixtures.task(owner, second, "task 3").getUuid());
+        Tasks deleted = fixtures.task(owner, second, "deleted");
+        fixtures.task(other, fixtures.taskList(other, "other"), "other task");
+        tasksRepository.softDeleteByIdAndUserId(deleted.getUuid(), owner.getId(), new Date());
+
+        principal = TestFixtures.principal(owner);
+    }
+
+    @Test
+    void everyLiveTaskIsWrittenOnItsOwnLine() throws Exception {
+        ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
+
+        long exported = tasksService.exportTasks(principal, outputStream);
+
+        String[] lines = outputStream.toString(StandardCharsets.UTF_8).split("\n");
+        Set<UUID> exportedTasks = new HashSet<>();
+        for (String line : lines) {
+            JsonNode task = objectMapper.readTree(line);
+            exportedTasks.add(UUID.fromString(task.get("uuid").asText()));
+        }
+        assertEquals(liveTasks.size(), exported);
+        assertEquals(liveTasks.size(), lines.length);
+        assertEquals(liveTasks, exportedTasks);
+    }
+}
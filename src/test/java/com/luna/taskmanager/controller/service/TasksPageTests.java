@@ -0,0 +1,172 @@
+package com.luna.taskmanager.controller.service;
+
+import com.luna.taskmanager.TestFixtures;
+import com.luna.taskmanager.dto.AuthenticatedUser;
+import com.luna.taskmanager.model.TaskLists;
+import com.luna.taskmanager.model.TaskStatus;
+import com.luna.taskmanager.model.User;
+import com.luna.taskmanager.model.request.GetTasksPageRequest;
+import com.luna.taskmanager.model.responses.TaskPageResponse;
+import com.luna.taskmanager.model.responses.TaskResponse;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.sql.Timestamp;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.springframework.security.test.web.servlet.request.SecurityMockMvcRequestPostProcessors.user;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Walks the keyset-paginated task listing page by page, all tasks created within the same millisecond so that
+ * only the UUID tie breaker orders them, and asserts that every task is returned exactly once.
+ * Invalid page requests are sent through the endpoint and must be answered with 400.
+ */
+@SpringBootTest
+@AutoConfigureMockMvc
+@Import(TestFixtures.class)
+class TasksPageTests {
+
+    private static final int TASKS_PER_LIST = 7;
+
+    private static final int LIMIT = 2;
+
+    @Autowired
+    private TasksService tasksService;
+
+    @Autowired
+    private TestFixtures fixtures;
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    private AuthenticatedUser principal;
+
+    private TaskLists taskList;
+
+    // the tasks in creation order
+    private List<UUID> tasks;
+
+    @BeforeEach
+    void setUp() {
+        User owner = fixtures.user();
+
+        taskList = fixtures.taskList(owner, "list");
+        tasks = new ArrayList<>();
+        for (int i = 0; i < TASKS_PER_LIST; i++) {
+            tasks.add(fixtures.task(owner, taskList, "task " + i).getUuid());
+        }
+        Timestamp createdAt = new Timestamp(System.currentTimeMillis());
+        jdbcTemplate.update("UPDATE tasks SET created_at = ? WHERE task_list_uuid = ?", createdAt, taskList.getUuid());
+
+        principal = TestFixtures.principal(owner);
+    }
+
+    @Test
+    void walkingAllPagesReturnsEveryTaskOnce() throws Exception {
+        List<List<UUID>> pages = walk(null, "created_at");
+
+        List<UUID> walked = pages.stream().flatMap(List::stream).toList();
+        assertEquals(TASKS_PER_LIST, walked.size());
+        assertEquals(new HashSet<>(tasks), new HashSet<>(walked));
+        assertEquals((TASKS_PER_LIST + LIMIT - 1) / LIMIT, pages.size());
+    }
+
+    @Test
+    void statusFilterPagesOnlyTasksOfThatStatus() throws Exception {
+        List<UUID> completed = tasks.subList(0, 2 * LIMIT);
+        for (UUID uuid : completed) {
+            jdbcTemplate.update("UPDATE tasks SET status = ? WHERE uuid = ?", TaskStatus.COMPLETED.name(), uuid);
+        }
+
+        List<List<UUID>> pages = walk(TaskStatus.COMPLETED.name(), "created_at");
+
+        // a last page filled up to the limit must not announce an empty one after it
+        assertEquals(2, pages.size());
+        assertEquals(new HashSet<>(completed), new HashSet<>(pages.stream().flatMap(List::stream).toList()));
+    }
+
+    @Test
+    void updatedAtSortPagesInUpdateOrder() throws Exception {
+        // the last created task is the least recently updated
+        long now = System.currentTimeMillis();
+        for (int i = 0; i < TASKS_PER_LIST; i++) {
+            jdbcTemplate.update("UPDATE tasks SET updated_at = ? WHERE uuid = ?", new Timestamp(now - i * 1000L), tasks.get(i));
+        }
+
+        List<UUID> walked = walk(null, "updated_at").stream().flatMap(List::stream).toList();
+
+        List<UUID> expected = new ArrayList<>(tasks);
+        Collections.reverse(expected);
+        assertEquals(expected, walked);
+    }
+
+    @Test
+    void cursorOfOneSortIsRejectedForTheOther() throws Exception {
+        String cursor = tasksService.getTasksPage(request(null, "created_at", null), principal).getNextCursor();
+        assertNotNull(cursor);
+
+        mockMvc.perform(get("/api/v1/tasks/tasklist/" + taskList.getUuid()).param("limit", String.valueOf(LIMIT))
+                        .param("sort", "updated_at").param("cursor", cursor).with(user(principal)))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.code").value("INVALID_PARAMETER"));
+    }
+
+    @Test
+    void malformedCursorIsRejected() throws Exception {
+        mockMvc.perform(get("/api/v1/tasks/tasklist/" + taskList.getUuid()).param("limit", String.valueOf(LIMIT))
+                        .param("cursor", "not a cursor").with(user(principal)))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.code").value("INVALID_PARAMETER"));
+    }
+
+    @Test
+    void limitOutOfRangeIsRejected() throws Exception {
+        for (String limit : new String[]{"0", "501"}) {
+            mockMvc.perform(get("/api/v1/tasks/tasklist/" + taskList.getUuid()).param("limit", limit).with(user(principal)))
+                    .andExpect(status().isBadRequest())
+                    .andExpect(jsonPath("$.code").value("INVALID_PARAMETER"));
+        }
+    }
+
+    // the task UUIDs of every page, following next_cursor until it is null
+    private List<List<UUID>> walk(String status, String sort) throws Exception {
+        List<List<UUID>> pages = new ArrayList<>();
+        String cursor = null;
+        do {
+            TaskPageResponse page = tasksService.getTasksPage(request(status, sort, cursor), principal);
+            pages.add(page.getTasks().stream().map(TaskResponse::getUuid).toList());
+            cursor = page.getNextCursor();
+        } while (cursor != null && pages.size() <= TASKS_PER_LIST);
+        assertNull(cursor, "next_cursor of the last page");
+        return pages;
+    }
+
+    private GetTasksPageRequest request(String status, String sort, String cursor) {
+        return GetTasksPageRequest.builder()
+                .taskListUuid(taskList.getUuid().toString())
+                .limit(LIMIT)
+                .status(status)
+                .sort(sort)
+                .cursor(cursor)
+                .build();
+    }
+}
@@ -0,0 +1,107 @@
+package com.luna.taskmanager.controller.service;
+
+import com.luna.taskmanager.TestFixtures;
+import com.luna.taskmanager.dto.UserIdentity;
+import com.luna.taskmanager.model.User;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+
+/**
+ * Resolves users through the identity cache and asserts when the users table is queried, using Hibernate statistics.
+ * Logins bypass the cache, which holds no password hash.
+ */
+@SpringBootTest
+@Import(TestFixtures.class)
+class UserIdentityCacheTests {
+
+    @Autowired
+    private UserIdentityCache userIdentityCache;
+
+    @Autowired
+    private TestFixtures fixtures;
+
+    @Autowired
+    private UserService userService;
+
+    @Autowired
+    private UserDetailsServiceImpl userDetailsService;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    private Statistics statistics;
+
+    private User user;
+
+    @BeforeEach
+    void setUp() {
+        user = fixtures.user();
+
+        statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+    }
+
+    @Test
+    void secondLookupWithinTheTtlDoesNotQueryUsers() {
+        UserIdentity first = userIdentityCache.findByUsername(user.getUsername()).orElseThrow();
+        assertEquals(1, statistics.getPrepareStatementCount());
+
+        UserIdentity second = userIdentityCache.findByUsername(user.getUsername()).orElseThrow();
+
+        assertEquals(1, statistics.getPrepareStatementCount());
+        assertEquals(user.getId(), second.getId());
+        assertEquals(first, second);
+    }
+
+    @Test
+    void registeringUserInvalidatesTheEntry() {
+        userIdentityCache.findByUsername(user.getUsername()).orElseThrow();
+        // the account is removed behind the cache's back and its username registered again
+        jdbcTemplate.update("DELETE FROM users WHERE id = ?", user.getId());
+
+        userService.registerUser(user.getUsername(), "re-" + user.getEmail(), "password");
+
+        UserIdentity identity = userIdentityCache.findByUsername(user.getUsername()).orElseThrow();
+        assertNotEquals(user.getId(), identity.getId());
+    }
+
+    @Test
+    void loginReadsChangedPasswordWithoutInvalidation() {
+        userIdentityCache.findByUsername(user.getUsername()).orElseThrow();
+
+        jdbcTemplate.update("UPDATE users SET password = ? WHERE id = ?", "changed", user.getId());
+
+        assertEquals("changed", userDetailsService.loadUserByUsername(user.getUsername()).getPassword());
+    }
+
+    @Test
+    void cacheMetricsAreRegistered() {
+        double hits = meterRegistry.get("cache.gets").tag("cache", "userIdentity").tag("result", "hit").functionCounter().count();
+
+        userIdentityCache.findByUsername(user.getUsername());
+        userIdentityCache.findByUsername(user.getUsername());
+
+        assertEquals(hits + 1, meterRegistry.get("cache.gets").tag("cache", "userIdentity").tag("result", "hit").functionCounter().count());
+        assertNotNull(meterRegistry.get("cache.gets").tag("cache", "userIdentity").tag("result", "miss").functionCounter());
+        assertNotNull(meterRegistry.get("cache.evictions").tag("cache", "userIdentity").functionCounter());
+        assertNotNull(meterRegistry.get("cache.size").tag("cache", "userIdentity").gauge());
+    }
+}
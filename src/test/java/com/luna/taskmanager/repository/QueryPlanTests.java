@@ -0,0 +1,182 @@
+package com.luna.taskmanager.repository;
+
+import com.luna.taskmanager.model.projection.TaskSummary;
+import jakarta.persistence.EntityManagerFactory;
+import org.flywaydb.core.Flyway;
+import org.hibernate.Session;
+import org.hibernate.SessionFactory;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.orm.jpa.EntityManagerHolder;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.sql.Types;
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.List;
+import java.util.UUID;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+
+/**
+ * Runs the Flyway migrations on an embedded database of their own, then calls every hot repository method,
+ * captures the SQL Hibernate generates for it with a StatementInspector and runs EXPLAIN on that SQL,
+ * failing when the plan falls back to a full table scan. H2 marks such plans with "tableScan",
+ * any index lookup is reported with the index name instead.
+ * Hibernate leaves the schema alone and binds UUIDs as BINARY(16) as it does on MySQL, so the plans are the ones
+ * of the indexes the migrations create, not of the ones generated from the entities.
+ */
+@SpringBootTest(properties = {
+        "spring.datasource.url=jdbc:h2:mem:query-plans;MODE=MySQL;DATABASE_TO_LOWER=TRUE;DB_CLOSE_DELAY=-1",
+        "spring.flyway.enabled=true",
+        "spring.jpa.hibernate.ddl-auto=none",
+        "spring.jpa.properties.hibernate.type.preferred_uuid_jdbc_type=BINARY"
+})
+class QueryPlanTests {
+
+    private static final int MIGRATIONS = 7;
+
+    @Autowired
+    private TasksRepository tasksRepository;
+
+    @Autowired
+    private TaskListsRepository taskListsRepository;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private Flyway flyway;
+
+    private final UUID uuid = UUID.randomUUID();
+
+    private final Date now = new Date();
+
+    @Test
+    void everyMigrationIsApplied() {
+        assertEquals(MIGRATIONS, flyway.info().applied().length);
+        assertEquals(0, flyway.info().pending().length);
+    }
+
+    @Test
+    void tasksOfTaskListUseIndex() {
+        assertNoTableScan(() -> tasksRepository.findSummariesByTaskListUuidAndUserIdAndIsDeleted(uuid, 1L, false));
+        assertNoTableScan(() -> tasksRepository.findByTaskListUuidAndUserIdAndIsDeleted(uuid, 1L, false));
+        assertNoTableScan(() -> tasksRepository.findVersionByTaskListUuidAndUserId(uuid, 1L));
+    }
+
+    @Test
+    void tasksPageOrderedByCreatedAtUsesIndex() {
+        assertNoTableScan(() -> tasksRepository.findPageOrderByCreatedAt(uuid, 1L, null, now, uuid, PageRequest.of(0, 51)));
+    }
+
+    @Test
+    void tasksPageOrderedByUpdatedAtUsesIndex() {
+        assertNoTableScan(() -> tasksRepository.findPageOrderByUpdatedAt(uuid, 1L, null, now, uuid, PageRequest.of(0, 51)));
+    }
+
+    @Test
+    void taskByUuidAndUserUsesIndex() {
+        assertNoTableScan(() -> tasksRepository.findSummaryByIdAndUserId(uuid, 1L));
+        assertNoTableScan(() -> tasksRepository.findLiveVersionByIdAndUserId(uuid, 1L));
+        assertNoTableScan(() -> tasksRepository.updateByIdAndUserId(uuid, 1L, "description", null, 0L, now));
+        assertNoTableScan(() -> tasksRepository.softDeleteByIdAndUserId(uuid, 1L, now));
+    }
+
+    @Test
+    void tasksOfUserUseIndex() {
+        assertNoTableScan(() -> {
+            try (Stream<TaskSummary> tasks = tasksRepository.streamSummariesByUserId(1L)) {
+                tasks.findFirst();
+            }
+        });
+        assertNoTableScan(() -> tasksRepository.softDeleteByTaskListUuidAndUserId(uuid, 1L, now));
+    }
+
+    @Test
+    void taskListByNameAndUserUsesIndex() {
+        assertNoTableScan(() -> taskListsRepository.findByNameAndUserId("name", 1L));
+        assertNoTableScan(() -> taskListsRepository.findUuidsByNameAndUserId("name", 1L));
+    }
+
+    @Test
+    void taskListsOfUserUseIndex() {
+        assertNoTableScan(() -> taskListsRepository.findAllByUserId(1L));
+    }
+
+    @Test
+    void taskListByUuidAndUserUsesIndex() {
+        assertNoTableScan(() -> taskListsRepository.findByIdAndUserId(uuid, 1L));
+        assertNoTableScan(() -> taskListsRepository.softDeleteByIdAndUserId(uuid, 1L, now));
+    }
+
+    @Test
+    void taskChangesOfUserUseIndex() {
+        assertNoTableScan(() -> tasksRepository.findChangesByUserId(1L, null, null, now, PageRequest.of(0, 101)));
+        assertNoTableScan(() -> tasksRepository.findChangesByUserId(1L, now, uuid, now, PageRequest.of(0, 101)));
+    }
+
+    @Test
+    void taskListChangesOfUserUseIndex() {
+        assertNoTableScan(() -> taskListsRepository.findChangesByUserId(1L, null, null, now, PageRequest.of(0, 101)));
+        assertNoTableScan(() -> taskListsRepository.findChangesByUserId(1L, now, uuid, now, PageRequest.of(0, 101)));
+    }
+
+    // SoftDeletePurgeService selects its candidates through JdbcTemplate, these are its queries
+    @Test
+    void tasksToPurgeUseIndex() {
+        assertNoTableScan("SELECT uuid FROM tasks WHERE is_deleted = 1 AND updated_at < ? ORDER BY updated_at LIMIT ?");
+    }
+
+    @Test
+    void taskListsToPurgeUseIndex() {
+        assertNoTableScan("SELECT tl.uuid FROM task_lists tl WHERE tl.is_deleted = 1 AND tl.updated_at < ? " +
+                "AND NOT EXISTS (SELECT 1 FROM tasks t WHERE t.task_list_uuid = tl.uuid) ORDER BY tl.updated_at LIMIT ?");
+    }
+
+    // runs the repository call in a rolled back transaction and explains every statement Hibernate generated for it
+    private void assertNoTableScan(Runnable repositoryCall) {
+        List<String> statements = new ArrayList<>();
+        SessionFactory sessionFactory = entityManagerFactory.unwrap(SessionFactory.class);
+        try (Session session = sessionFactory.withOptions().statementInspector(sql -> {
+            statements.add(sql);
+            return sql;
+        }).openSession()) {
+            // the repositories join the transaction of this session, so their statements go through the inspector
+            TransactionSynchronizationManager.bindResource(entityManagerFactory, new EntityManagerHolder(session));
+            try {
+                transactionTemplate.executeWithoutResult(status -> {
+                    repositoryCall.run();
+                    status.setRollbackOnly();
+                });
+            } finally {
+                TransactionSynchronizationManager.unbindResource(entityManagerFactory);
+            }
+        }
+        assertFalse(statements.isEmpty(), "No statement was generated");
+        statements.forEach(this::assertNoTableScan);
+    }
+
+    // the plan does not depend on the parameter values, H2 chooses the indexes when the statement is prepared
+    private void assertNoTableScan(String sql) {
+        String plan = jdbcTemplate.query("EXPLAIN " + sql, statement -> {
+            int parameters = statement.getParameterMetaData().getParameterCount();
+            for (int i = 1; i <= parameters; i++) {
+                statement.setNull(i, Types.NULL);
+            }
+        }, resultSet -> resultSet.next() ? resultSet.getString(1) : null);
+        assertFalse(plan.contains("tableScan"), "Full table scan for: " + sql + "\n" + plan);
+    }
+}
@@ -0,0 +1,26 @@
+-- The archive tables of the V4 migration, for tests running on the generated schema.
+CREATE TABLE IF NOT EXISTS task_lists_archive (
+    uuid BINARY(16) NOT NULL,
+    name VARCHAR(255),
+    description VARCHAR(255),
+    created_at DATETIME(6),
+    updated_at DATETIME(6),
+    user_id BIGINT,
+    version BIGINT NOT NULL,
+    archived_at DATETIME(6) NOT NULL,
+    PRIMARY KEY (uuid)
+);
+
+CREATE TABLE IF NOT EXISTS tasks_archive (
+    uuid BINARY(16) NOT NULL,
+    name VARCHAR(255),
+    description VARCHAR(255),
+    status VARCHAR(32),
+    created_at DATETIME(6),
+    updated_at DATETIME(6),
+    task_list_uuid BINARY(16),
+    user_id BIGINT,
+    version BIGINT NOT NULL,
+    archived_at DATETIME(6) NOT NULL,
+    PRIMARY KEY (uuid)
+);